@@ -0,0 +1,82 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.amr.games.pacmanfsm.PacManApp.PacManAppSettings;
+import de.amr.games.pacmanfsm.controller.steering.pacman.SearchingForFoodAndAvoidingGhosts;
+import de.amr.games.pacmanfsm.simulation.HeadlessGame;
+
+/**
+ * A complete game tick ({@code GameController.update()}) in headless mode. Pac-Man either moves randomly or is steered
+ * by the demo mode AI. When the game is over, a new game is started.
+ * 
+ * @author Armin Reichert
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameTickBenchmark {
+
+	@Param({ "random", "demo" })
+	public String pacManSteering;
+
+	private HeadlessGame game;
+
+	@Setup
+	public void setup() {
+		PacManAppSettings settings = new PacManAppSettings();
+		game = new HeadlessGame(settings, Games.SEED);
+		if ("demo".equals(pacManSteering)) {
+			game.setPacManSteering(new SearchingForFoodAndAvoidingGhosts(settings, game.controller.world,
+					game.controller.folks.pacMan, game.controller.folks));
+		}
+		game.start();
+	}
+
+	@Benchmark
+	public long tick() {
+		if (game.isGameOver()) {
+			game.start();
+		}
+		game.tick();
+		return game.ticks();
+	}
+}
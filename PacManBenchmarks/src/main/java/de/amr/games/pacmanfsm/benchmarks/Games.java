@@ -21,15 +21,39 @@ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
 OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
 SOFTWARE.
  */
-package de.amr.games.pacmanfsm.view.play;
-
-public class SoundState {
-
-	public boolean gotExtraLife;
-	public boolean ghostEaten;
-	public boolean bonusEaten;
-	public boolean pacManDied;
-	public boolean chasingGhosts;
-	public boolean deadGhosts;
-	public long lastMealAt;
-}
\ No newline at end of file
+package de.amr.games.pacmanfsm.benchmarks;
+
+import de.amr.games.pacmanfsm.PacManApp.PacManAppSettings;
+import de.amr.games.pacmanfsm.controller.game.PacManGameState;
+import de.amr.games.pacmanfsm.simulation.HeadlessGame;
+
+/**
+ * Helper for benchmarks that need a running game.
+ * 
+ * @author Armin Reichert
+ */
+class Games {
+
+	static final long SEED = 42;
+
+	private Games() {
+	}
+
+	/**
+	 * Creates a headless game and runs it until the guys are moving.
+	 * 
+	 * @param settings game settings
+	 * @return game in state {@link PacManGameState#PLAYING}
+	 */
+	static HeadlessGame playing(PacManAppSettings settings) {
+		HeadlessGame game = new HeadlessGame(settings, SEED);
+		game.start();
+		while (game.controller.getState() != PacManGameState.PLAYING) {
+			game.tick();
+			if (game.ticks() > 100_000) {
+				throw new IllegalStateException("Game did not reach PLAYING state");
+			}
+		}
+		return game;
+	}
+}
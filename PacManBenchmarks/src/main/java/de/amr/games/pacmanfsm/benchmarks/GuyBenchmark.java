@@ -0,0 +1,79 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.amr.games.pacmanfsm.PacManApp.PacManAppSettings;
+import de.amr.games.pacmanfsm.controller.creatures.pacman.PacMan;
+import de.amr.games.pacmanfsm.lib.Direction;
+import de.amr.games.pacmanfsm.simulation.HeadlessGame;
+
+/**
+ * Single movement steps of Pac-Man through the maze. The wish direction changes every 8 steps so that turns, blocked
+ * moves and portal passages are all exercised.
+ * 
+ * @author Armin Reichert
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GuyBenchmark {
+
+	private static final int DIRS = 1024;
+
+	private PacMan pacMan;
+	private Direction[] dirs;
+	private int step;
+
+	@Setup
+	public void setup() {
+		HeadlessGame game = Games.playing(new PacManAppSettings());
+		pacMan = game.controller.folks.pacMan;
+		dirs = new Direction[DIRS];
+		for (int i = 0; i < DIRS; ++i) {
+			dirs[i] = Direction.random(game.controller.world.random());
+		}
+	}
+
+	@Benchmark
+	public void makeStep() {
+		pacMan.wishDir = dirs[(step++ >> 3) & (DIRS - 1)];
+		pacMan.makeStep();
+	}
+}
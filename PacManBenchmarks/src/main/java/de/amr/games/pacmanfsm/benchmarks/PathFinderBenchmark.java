@@ -0,0 +1,95 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.amr.games.pacmanfsm.PacManApp.PacManAppSettings;
+import de.amr.games.pacmanfsm.lib.Tile;
+import de.amr.games.pacmanfsm.model.world.arcade.ArcadeWorld;
+import de.amr.games.pacmanfsm.model.world.graph.WorldGraph;
+import de.amr.games.pacmanfsm.model.world.graph.WorldGraph.PathFinder;
+
+/**
+ * Path finding between random pairs of accessible tiles, for each path finder with and without the precomputed path
+ * table. The number of pairs exceeds the size of the path cache so that every query is a cache miss.
+ * 
+ * @author Armin Reichert
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathFinderBenchmark {
+
+	private static final int PAIRS = 4096;
+
+	@Param
+	public PathFinder pathFinder;
+
+	@Param({ "false", "true" })
+	public boolean pathTable;
+
+	private WorldGraph graph;
+	private Tile[] sources;
+	private Tile[] targets;
+	private int next;
+
+	@Setup
+	public void setup() {
+		ArcadeWorld world = new ArcadeWorld();
+		graph = new WorldGraph(new PacManAppSettings(), world);
+		graph.setPathFinder(pathFinder);
+		graph.usePathTable(pathTable);
+		Tile[] accessible = world.tiles().filter(world::isAccessible).toArray(Tile[]::new);
+		Random rnd = new Random(Games.SEED);
+		sources = new Tile[PAIRS];
+		targets = new Tile[PAIRS];
+		for (int i = 0; i < PAIRS; ++i) {
+			sources[i] = accessible[rnd.nextInt(accessible.length)];
+			targets[i] = accessible[rnd.nextInt(accessible.length)];
+		}
+	}
+
+	@Benchmark
+	public Object findPath() {
+		int i = next++ & (PAIRS - 1);
+		return graph.findPath(sources[i], targets[i]);
+	}
+}
@@ -0,0 +1,89 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.amr.games.pacmanfsm.PacManApp.PacManAppSettings;
+import de.amr.games.pacmanfsm.controller.creatures.ghost.Ghost;
+import de.amr.games.pacmanfsm.controller.creatures.pacman.PacMan;
+import de.amr.games.pacmanfsm.controller.steering.common.HeadingForTargetTile;
+import de.amr.games.pacmanfsm.controller.steering.pacman.SearchingForFoodAndAvoidingGhosts;
+import de.amr.games.pacmanfsm.simulation.HeadlessGame;
+
+/**
+ * Steering decisions as taken when a guy enters a new tile.
+ * 
+ * @author Armin Reichert
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SteeringBenchmark {
+
+	private PacMan pacMan;
+	private Ghost blinky;
+	private HeadingForTargetTile headingForPacMan;
+	private SearchingForFoodAndAvoidingGhosts searchingForFood;
+
+	@Setup
+	public void setup() {
+		PacManAppSettings settings = new PacManAppSettings();
+		HeadlessGame game = Games.playing(settings);
+		pacMan = game.controller.folks.pacMan;
+		blinky = game.controller.folks.blinky;
+		headingForPacMan = new HeadingForTargetTile(pacMan::tile);
+		headingForPacMan.setPathComputed(true);
+		searchingForFood = new SearchingForFoodAndAvoidingGhosts(settings, game.controller.world, pacMan,
+				game.controller.folks);
+	}
+
+	@Benchmark
+	public Object headingForTargetTile() {
+		headingForPacMan.force();
+		headingForPacMan.steer(blinky);
+		return blinky.wishDir;
+	}
+
+	@Benchmark
+	public Object searchingForFoodAndAvoidingGhosts() {
+		pacMan.enteredNewTile = true;
+		searchingForFood.steer(pacMan);
+		return pacMan.wishDir;
+	}
+}
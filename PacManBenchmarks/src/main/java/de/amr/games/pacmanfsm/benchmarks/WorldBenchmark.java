@@ -0,0 +1,83 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.amr.games.pacmanfsm.lib.Direction;
+import de.amr.games.pacmanfsm.lib.Tile;
+import de.amr.games.pacmanfsm.model.world.arcade.ArcadeWorld;
+
+/**
+ * Tile navigation in the Arcade world. Each invocation visits all tiles in all directions.
+ * 
+ * @author Armin Reichert
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldBenchmark {
+
+	private ArcadeWorld world;
+	private Tile[] tiles;
+
+	@Setup
+	public void setup() {
+		world = new ArcadeWorld();
+		tiles = world.tiles().toArray(Tile[]::new);
+	}
+
+	@Benchmark
+	public void neighbor(Blackhole bh) {
+		for (Tile tile : tiles) {
+			for (Direction dir : Direction.values()) {
+				bh.consume(world.neighbor(tile, dir));
+			}
+		}
+	}
+
+	@Benchmark
+	public void tileToDir(Blackhole bh) {
+		for (Tile tile : tiles) {
+			for (Direction dir : Direction.values()) {
+				bh.consume(world.tileToDir(tile, dir, 4));
+			}
+		}
+	}
+}
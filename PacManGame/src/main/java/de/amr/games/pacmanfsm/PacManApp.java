@@ -58,6 +58,9 @@ public class PacManApp extends Application {
 		@Parameter(names = { "-demoMode" }, description = "Pac-Man moves automatically")
 		public boolean demoMode = false;
 
+		@Parameter(names = { "-ghosts" }, description = "Number of ghosts (at least 4), distributed over all ghost houses")
+		public int ghosts = 4;
+
 		@Parameter(names = { "-ghostsHarmless" }, description = "Ghost collisions are harmless")
 		public boolean ghostsHarmless = false;
 
@@ -67,12 +70,27 @@ public class PacManApp extends Application {
 		@Parameter(names = { "-fixOverflowBug" }, description = "Fixes the overflow bug from the original Arcade game")
 		public boolean fixOverflowBug = false;
 
+		@Parameter(names = { "-levels" }, description = "Level table file or resource (default: Arcade levels)")
+		public String levels;
+
+		@Parameter(names = { "-maze" }, description = "Maze file (default: Arcade maze)")
+		public String maze;
+
 		@Parameter(names = { "-pacManImmortable" }, description = "Pac-Man stays alive when killed by ghost")
 		public boolean pacManImmortable = false;
 
 		@Parameter(names = { "-pathFinder" }, description = "Used path finding algorithm (astar, bfs, bestfs)")
 		public String pathFinder = "astar";
 
+		@Parameter(names = { "-pathTable" }, description = "Paths are taken from a precomputed all-pairs shortest path table")
+		public boolean pathTable = false;
+
+		@Parameter(names = { "-record" }, description = "Records each game into the specified file")
+		public String record;
+
+		@Parameter(names = { "-replay" }, description = "Replays the game recorded in the specified file")
+		public String replay;
+
 		@Parameter(names = { "-skipIntro" }, description = "Game starts without intro screen")
 		public boolean skipIntro = false;
 
@@ -97,11 +115,17 @@ public class PacManApp extends Application {
 		super.printSettings();
 		var cfg = (PacManAppSettings) super.settings();
 		cfg.print("Demo Mode", cfg.demoMode);
+		cfg.print("Ghosts", cfg.ghosts);
 		cfg.print("Ghosts harmless", cfg.ghostsHarmless);
 		cfg.print("Ghosts flee into corner", cfg.ghostsSafeCorner);
 		cfg.print("Fix Overflow Bug", cfg.fixOverflowBug);
+		cfg.print("Level table", String.valueOf(cfg.levels));
+		cfg.print("Maze", String.valueOf(cfg.maze));
 		cfg.print("Pac-Man immortable", cfg.pacManImmortable);
 		cfg.print("Pathfinder", cfg.pathFinder);
+		cfg.print("Path table", cfg.pathTable);
+		cfg.print("Record", String.valueOf(cfg.record));
+		cfg.print("Replay", String.valueOf(cfg.replay));
 		cfg.print("Skip Intro", cfg.skipIntro);
 		cfg.print("Startlevel", cfg.startLevel);
 		cfg.print("Theme", cfg.theme.toUpperCase());
@@ -111,6 +135,6 @@ public class PacManApp extends Application {
 	@Override
 	public void init() {
 		setIcon("/images/pacman-icon.png");
-		setController(new GameController(Themes.all()));
+		setController(new GameController((PacManAppSettings) settings(), Themes.all()));
 	}
 }
\ No newline at end of file
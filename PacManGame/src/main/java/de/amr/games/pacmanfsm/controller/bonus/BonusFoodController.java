@@ -29,11 +29,12 @@ import static de.amr.games.pacmanfsm.controller.bonus.BonusFoodState.BONUS_CONSU
 import static de.amr.games.pacmanfsm.controller.bonus.BonusFoodState.BONUS_INACTIVE;
 import static de.amr.games.pacmanfsm.controller.game.Timing.sec;
 
-import java.util.Random;
 import java.util.function.Supplier;
 
 import de.amr.games.pacmanfsm.controller.event.BonusFoundEvent;
 import de.amr.games.pacmanfsm.controller.event.PacManGameEvent;
+import de.amr.games.pacmanfsm.lib.RestorableTimers;
+import de.amr.games.pacmanfsm.lib.RestorableTimers.Saved;
 import de.amr.games.pacmanfsm.model.world.api.TemporaryFood;
 import de.amr.games.pacmanfsm.model.world.api.TiledWorld;
 import de.amr.statemachine.core.StateMachine;
@@ -45,10 +46,18 @@ import de.amr.statemachine.core.StateMachine;
  */
 public class BonusFoodController extends StateMachine<BonusFoodState, PacManGameEvent> {
 
-	private Random rnd = new Random();
+	/**
+	 * Saved bonus state including the bonus food currently shown in the world.
+	 */
+	public record Snapshot(Saved<BonusFoodState> fsm, TemporaryFood bonus, boolean active, boolean consumed) {
+	}
+
+	private final TiledWorld world;
+	private final RestorableTimers<BonusFoodState> timers = new RestorableTimers<>();
 
 	public BonusFoodController(TiledWorld world, Supplier<TemporaryFood> fnBonusSupplier) {
 		super(BonusFoodState.class);
+		this.world = world;
 		/*@formatter:off*/
 		beginStateMachine()
 			.description("Bonus Food Controller")
@@ -59,10 +68,10 @@ public class BonusFoodController extends StateMachine<BonusFoodState, PacManGame
 					.onEntry(world::hideTemporaryFood)
 			
 				.state(BONUS_CONSUMABLE)
-					.timeoutAfter(this::bonusTime)
+					.timeoutAfter(timers.timer(BONUS_CONSUMABLE, this::bonusTime))
 					.onEntry(() -> activateBonus(world, fnBonusSupplier.get()))
 				
-				.state(BONUS_CONSUMED).timeoutAfter(sec(3))
+				.state(BONUS_CONSUMED).timeoutAfter(timers.timer(BONUS_CONSUMED, sec(3)))
 
 			.transitions()
 				
@@ -78,8 +87,30 @@ public class BonusFoodController extends StateMachine<BonusFoodState, PacManGame
 		/*@formatter:on*/
 	}
 
+	public Snapshot snapshot() {
+		TemporaryFood bonus = world.temporaryFood().orElse(null);
+		return bonus != null ? new Snapshot(timers.save(this), bonus, bonus.isActive(), bonus.isConsumed())
+				: new Snapshot(timers.save(this), null, false, false);
+	}
+
+	public void restore(Snapshot snapshot) {
+		timers.restore(this, snapshot.fsm());
+		TemporaryFood bonus = snapshot.bonus();
+		if (bonus == null) {
+			world.hideTemporaryFood();
+			return;
+		}
+		world.showTemporaryFood(bonus);
+		if (!snapshot.active()) {
+			bonus.deactivate();
+		}
+		if (snapshot.consumed()) {
+			bonus.consume();
+		}
+	}
+
 	private long bonusTime() {
-		return sec(9 + rnd.nextFloat());
+		return sec(9 + world.random().nextFloat());
 	}
 
 	private void activateBonus(TiledWorld world, TemporaryFood bonus) {
@@ -36,85 +36,202 @@ import static de.amr.games.pacmanfsm.controller.creatures.ghost.GhostState.LOCKE
 import static de.amr.games.pacmanfsm.controller.creatures.ghost.GhostState.SCATTERING;
 import static de.amr.games.pacmanfsm.controller.steering.api.SteeringBuilder.you;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import de.amr.games.pacmanfsm.PacManApp.PacManAppSettings;
 import de.amr.games.pacmanfsm.controller.creatures.ghost.Ghost;
+import de.amr.games.pacmanfsm.controller.creatures.ghost.GhostMadness;
 import de.amr.games.pacmanfsm.controller.creatures.pacman.PacMan;
 import de.amr.games.pacmanfsm.lib.Tile;
+import de.amr.games.pacmanfsm.model.game.PacManGame;
 import de.amr.games.pacmanfsm.model.world.api.TiledWorld;
+import de.amr.games.pacmanfsm.model.world.components.Bed;
 import de.amr.games.pacmanfsm.model.world.components.Door;
 import de.amr.games.pacmanfsm.model.world.components.House;
 
 /**
  * The folks from the original game with their individual behaviors.
+ * <p>
+ * Besides the four ghosts of the Arcade game, any number of additional ghosts can take part. Additional ghosts take
+ * the personalities of the Arcade ghosts in turn and the ghosts are distributed over all houses of the world. The
+ * ghosts are kept in an array, so iterating over them costs time linear in their number.
  * 
  * @author Armin Reichert
  */
 public class Folks {
 
+	/** Number of ghosts in the Arcade game. */
+	public static final int ARCADE_GHOSTS = 4;
+
+	private static final String[] NAMES = { "Blinky", "Pinky", "Inky", "Clyde" };
+
+	// Blinky starts outside of the house, Inky left, Pinky in the middle and Clyde right
+	private static final int[] BED_ORDER = { 0, 2, 1, 3 };
+
 	public final PacMan pacMan;
 	public final Ghost blinky;
 	public final Ghost pinky;
 	public final Ghost inky;
 	public final Ghost clyde;
-
+	public final OccupancyGrid occupancy;
+	private final Ghost[] ghosts;
+	private final Guy[] guys;
+	private final GhostMadness[] madness;
+	private final Supplier<PacManGame> gameSupplier;
+
+	/**
+	 * Creates the folks outside of any game, for example for animations.
+	 * 
+	 * @param settings   application settings
+	 * @param world      the world
+	 * @param ghostHouse the ghost house
+	 */
 	public Folks(PacManAppSettings settings, TiledWorld world, House ghostHouse) {
+		this(settings, world, ghostHouse, () -> null);
+	}
 
-		pacMan = new PacMan(settings, world, "Pac-Man");
+	/**
+	 * Creates the folks taking part in the game supplied by the given supplier.
+	 * 
+	 * @param settings     application settings
+	 * @param world        the world
+	 * @param ghostHouse   the ghost house
+	 * @param gameSupplier supplies the current game or {@code null} if no game is running
+	 */
+	public Folks(PacManAppSettings settings, TiledWorld world, House ghostHouse, Supplier<PacManGame> gameSupplier) {
+		this(settings, world, List.of(ghostHouse), ARCADE_GHOSTS, gameSupplier);
+	}
 
-		blinky = shadowGhost(world, "Blinky", pacMan);
-		inky = bashfulGhost(world, "Inky", pacMan);
-		pinky = speedyGhost(world, "Pinky", pacMan);
-		clyde = pokeyGhost(world, "Clyde", pacMan);
+	/**
+	 * Creates Pac-Man and the given number of ghosts. Ghost {@code i} lives in house {@code i % houses.size()}.
+	 * 
+	 * @param settings     application settings
+	 * @param world        the world
+	 * @param houses       the ghost houses
+	 * @param numGhosts    number of ghosts, at least {@link #ARCADE_GHOSTS}
+	 * @param gameSupplier supplies the current game or {@code null} if no game is running
+	 */
+	public Folks(PacManAppSettings settings, TiledWorld world, List<House> houses, int numGhosts,
+			Supplier<PacManGame> gameSupplier) {
+		if (numGhosts < ARCADE_GHOSTS) {
+			throw new IllegalArgumentException("At least " + ARCADE_GHOSTS + " ghosts needed, but got " + numGhosts);
+		}
+		if (houses.isEmpty()) {
+			throw new IllegalArgumentException("At least one ghost house needed");
+		}
+		this.gameSupplier = gameSupplier;
 
-		ghosts().forEach(ghost -> ghost.house = ghostHouse);
+		pacMan = new PacMan(settings, world, "Pac-Man");
 
-		blinky.bed = ghostHouse.bed(0);
-		inky.bed = ghostHouse.bed(1);
-		pinky.bed = ghostHouse.bed(2);
-		clyde.bed = ghostHouse.bed(3);
+		ghosts = new Ghost[numGhosts];
+		for (int i = 0; i < numGhosts; ++i) {
+			String name = i < ARCADE_GHOSTS ? NAMES[i] : NAMES[i % ARCADE_GHOSTS] + "-" + (i / ARCADE_GHOSTS + 1);
+			ghosts[i] = switch (i % ARCADE_GHOSTS) {
+			case 0 -> shadowGhost(world, name, pacMan);
+			case 1 -> speedyGhost(world, name, pacMan);
+			case 2 -> bashfulGhost(world, name, pacMan);
+			default -> pokeyGhost(world, name, pacMan);
+			};
+		}
+		blinky = ghosts[0];
+		pinky = ghosts[1];
+		inky = ghosts[2];
+		clyde = ghosts[3];
+
+		guys = new Guy[numGhosts + 1];
+		guys[0] = pacMan;
+		System.arraycopy(ghosts, 0, guys, 1, numGhosts);
+		occupancy = new OccupancyGrid(world, guys);
+		madness = Arrays.stream(ghosts).map(ghost -> ghost.madness).filter(Objects::nonNull).toArray(GhostMadness[]::new);
+
+		for (int i = 0; i < numGhosts; ++i) {
+			Ghost ghost = ghosts[i];
+			ghost.index = i;
+			ghost.house = houses.get(i % houses.size());
+			int slot = i / houses.size();
+			int beds = (int) ghost.house.beds().count();
+			ghost.bed = ghost.house.bed((slot < BED_ORDER.length ? BED_ORDER[slot] : slot) % beds);
+		}
+		guys().forEach(guy -> guy.setGame(gameSupplier));
 
 		// define behavior
 
 		you(pacMan).followTheCursorKeys().ok();
 
-		Door door = ghostHouse.door(0);
-		Tile houseEntry = world.neighbor(door.tiles().findFirst().orElse(null), door.intoHouse.opposite());
-
-		ghosts().forEach(ghost -> {
+		for (Ghost ghost : ghosts) {
+			House house = ghost.house;
+			Door door = house.door(0);
+			Tile houseEntry = world.neighbor(door.tiles().findFirst().orElse(null), door.intoHouse.opposite());
+			// a ghost whose bed is outside of the house goes to the middle bed when entering the house
+			Bed bedInside = ghost.bed == house.bed(0) ? house.bed(BED_ORDER[1] % (int) house.beds().count()) : ghost.bed;
 			you(ghost).when(LOCKED).bounceOnBed().ok();
-			you(ghost).when(ENTERING_HOUSE).enterDoorAndGoToBed().door(door).ok();
-			you(ghost).when(LEAVING_HOUSE).leaveHouse().house(ghostHouse).ok();
+			you(ghost).when(ENTERING_HOUSE).enterDoorAndGoToBed().door(door).bed(bedInside).ok();
+			you(ghost).when(LEAVING_HOUSE).leaveHouse().house(house).ok();
 			you(ghost).when(FRIGHTENED).moveRandomly().ok();
 			you(ghost).when(DEAD).headFor().tile(houseEntry).ok();
-		});
 
-		you(blinky).when(ENTERING_HOUSE).enterDoorAndGoToBed().door(door).bed(pinky.bed).ok();
-		you(blinky).when(SCATTERING).headFor().tile(world.width() - 3, 0).ok();
-		you(blinky).when(CHASING).headFor().tile(pacMan::tile).ok();
-
-		you(inky).when(SCATTERING).headFor().tile(world.width() - 1, world.height() - 1).ok();
-		you(inky).when(CHASING).headFor().tile(() -> {
-			Tile b = blinky.tile();
-			Tile p = pacMan.tilesAhead(2);
-			return Tile.at(2 * p.col - b.col, 2 * p.row - b.row);
-		}).ok();
-
-		you(pinky).when(SCATTERING).headFor().tile(2, 0).ok();
-		you(pinky).when(CHASING).headFor().tile(() -> pacMan.tilesAhead(4)).ok();
+			switch (ghost.personality) {
+			case SHADOW -> {
+				you(ghost).when(SCATTERING).headFor().tile(world.width() - 3, 0).ok();
+				you(ghost).when(CHASING).headFor().tile(pacMan::tile).ok();
+			}
+			case BASHFUL -> {
+				you(ghost).when(SCATTERING).headFor().tile(world.width() - 1, world.height() - 1).ok();
+				you(ghost).when(CHASING).headFor().tile(() -> {
+					Tile b = blinky.tile();
+					Tile p = pacMan.tilesAhead(2);
+					return world.tile(2 * p.col - b.col, 2 * p.row - b.row);
+				}).ok();
+			}
+			case SPEEDY -> {
+				you(ghost).when(SCATTERING).headFor().tile(2, 0).ok();
+				you(ghost).when(CHASING).headFor().tile(() -> pacMan.tilesAhead(4)).ok();
+			}
+			case POKEY -> {
+				you(ghost).when(SCATTERING).headFor().tile(0, world.height() - 1).ok();
+				you(ghost).when(CHASING).headFor()
+						.tile(() -> ghost.tileDistance(pacMan) > 8 ? pacMan.tile() : world.tile(0, world.height() - 1)).ok();
+			}
+			}
+		}
+	}
 
-		you(clyde).when(SCATTERING).headFor().tile(0, world.height() - 1).ok();
-		you(clyde).when(CHASING).headFor()
-				.tile(() -> clyde.tileDistance(pacMan) > 8 ? pacMan.tile() : Tile.at(0, world.height() - 1)).ok();
+	/**
+	 * @return the game these folks take part in or {@code null} if no game is running
+	 */
+	public PacManGame game() {
+		return gameSupplier.get();
 	}
 
 	public Stream<Ghost> ghosts() {
-		return Stream.of(blinky, pinky, inky, clyde);
+		return Arrays.stream(ghosts);
 	}
 
 	public Stream<Guy> guys() {
-		return Stream.of(pacMan, blinky, pinky, inky, clyde);
+		return Arrays.stream(guys);
+	}
+
+	/**
+	 * @param i ghost index (0..{@link #numGhosts()} - 1)
+	 * @return the ghost with the given index, the first four are Blinky, Pinky, Inky and Clyde
+	 */
+	public Ghost ghost(int i) {
+		return ghosts[i];
+	}
+
+	public int numGhosts() {
+		return ghosts.length;
+	}
+
+	/**
+	 * @return the madness of all ghosts with a shadow personality
+	 */
+	public Stream<GhostMadness> madness() {
+		return Arrays.stream(madness);
 	}
 
 	public Stream<Ghost> ghostsInWorld() {
@@ -23,12 +23,17 @@ SOFTWARE.
  */
 package de.amr.games.pacmanfsm.controller.creatures;
 
+import java.util.function.Supplier;
+
 import de.amr.easy.game.controller.Lifecycle;
 import de.amr.easy.game.controller.StateMachineControlled;
 import de.amr.games.pacmanfsm.controller.steering.api.Steering;
 import de.amr.games.pacmanfsm.controller.steering.common.MovementController;
 import de.amr.games.pacmanfsm.lib.Direction;
+import de.amr.games.pacmanfsm.lib.TickProfiler;
+import de.amr.games.pacmanfsm.lib.TickProfiler.Phase;
 import de.amr.games.pacmanfsm.lib.Tile;
+import de.amr.games.pacmanfsm.model.game.PacManGame;
 import de.amr.games.pacmanfsm.model.world.api.TiledWorld;
 import de.amr.games.pacmanfsm.model.world.core.TileWorldEntity;
 
@@ -39,12 +44,24 @@ import de.amr.games.pacmanfsm.model.world.core.TileWorldEntity;
  */
 public abstract class Guy extends TileWorldEntity implements Lifecycle, StateMachineControlled {
 
+	/**
+	 * Saved position, directions and movement state of a guy.
+	 */
+	public record GuySnapshot(float x, float y, Direction moveDir, Direction wishDir, boolean enteredNewTile,
+			boolean visible, MovementController.Snapshot movement) {
+	}
+
 	public final String name;
 	public Direction moveDir;
 	public Direction wishDir;
 	public boolean enteredNewTile;
 
 	protected final MovementController movement;
+	protected Phase aiPhase = Phase.NONE;
+	private Phase steeringPhase = Phase.NONE;
+	private Supplier<PacManGame> gameSupplier = () -> null;
+	private OccupancyGrid occupancy;
+	int occupantId;
 
 	protected Guy(TiledWorld world, String name) {
 		super(world);
@@ -52,6 +69,93 @@ public abstract class Guy extends TileWorldEntity implements Lifecycle, StateMac
 		this.movement = new MovementController(this);
 	}
 
+	/**
+	 * Defines which game this guy takes part in. Each game controller supplies its own game such that several games can
+	 * run side by side.
+	 * 
+	 * @param gameSupplier supplies the current game or {@code null} if no game is running
+	 */
+	public void setGame(Supplier<PacManGame> gameSupplier) {
+		this.gameSupplier = gameSupplier;
+	}
+
+	/**
+	 * @return the game this guy takes part in or {@code null} if no game is running
+	 */
+	public PacManGame game() {
+		return gameSupplier.get();
+	}
+
+	public boolean isGameStarted() {
+		return game() != null;
+	}
+
+	void setOccupancy(OccupancyGrid occupancy, int id) {
+		this.occupancy = occupancy;
+		this.occupantId = id;
+		updateOccupancy();
+	}
+
+	private void updateOccupancy() {
+		if (occupancy != null) {
+			occupancy.place(occupantId, tileIndex());
+		}
+	}
+
+	/**
+	 * @return index of the current tile in the world or {@link TiledWorld#NO_TILE} if outside of the world
+	 */
+	public int tileIndex() {
+		int col = col(), row = row();
+		return 0 <= col && col < world.width() && 0 <= row && row < world.height() ? row * world.width() + col
+				: TiledWorld.NO_TILE;
+	}
+
+	/**
+	 * @param other another guy
+	 * @return if both guys are on the same tile
+	 */
+	public boolean isOnSameTileAs(Guy other) {
+		if (occupancy != null && occupancy == other.occupancy) {
+			int tile = occupancy.tileOf(this);
+			if (tile != TiledWorld.NO_TILE) {
+				return tile == occupancy.tileOf(other);
+			}
+		}
+		return tile().equals(other.tile());
+	}
+
+	/**
+	 * Lets the given profiler measure the state machine updates and steering of this guy.
+	 * 
+	 * @param profiler tick profiler
+	 */
+	public void setProfiler(TickProfiler profiler) {
+		aiPhase = profiler.phase(profilerName());
+		steeringPhase = profiler.phase(profilerName() + " steering");
+	}
+
+	/**
+	 * @return name of the profiler phases of this guy, guys with the same name share their phases
+	 */
+	protected String profilerName() {
+		return name;
+	}
+
+	protected GuySnapshot saveGuy() {
+		return new GuySnapshot(tf.x, tf.y, moveDir, wishDir, enteredNewTile, visible, movement.snapshot());
+	}
+
+	protected void restoreGuy(GuySnapshot snapshot) {
+		movement.restore(snapshot.movement());
+		tf.setPosition(snapshot.x(), snapshot.y());
+		moveDir = snapshot.moveDir();
+		wishDir = snapshot.wishDir();
+		enteredNewTile = snapshot.enteredNewTile();
+		visible = snapshot.visible();
+		updateOccupancy();
+	}
+
 	/**
 	 * @return pixels this guy can move on the next tick.
 	 */
@@ -88,7 +192,9 @@ public abstract class Guy extends TileWorldEntity implements Lifecycle, StateMac
 	}
 
 	public void move() {
+		long start = steeringPhase.start();
 		getSteering().steer(this);
+		steeringPhase.stop(start);
 		movement.update();
 	}
 
@@ -97,6 +203,7 @@ public abstract class Guy extends TileWorldEntity implements Lifecycle, StateMac
 		Tile oldTile = tile();
 		super.placeAt(tile, dx, dy);
 		enteredNewTile = !tile().equals(oldTile);
+		updateOccupancy();
 	}
 
 	/**
@@ -137,6 +244,8 @@ public abstract class Guy extends TileWorldEntity implements Lifecycle, StateMac
 		tf.setVelocity(moveDir.vector().times(possibleDistance));
 		tf.move();
 		enteredNewTile = !tile().equals(tileBeforeMove);
+		// also syncs position changes made directly by steerings, for example inside the ghost house
+		updateOccupancy();
 	}
 
 	/**
@@ -0,0 +1,162 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.controller.creatures;
+
+import static de.amr.games.pacmanfsm.model.world.api.TiledWorld.NO_TILE;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+import de.amr.games.pacmanfsm.lib.Tile;
+import de.amr.games.pacmanfsm.model.world.api.TiledWorld;
+
+/**
+ * Knows which guys are on which tile.
+ * <p>
+ * Each tile has a bucket of occupants, stored as doubly linked lists inside int arrays indexed by tile and by guy, so
+ * moving a guy to another tile and asking who is on a tile cost constant time and allocate nothing. The grid is kept
+ * up to date by the guys themselves whenever their tile changes.
+ * 
+ * @author Armin Reichert
+ */
+public class OccupancyGrid {
+
+	/** Marks the end of a bucket. */
+	public static final int NONE = -1;
+
+	private final TiledWorld world;
+	private final Guy[] guys;
+	private final int[] first;
+	private final int[] next;
+	private final int[] prev;
+	private final int[] tileOf;
+
+	/**
+	 * Creates the grid for the given guys. The guys are identified by their position in the array.
+	 * 
+	 * @param world the world
+	 * @param guys  the guys
+	 */
+	public OccupancyGrid(TiledWorld world, Guy[] guys) {
+		this.world = world;
+		this.guys = guys.clone();
+		first = new int[world.numTiles()];
+		next = new int[guys.length];
+		prev = new int[guys.length];
+		tileOf = new int[guys.length];
+		Arrays.fill(first, NONE);
+		Arrays.fill(tileOf, NO_TILE);
+		for (int id = 0; id < guys.length; ++id) {
+			guys[id].setOccupancy(this, id);
+		}
+	}
+
+	/**
+	 * Moves the guy with the given id into the bucket of the given tile.
+	 * 
+	 * @param id   guy id
+	 * @param tile tile index or {@link TiledWorld#NO_TILE} if the guy is outside of the world
+	 */
+	void place(int id, int tile) {
+		int oldTile = tileOf[id];
+		if (tile == oldTile) {
+			return;
+		}
+		if (oldTile != NO_TILE) {
+			if (prev[id] != NONE) {
+				next[prev[id]] = next[id];
+			} else {
+				first[oldTile] = next[id];
+			}
+			if (next[id] != NONE) {
+				prev[next[id]] = prev[id];
+			}
+		}
+		tileOf[id] = tile;
+		if (tile != NO_TILE) {
+			prev[id] = NONE;
+			next[id] = first[tile];
+			if (first[tile] != NONE) {
+				prev[first[tile]] = id;
+			}
+			first[tile] = id;
+		}
+	}
+
+	/**
+	 * @param guy a guy managed by this grid
+	 * @return index of the guy's tile or {@link TiledWorld#NO_TILE} if the guy is outside of the world
+	 */
+	public int tileOf(Guy guy) {
+		return tileOf[guy.occupantId];
+	}
+
+	/**
+	 * @param tile tile index
+	 * @return id of the first guy on the tile or {@link #NONE}
+	 */
+	public int first(int tile) {
+		return first[tile];
+	}
+
+	/**
+	 * @param id guy id
+	 * @return id of the next guy on the same tile or {@link #NONE}
+	 */
+	public int next(int id) {
+		return next[id];
+	}
+
+	/**
+	 * @param id guy id
+	 * @return the guy with this id
+	 */
+	public Guy guy(int id) {
+		return guys[id];
+	}
+
+	/**
+	 * @param tile      some tile
+	 * @param condition condition
+	 * @return if some guy on the tile fulfills the condition
+	 */
+	public boolean anyAt(Tile tile, Predicate<Guy> condition) {
+		int index = world.index(tile);
+		return index != NO_TILE && anyAt(index, condition);
+	}
+
+	/**
+	 * @param tile      tile index
+	 * @param condition condition
+	 * @return if some guy on the tile fulfills the condition
+	 */
+	public boolean anyAt(int tile, Predicate<Guy> condition) {
+		for (int id = first[tile]; id != NONE; id = next[id]) {
+			if (condition.test(guys[id])) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
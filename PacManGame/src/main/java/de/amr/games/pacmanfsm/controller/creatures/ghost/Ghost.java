@@ -30,7 +30,6 @@ import static de.amr.games.pacmanfsm.controller.creatures.ghost.GhostState.FRIGH
 import static de.amr.games.pacmanfsm.controller.creatures.ghost.GhostState.LEAVING_HOUSE;
 import static de.amr.games.pacmanfsm.controller.creatures.ghost.GhostState.LOCKED;
 import static de.amr.games.pacmanfsm.controller.creatures.ghost.GhostState.SCATTERING;
-import static de.amr.games.pacmanfsm.controller.game.GameController.theGame;
 import static de.amr.games.pacmanfsm.controller.game.Timing.sec;
 import static de.amr.games.pacmanfsm.controller.game.Timing.speed;
 
@@ -46,10 +45,11 @@ import de.amr.games.pacmanfsm.controller.event.GhostUnlockedEvent;
 import de.amr.games.pacmanfsm.controller.event.PacManGainsPowerEvent;
 import de.amr.games.pacmanfsm.controller.event.PacManGameEvent;
 import de.amr.games.pacmanfsm.controller.event.PacManGhostCollisionEvent;
-import de.amr.games.pacmanfsm.controller.game.GameController;
 import de.amr.games.pacmanfsm.controller.steering.api.Steering;
 import de.amr.games.pacmanfsm.controller.steering.common.MovementType;
 import de.amr.games.pacmanfsm.lib.Direction;
+import de.amr.games.pacmanfsm.lib.RestorableTimers;
+import de.amr.games.pacmanfsm.lib.RestorableTimers.Saved;
 import de.amr.games.pacmanfsm.lib.Tile;
 import de.amr.games.pacmanfsm.model.world.api.TiledWorld;
 import de.amr.games.pacmanfsm.model.world.components.Bed;
@@ -83,16 +83,26 @@ public class Ghost extends Guy {
 		return new Ghost(world, name, GhostPersonality.POKEY, pacMan);
 	}
 
+	/**
+	 * Saved state of a ghost. If the ghost's current steering is a state machine, its state is saved too.
+	 */
+	public record Snapshot(GuySnapshot guy, Saved<GhostState> ai, Saved<GhostMentalState> madness, GhostState nextState,
+			int bounty, boolean recovering, boolean steeringStarted, Object steeringState) {
+	}
+
 	public final StateMachine<GhostState, PacManGameEvent> ai;
 	public final GhostMadness madness;
 	public final GhostPersonality personality;
 	public GhostState nextState;
+	/** Position of this ghost in the folks' ghost array. */
+	public int index;
 	public House house;
 	public Bed bed;
 	public int bounty;
 	public boolean recovering;
 
 	private final Map<GhostState, Steering> behaviors;
+	private final RestorableTimers<GhostState> timers = new RestorableTimers<>();
 	private Steering previousSteering;
 
 	private Ghost(TiledWorld world, String name, GhostPersonality personality, PacMan pacMan) {
@@ -145,7 +155,7 @@ public class Ghost extends Guy {
 					})
 	
 				.state(FRIGHTENED)
-					.timeoutAfter(this::getFrightenedTicks)
+					.timeoutAfter(timers.timer(FRIGHTENED, this::getFrightenedTicks))
 					.onTick((state, consumed, remaining) -> {
 						updateMentalHealth();
 						checkPacManCollision(pacMan);
@@ -154,7 +164,7 @@ public class Ghost extends Guy {
 					})
 	
 				.state(DEAD)
-					.timeoutAfter(sec(1))
+					.timeoutAfter(timers.timer(DEAD, sec(1)))
 					.onEntry(this::computeBounty)
 					.onTick((s, consumed, remaining) -> {
 						if (remaining == 0) {
@@ -245,9 +255,45 @@ public class Ghost extends Guy {
 		ai.init();
 	}
 
+	@Override
+	protected String profilerName() {
+		// ghosts are measured together, so the number of phases does not grow with the number of ghosts
+		return "Ghosts";
+	}
+
 	@Override
 	public void update() {
+		long start = aiPhase.start();
 		ai.update();
+		aiPhase.stop(start);
+	}
+
+	public Snapshot snapshot() {
+		Steering steering = behaviors.getOrDefault(ai.getState(), Steering.STANDING_STILL);
+		Object steeringState = steering instanceof StateMachine<?, ?> fsm ? fsm.getState() : null;
+		return new Snapshot(saveGuy(), timers.save(ai), madness != null ? madness.snapshot() : null, nextState, bounty,
+				recovering, previousSteering == steering, steeringState);
+	}
+
+	public void restore(Snapshot snapshot) {
+		restoreGuy(snapshot.guy());
+		timers.restore(ai, snapshot.ai());
+		if (madness != null) {
+			madness.restore(snapshot.madness());
+		}
+		nextState = snapshot.nextState();
+		bounty = snapshot.bounty();
+		recovering = snapshot.recovering();
+		Steering steering = behaviors.getOrDefault(ai.getState(), Steering.STANDING_STILL);
+		previousSteering = snapshot.steeringStarted() ? steering : null;
+		if (steering instanceof StateMachine<?, ?> fsm && snapshot.steeringState() != null) {
+			resumeSteering(fsm, snapshot.steeringState());
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <S> void resumeSteering(StateMachine<S, ?> fsm, Object state) {
+		fsm.resumeState((S) state);
 	}
 
 	@Override
@@ -271,34 +317,34 @@ public class Ghost extends Guy {
 		if (ai.getState() == null) {
 			throw new IllegalStateException(String.format("Ghost %s is not initialized.", name));
 		}
-		if (!GameController.isGameStarted()) {
+		if (!isGameStarted()) {
 			return 0;
 		}
 		Tile tile = tile();
 		boolean tunnel = world.isTunnel(tile) || world.isPortal(tile);
 		switch (ai.getState()) {
 		case LOCKED:
-			return speed(isInsideHouse() ? theGame().ghostSpeed / 2 : 0);
+			return speed(isInsideHouse() ? game().ghostSpeed / 2 : 0);
 		case LEAVING_HOUSE:
-			return speed(theGame().ghostSpeed / 2);
+			return speed(game().ghostSpeed / 2);
 		case ENTERING_HOUSE:
-			return speed(theGame().ghostSpeed);
+			return speed(game().ghostSpeed);
 		case CHASING, SCATTERING:
 			if (tunnel) {
-				return speed(theGame().ghostTunnelSpeed);
+				return speed(game().ghostTunnelSpeed);
 			}
 			GhostMentalState mentalState = getMentalState();
 			if (mentalState == GhostMentalState.ELROY1) {
-				return speed(theGame().elroy1Speed);
+				return speed(game().elroy1Speed);
 			}
 			if (mentalState == GhostMentalState.ELROY2) {
-				return speed(theGame().elroy2Speed);
+				return speed(game().elroy2Speed);
 			}
-			return speed(theGame().ghostSpeed);
+			return speed(game().ghostSpeed);
 		case FRIGHTENED:
-			return speed(tunnel ? theGame().ghostTunnelSpeed : theGame().ghostFrightenedSpeed);
+			return speed(tunnel ? game().ghostTunnelSpeed : game().ghostFrightenedSpeed);
 		case DEAD:
-			return speed(2 * theGame().ghostSpeed);
+			return speed(2 * game().ghostSpeed);
 		default:
 			throw new IllegalStateException(String.format("Illegal ghost state %s", ai.getState()));
 		}
@@ -314,23 +360,23 @@ public class Ghost extends Guy {
 	}
 
 	private void computeBounty() {
-		bounty = GameController.isGameStarted() ? theGame().ghostBounty() : 0;
+		bounty = isGameStarted() ? game().ghostBounty() : 0;
 	}
 
 	private long getFrightenedTicks() {
-		return GameController.isGameStarted() ? sec(theGame().pacManPowerSeconds) : sec(5);
+		return isGameStarted() ? sec(game().pacManPowerSeconds) : sec(5);
 	}
 
 	private long getFlashTimeTicks() {
 		// assuming one flashing takes 0.5 seconds
-		return GameController.isGameStarted() ? theGame().numFlashes * sec(0.5f) : 0;
+		return isGameStarted() ? game().numFlashes * sec(0.5f) : 0;
 	}
 
 	private void checkPacManCollision(PacMan pacMan) {
 		if (!visible || !pacMan.visible) {
 			return;
 		}
-		if (!tile().equals(pacMan.tile())) {
+		if (!isOnSameTileAs(pacMan)) {
 			return;
 		}
 		if (!ai.is(CHASING, SCATTERING, FRIGHTENED)) {
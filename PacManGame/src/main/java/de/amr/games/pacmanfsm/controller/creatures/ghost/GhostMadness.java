@@ -28,12 +28,13 @@ import static de.amr.games.pacmanfsm.controller.creatures.ghost.GhostMentalState
 import static de.amr.games.pacmanfsm.controller.creatures.ghost.GhostMentalState.HEALTHY;
 import static de.amr.games.pacmanfsm.controller.creatures.ghost.GhostMentalState.TRANQUILIZED;
 import static de.amr.games.pacmanfsm.controller.creatures.ghost.GhostState.SCATTERING;
-import static de.amr.games.pacmanfsm.controller.game.GameController.theGame;
 import static de.amr.games.pacmanfsm.controller.steering.api.SteeringBuilder.you;
 
 import java.util.Objects;
 
 import de.amr.games.pacmanfsm.controller.creatures.pacman.PacMan;
+import de.amr.games.pacmanfsm.lib.RestorableTimers;
+import de.amr.games.pacmanfsm.lib.RestorableTimers.Saved;
 import de.amr.statemachine.api.TransitionMatchStrategy;
 import de.amr.statemachine.core.MissingTransitionBehavior;
 import de.amr.statemachine.core.StateMachine;
@@ -75,6 +76,7 @@ public class GhostMadness extends StateMachine<GhostMentalState, String> {
 
 	private final Ghost ghost;
 	private final PacMan pacMan;
+	private final RestorableTimers<GhostMentalState> timers = new RestorableTimers<>();
 
 	public GhostMadness(Ghost ghost, PacMan pacMan) {
 		super(GhostMentalState.class, TransitionMatchStrategy.BY_VALUE);
@@ -99,11 +101,11 @@ public class GhostMadness extends StateMachine<GhostMentalState, String> {
 			
 				.when(HEALTHY).then(ELROY2)
 					.condition(this::elroy2ScoreReached)
-					.annotation(() -> String.format("Pellets left <= %d", theGame().elroy2DotsLeft))
+					.annotation(() -> String.format("Pellets left <= %d", ghost.game().elroy2DotsLeft))
 			
 				.when(HEALTHY).then(ELROY1)
 					.condition(this::elroy1ScoreReached)
-					.annotation(() -> String.format("Pellets left <= %d", theGame().elroy1DotsLeft))
+					.annotation(() -> String.format("Pellets left <= %d", ghost.game().elroy1DotsLeft))
 
 				.when(TRANQUILIZED).then(ELROY2)
 					.on(CLYDE_EXITS_HOUSE)
@@ -117,7 +119,7 @@ public class GhostMadness extends StateMachine<GhostMentalState, String> {
 					
 				.when(ELROY1).then(ELROY2)
 					.condition(this::elroy2ScoreReached)
-					.annotation(() -> String.format("Remaining pellets <= %d", theGame().elroy2DotsLeft))
+					.annotation(() -> String.format("Remaining pellets <= %d", ghost.game().elroy2DotsLeft))
 
 				.when(ELROY1).then(TRANQUILIZED).on(PACMAN_DIES)
 					.annotation("Suspend Elroy when Pac-Man dies")
@@ -130,6 +132,24 @@ public class GhostMadness extends StateMachine<GhostMentalState, String> {
 		init();
 	}
 
+	public Saved<GhostMentalState> snapshot() {
+		return timers.save(this);
+	}
+
+	/**
+	 * Restores the saved mental state and the scatter target belonging to it.
+	 * 
+	 * @param saved saved mental state
+	 */
+	public void restore(Saved<GhostMentalState> saved) {
+		timers.restore(this, saved);
+		if (is(ELROY1, ELROY2)) {
+			headForPacMan();
+		} else {
+			headForCorner();
+		}
+	}
+
 	public void pacManDies() {
 		process(PACMAN_DIES);
 	}
@@ -139,11 +159,11 @@ public class GhostMadness extends StateMachine<GhostMentalState, String> {
 	}
 
 	private boolean elroy1ScoreReached() {
-		return theGame().remainingFoodCount() <= theGame().elroy1DotsLeft;
+		return ghost.game().remainingFoodCount() <= ghost.game().elroy1DotsLeft;
 	}
 
 	private boolean elroy2ScoreReached() {
-		return theGame().remainingFoodCount() <= theGame().elroy2DotsLeft;
+		return ghost.game().remainingFoodCount() <= ghost.game().elroy2DotsLeft;
 	}
 
 	private void headForCorner() {
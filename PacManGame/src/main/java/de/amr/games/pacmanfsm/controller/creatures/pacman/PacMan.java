@@ -29,7 +29,6 @@ import static de.amr.games.pacmanfsm.controller.creatures.pacman.PacManState.DEA
 import static de.amr.games.pacmanfsm.controller.creatures.pacman.PacManState.IN_BED;
 import static de.amr.games.pacmanfsm.controller.creatures.pacman.PacManState.POWERFUL;
 import static de.amr.games.pacmanfsm.controller.creatures.pacman.PacManState.SLEEPING;
-import static de.amr.games.pacmanfsm.controller.game.GameController.theGame;
 import static de.amr.games.pacmanfsm.lib.Direction.LEFT;
 import static de.amr.games.pacmanfsm.lib.Direction.UP;
 
@@ -48,15 +47,15 @@ import de.amr.games.pacmanfsm.controller.event.PacManGameEvent;
 import de.amr.games.pacmanfsm.controller.event.PacManKilledEvent;
 import de.amr.games.pacmanfsm.controller.event.PacManLostPowerEvent;
 import de.amr.games.pacmanfsm.controller.event.PacManWakeUpEvent;
-import de.amr.games.pacmanfsm.controller.game.GameController;
 import de.amr.games.pacmanfsm.controller.game.Timing;
 import de.amr.games.pacmanfsm.controller.steering.api.Steering;
+import de.amr.games.pacmanfsm.lib.RestorableTimers;
+import de.amr.games.pacmanfsm.lib.RestorableTimers.Saved;
 import de.amr.games.pacmanfsm.lib.Tile;
 import de.amr.games.pacmanfsm.model.world.api.TemporaryFood;
 import de.amr.games.pacmanfsm.model.world.api.TiledWorld;
 import de.amr.games.pacmanfsm.model.world.arcade.ArcadeFood;
 import de.amr.games.pacmanfsm.model.world.components.Bed;
-import de.amr.games.pacmanfsm.model.world.components.House;
 import de.amr.statemachine.api.TransitionMatchStrategy;
 import de.amr.statemachine.core.MissingTransitionBehavior;
 import de.amr.statemachine.core.StateMachine;
@@ -68,10 +67,18 @@ import de.amr.statemachine.core.StateMachine;
  */
 public class PacMan extends Guy {
 
+	/**
+	 * Saved state of Pac-Man.
+	 */
+	public record Snapshot(GuySnapshot guy, Saved<PacManState> ai, int weight, long powerTicks) {
+	}
+
 	public final StateMachine<PacManState, PacManGameEvent> ai;
 	private final PacManAppSettings settings;
+	private final RestorableTimers<PacManState> timers = new RestorableTimers<>();
 	private Steering walkingBehavior;
 	private int weight;
+	private long powerTicks;
 
 	public PacMan(PacManAppSettings settings, TiledWorld world, String name) {
 		super(world, name);
@@ -106,13 +113,14 @@ public class PacMan extends Guy {
 					})
 					
 				.state(POWERFUL)
+					.timeoutAfter(timers.timer(POWERFUL, () -> powerTicks))
 					.onTick(() -> {
 						move();
 						searchForFood().ifPresent(ai::publish);
 					})
 					
 				.state(DEAD)
-					.timeoutAfter(Timing.sec(2.5f))
+					.timeoutAfter(timers.timer(DEAD, Timing.sec(2.5f)))
 
 				.state(COLLAPSING)
 
@@ -167,6 +175,13 @@ public class PacMan extends Guy {
 		return ai.is(AWAKE) || ai.is(POWERFUL) ? walkingBehavior : Steering.STANDING_STILL;
 	}
 
+	/**
+	 * @return steering used while awake or powerful
+	 */
+	public Steering getWalkingSteering() {
+		return walkingBehavior;
+	}
+
 	@Override
 	public void init() {
 		ai.init();
@@ -174,7 +189,20 @@ public class PacMan extends Guy {
 
 	@Override
 	public void update() {
+		long start = aiPhase.start();
 		ai.update();
+		aiPhase.stop(start);
+	}
+
+	public Snapshot snapshot() {
+		return new Snapshot(saveGuy(), timers.save(ai), weight, powerTicks);
+	}
+
+	public void restore(Snapshot snapshot) {
+		restoreGuy(snapshot.guy());
+		weight = snapshot.weight();
+		powerTicks = snapshot.powerTicks();
+		timers.restore(ai, snapshot.ai());
 	}
 
 	public void wakeUp() {
@@ -187,7 +215,7 @@ public class PacMan extends Guy {
 
 	@Override
 	public boolean canMoveBetween(Tile tile, Tile neighbor) {
-		if (world.houses().flatMap(House::doors).anyMatch(door -> door.includes(neighbor))) {
+		if (world.isDoor(neighbor)) {
 			return false;
 		}
 		return world.isAccessible(neighbor);
@@ -211,15 +239,15 @@ public class PacMan extends Guy {
 
 	@Override
 	public float getSpeed() {
-		if (ai.getState() == null || !GameController.isGameStarted()) {
+		if (ai.getState() == null || !isGameStarted()) {
 			return 0;
 		}
 		if (ai.is(IN_BED, SLEEPING, DEAD, COLLAPSING)) {
 			return 0;
 		} else if (ai.is(POWERFUL)) {
-			return Timing.speed(theGame().pacManPowerSpeed);
+			return Timing.speed(game().pacManPowerSpeed);
 		} else if (ai.is(AWAKE)) {
-			return Timing.speed(theGame().pacManSpeed);
+			return Timing.speed(game().pacManSpeed);
 		}
 		throw new IllegalStateException("Illegal Pac-Man state: " + ai.getState());
 	}
@@ -243,7 +271,7 @@ public class PacMan extends Guy {
 
 	private void setPowerTimer(PacManGameEvent e) {
 		PacManGainsPowerEvent powerEvent = (PacManGainsPowerEvent) e;
-		ai.state(POWERFUL).setTimer(powerEvent.duration);
+		powerTicks = powerEvent.duration;
 		ai.state(POWERFUL).resetTimer();
 	}
 
@@ -39,12 +39,14 @@ import static de.amr.games.pacmanfsm.controller.game.Timing.sec;
 import java.awt.Color;
 import java.awt.event.KeyEvent;
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
-import de.amr.easy.game.Application;
-import de.amr.easy.game.assets.SoundClip;
 import de.amr.easy.game.controller.Lifecycle;
 import de.amr.easy.game.input.Keyboard;
 import de.amr.easy.game.view.View;
@@ -53,8 +55,11 @@ import de.amr.games.pacmanfsm.PacManApp.PacManAppSettings;
 import de.amr.games.pacmanfsm.controller.bonus.BonusFoodController;
 import de.amr.games.pacmanfsm.controller.bonus.BonusFoodState;
 import de.amr.games.pacmanfsm.controller.creatures.Folks;
+import de.amr.games.pacmanfsm.controller.creatures.Guy;
 import de.amr.games.pacmanfsm.controller.creatures.ghost.Ghost;
+import de.amr.games.pacmanfsm.controller.creatures.ghost.GhostMadness;
 import de.amr.games.pacmanfsm.controller.creatures.ghost.GhostState;
+import de.amr.games.pacmanfsm.controller.creatures.pacman.PacManState;
 import de.amr.games.pacmanfsm.controller.event.BonusFoundEvent;
 import de.amr.games.pacmanfsm.controller.event.FoodFoundEvent;
 import de.amr.games.pacmanfsm.controller.event.GhostKilledEvent;
@@ -65,14 +70,23 @@ import de.amr.games.pacmanfsm.controller.event.PacManGhostCollisionEvent;
 import de.amr.games.pacmanfsm.controller.event.PacManKilledEvent;
 import de.amr.games.pacmanfsm.controller.event.PacManLostPowerEvent;
 import de.amr.games.pacmanfsm.controller.ghosthouse.DoorMan;
+import de.amr.games.pacmanfsm.controller.replay.GameRecording;
+import de.amr.games.pacmanfsm.controller.replay.RecordingSteering;
+import de.amr.games.pacmanfsm.controller.replay.ReplayingSteering;
+import de.amr.games.pacmanfsm.controller.steering.api.Steering;
 import de.amr.games.pacmanfsm.lib.Direction;
+import de.amr.games.pacmanfsm.lib.RestorableTimers;
+import de.amr.games.pacmanfsm.lib.TickProfiler;
+import de.amr.games.pacmanfsm.lib.TickProfiler.Phase;
 import de.amr.games.pacmanfsm.lib.Tile;
 import de.amr.games.pacmanfsm.model.game.Hiscore;
+import de.amr.games.pacmanfsm.model.game.LevelTable;
 import de.amr.games.pacmanfsm.model.game.PacManGame;
 import de.amr.games.pacmanfsm.model.world.api.TiledWorld;
 import de.amr.games.pacmanfsm.model.world.arcade.ArcadeBonus;
 import de.amr.games.pacmanfsm.model.world.arcade.ArcadeFood;
 import de.amr.games.pacmanfsm.model.world.arcade.ArcadeWorld;
+import de.amr.games.pacmanfsm.model.world.arcade.Maze;
 import de.amr.games.pacmanfsm.model.world.components.House;
 import de.amr.games.pacmanfsm.theme.api.Theme;
 import de.amr.games.pacmanfsm.view.api.PacManGameSounds;
@@ -80,6 +94,7 @@ import de.amr.games.pacmanfsm.view.api.PacManGameView;
 import de.amr.games.pacmanfsm.view.intro.IntroView;
 import de.amr.games.pacmanfsm.view.loading.MusicLoadingView;
 import de.amr.games.pacmanfsm.view.play.PlayView;
+import de.amr.games.pacmanfsm.view.play.SoundMixer;
 import de.amr.statemachine.core.MissingTransitionBehavior;
 import de.amr.statemachine.core.State;
 import de.amr.statemachine.core.StateMachine;
@@ -91,34 +106,43 @@ import de.amr.statemachine.core.StateMachine;
  */
 public class GameController extends StateMachine<PacManGameState, PacManGameEvent> implements VisualController {
 
-	private static PacManGame theGame;
+	private PacManGame game;
+	private LevelTable levelTable = LevelTable.ARCADE;
+	private Maze maze;
 
-	public static PacManGame theGame() {
-		return theGame;
+	/**
+	 * @return the game run by this controller or {@code null} if no game has been started yet
+	 */
+	public PacManGame game() {
+		return game;
+	}
+
+	public void newGame(int startLevel, int totalFoodCount) {
+		newGame(startLevel, totalFoodCount, new Hiscore(new File(new File(System.getProperty("user.home")), "pacman.hiscore.xml")));
 	}
 
-	public static void newGame(int startLevel, int totalFoodCount) {
-		theGame = new PacManGame(startLevel, totalFoodCount, PacManGame.PACMAN_LIVES, 0);
-		theGame().hiscore = new Hiscore(new File(new File(System.getProperty("user.home")), "pacman.hiscore.xml"));
-		theGame().levelCounter.add(theGame().bonusSymbol);
+	public void newGame(int startLevel, int totalFoodCount, Hiscore hiscore) {
+		game = new PacManGame(levelTable, startLevel, totalFoodCount, PacManGame.PACMAN_LIVES, 0);
+		game.hiscore = hiscore;
+		game.levelCounter.add(game.bonusSymbol);
 		loginfo("Game started at level %d", startLevel);
 	}
 
-	public static void nextLevel() {
-		if (theGame() == null) {
+	public void nextLevel() {
+		if (game == null) {
 			throw new IllegalStateException("Cannot enter next level, game not started");
 		}
-		var hiscore = theGame.hiscore;
-		var levelCounter = theGame.levelCounter;
-		theGame = new PacManGame(theGame.level + 1, theGame.foodCount, theGame.lives, theGame.score);
-		theGame.hiscore = hiscore;
-		theGame.levelCounter = levelCounter;
-		theGame.levelCounter.add(theGame.bonusSymbol);
-		loginfo("Game entered level %d" + "", theGame.level);
+		var hiscore = game.hiscore;
+		var levelCounter = game.levelCounter;
+		game = new PacManGame(levelTable, game.level + 1, game.foodCount, game.lives, game.score);
+		game.hiscore = hiscore;
+		game.levelCounter = levelCounter;
+		game.levelCounter.add(game.bonusSymbol);
+		loginfo("Game entered level %d" + "", game.level);
 	}
 
-	public static boolean isGameStarted() {
-		return theGame() != null;
+	public boolean isGameStarted() {
+		return game != null;
 	}
 
 	public final TiledWorld world;
@@ -127,41 +151,269 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 	public final DoorMan doorMan;
 	public final GhostAttackController ghostCommand;
 	public final ThemeSelector themes;
+	public final TickProfiler profiler = new TickProfiler();
 
-	protected final Random rnd = new Random();
+	/** Maze flashing time used when no theme is available. */
+	private static final float MAZE_FLASH_SEC_HEADLESS = 0.4f;
+
+	protected final PacManAppSettings settings;
+	protected final boolean headless;
 	protected PacManGameView currentView;
 
+	private final RestorableTimers<PacManGameState> timers = new RestorableTimers<>();
+	private final SoundMixer mixer;
+	private volatile boolean gameOverMusicStarted;
+	private GameRecording recording;
+	private GameRecording replay;
+	private final Phase tickPhase;
+	private final Phase inputPhase;
+	private final Phase statePhase;
+	private final Phase doorManPhase;
+	private final Phase bonusPhase;
+	private final Phase viewPhase;
+
 	public PacManAppSettings appSettings() {
-		return (PacManAppSettings) Application.app().settings();
+		return settings;
+	}
+
+	/**
+	 * Creates a game controller with views, sounds and keyboard input.
+	 * 
+	 * @param settings        application settings
+	 * @param supportedThemes themes that can be selected
+	 */
+	public GameController(PacManAppSettings settings, List<Theme> supportedThemes) {
+		this(settings, supportedThemes, false);
 	}
 
-	public GameController(List<Theme> supportedThemes) {
+	/**
+	 * Creates a game controller. In headless mode, no views are created, no sounds are played, no keyboard input is
+	 * handled and no application is required. A headless game starts directly in state {@link PacManGameState#GETTING_READY
+	 * GETTING_READY}, stays in state {@link PacManGameState#GAME_OVER GAME_OVER} when the game is over and is driven by
+	 * calling {@link #update()}.
+	 * 
+	 * @param settings        application settings
+	 * @param supportedThemes themes that can be selected (ignored in headless mode)
+	 * @param headless        if the game runs without user interface
+	 */
+	public GameController(PacManAppSettings settings, List<Theme> supportedThemes, boolean headless) {
 		super(PacManGameState.class);
+		this.settings = settings;
+		this.headless = headless;
+		mixer = new SoundMixer(headless ? null : this::sounds);
 		buildStateMachine();
 
-		themes = new ThemeSelector(supportedThemes);
-		themes.select(appSettings().theme);
-		themes.addListener(theme -> {
-			if (currentView != null) {
-				currentView.setTheme(theme);
+		// settings of a replayed game must be applied before the world and the folks are created
+		if (settings.replay != null) {
+			loadReplay();
+		}
+
+		if (settings.levels != null) {
+			try {
+				levelTable = LevelTable.load(settings.levels);
+			} catch (IOException x) {
+				throw new UncheckedIOException("Could not load level table " + settings.levels, x);
 			}
-		});
+			loginfo("Loaded level table '%s' (%d levels)", settings.levels, levelTable.size());
+		}
 
-		world = new ArcadeWorld();
+		if (headless) {
+			themes = null;
+		} else {
+			themes = new ThemeSelector(supportedThemes);
+			themes.select(appSettings().theme);
+			themes.addListener(theme -> {
+				if (currentView != null) {
+					currentView.setTheme(theme);
+				}
+			});
+		}
 
-		folks = new Folks(appSettings(), world, world.house(0).orElse(null));
+		world = createWorld();
+		if (replay != null) {
+			replay.checkContent(maze.checksum(), levelTable.checksum());
+		}
+
+		List<House> houses = world.houses().collect(Collectors.toList());
+		folks = new Folks(appSettings(), world, houses, appSettings().ghosts, this::game);
 		folks.pacMan.ai.addEventListener(this::process);
 		folks.ghosts().forEach(ghost -> ghost.ai.addEventListener(this::process));
 
-		doorMan = new DoorMan(world.house(0).orElse(null), folks);
+		doorMan = new DoorMan(houses, folks);
 		ghostCommand = new GhostAttackController(folks);
-		bonusController = new BonusFoodController(world, () -> ArcadeBonus.of(theGame().bonusSymbol, theGame().bonusValue));
+		bonusController = new BonusFoodController(world, () -> ArcadeBonus.of(game().bonusSymbol, game().bonusValue));
+
+		// phases are displayed in creation order
+		tickPhase = profiler.phase("Tick");
+		inputPhase = profiler.phase("Input");
+		statePhase = profiler.phase("Game state");
+		folks.guys().forEach(guy -> guy.setProfiler(profiler));
+		doorManPhase = profiler.phase("Door man");
+		bonusPhase = profiler.phase("Bonus");
+		viewPhase = profiler.phase("View update");
+
+		if (!headless) {
+			app().onClose(() -> {
+				if (isGameStarted()) {
+					game().hiscore.save();
+				}
+			});
+		}
+	}
+
+	private TiledWorld createWorld() {
+		if (settings.maze == null) {
+			maze = ArcadeWorld.ARCADE_MAZE;
+			return new ArcadeWorld();
+		}
+		try {
+			maze = Maze.load(Paths.get(settings.maze));
+		} catch (IOException x) {
+			throw new UncheckedIOException("Could not load maze " + settings.maze, x);
+		}
+		loginfo("Loaded maze '%s' (%dx%d tiles)", settings.maze, maze.width(), maze.height());
+		return new ArcadeWorld(maze);
+	}
+
+	public boolean isHeadless() {
+		return headless;
+	}
+
+	/**
+	 * Prepares recording or replaying the new game as requested by the settings. Must be called before the new game
+	 * takes any random decision.
+	 */
+	private void startRecordingOrReplay() {
+		recording = null;
+		if (appSettings().replay != null) {
+			if (replay == null) {
+				loadReplay();
+				if (replay == null) {
+					return;
+				}
+				replay.checkContent(maze.checksum(), levelTable.checksum());
+			}
+			replay.applyTo(appSettings());
+			world.random().setSeed(replay.seed);
+			folks.pacMan.setSteering(PacManState.AWAKE, new ReplayingSteering(replay, world.random()));
+			loginfo("Replaying game recorded in '%s'", appSettings().replay);
+		} else if (appSettings().record != null) {
+			Steering steering = folks.pacMan.getWalkingSteering();
+			if (steering instanceof RecordingSteering recordingSteering) {
+				steering = recordingSteering.delegate();
+			}
+			if (steering == null) {
+				loginfo("Cannot record game, Pac-Man has no steering");
+				return;
+			}
+			long seed = world.random().nextLong();
+			world.random().setSeed(seed);
+			recording = new GameRecording(seed, appSettings(), steering.requiresGridAlignment(), maze.checksum(),
+					levelTable.checksum());
+			folks.pacMan.setSteering(PacManState.AWAKE, new RecordingSteering(steering, recording, world.random()));
+			loginfo("Recording game into '%s'", appSettings().record);
+		}
+	}
+
+	private void loadReplay() {
+		try {
+			replay = GameRecording.load(Paths.get(appSettings().replay));
+			replay.applyTo(appSettings());
+		} catch (IOException x) {
+			loginfo("Could not load game recording '%s': %s", appSettings().replay, x.getMessage());
+			appSettings().replay = null;
+		}
+	}
+
+	/**
+	 * Saves the recording of the current game, if the game is being recorded.
+	 */
+	public void saveRecording() {
+		if (recording != null && isGameStarted()) {
+			recording.setResult(game().score, game().level);
+			try {
+				recording.save(Paths.get(appSettings().record));
+				loginfo("Game recorded into '%s' (%d bytes of steering input)", appSettings().record, recording.inputSize());
+			} catch (IOException x) {
+				loginfo("Could not save game recording '%s': %s", appSettings().record, x.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * @return the recording being replayed or {@code null}
+	 */
+	public GameRecording replay() {
+		return replay;
+	}
+
+	/**
+	 * Takes a snapshot of the running game. Must be called between two ticks.
+	 * 
+	 * @return snapshot of everything that determines the future of the game
+	 */
+	public GameSnapshot snapshot() {
+		if (!isGameStarted()) {
+			throw new IllegalStateException("Cannot take snapshot, game not started");
+		}
+		ChangingLevelState changingLevel = stateChangingLevel();
+		Guy[] guys = folks.guys().toArray(Guy[]::new);
+		boolean[] guysInWorld = new boolean[guys.length];
+		for (int i = 0; i < guys.length; ++i) {
+			guysInWorld[i] = world.contains(guys[i]);
+		}
+		//@formatter:off
+		return new GameSnapshot(
+			timers.save(this),
+			new PacManGame(game),
+			changingLevel.complete,
+			changingLevel.flashingEnd,
+			world.random().state(),
+			world.random().draws(),
+			world.eatenFood(),
+			world.isFrozen(),
+			world.isChanging(),
+			guysInWorld,
+			folks.pacMan.snapshot(),
+			folks.ghosts().map(Ghost::snapshot).collect(Collectors.toList()),
+			ghostCommand.snapshot(),
+			doorMan.snapshot(),
+			bonusController.snapshot()
+		);
+		//@formatter:on
+	}
 
-		app().onClose(() -> {
-			if (isGameStarted()) {
-				theGame().hiscore.save();
+	/**
+	 * Restores the game to the state of the given snapshot. No entry or exit actions of any state machine are executed.
+	 * 
+	 * @param snapshot snapshot taken by this controller
+	 */
+	public void restore(GameSnapshot snapshot) {
+		game = new PacManGame(snapshot.game());
+		ChangingLevelState changingLevel = stateChangingLevel();
+		changingLevel.complete = snapshot.levelChangeComplete();
+		changingLevel.flashingEnd = snapshot.levelChangeFlashingEnd();
+		world.random().setState(snapshot.randomState(), snapshot.randomDraws());
+		world.restoreFood(snapshot.eatenFood());
+		world.setFrozen(snapshot.worldFrozen());
+		world.setChanging(snapshot.worldChanging());
+		Guy[] guys = folks.guys().toArray(Guy[]::new);
+		for (int i = 0; i < guys.length; ++i) {
+			if (snapshot.guysInWorld()[i]) {
+				world.include(guys[i]);
+			} else {
+				world.exclude(guys[i]);
 			}
-		});
+		}
+		folks.pacMan.restore(snapshot.pacMan());
+		Ghost[] ghosts = folks.ghosts().toArray(Ghost[]::new);
+		for (int i = 0; i < ghosts.length; ++i) {
+			ghosts[i].restore(snapshot.ghosts().get(i));
+		}
+		ghostCommand.restore(snapshot.ghostCommand());
+		doorMan.restore(snapshot.doorMan());
+		bonusController.restore(snapshot.bonus());
+		timers.restore(this, snapshot.fsm());
 	}
 
 	private void buildStateMachine() {
@@ -171,7 +423,7 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 		beginStateMachine()
 			
 			.description("Game Controller")
-			.initialState(LOADING_MUSIC)
+			.initialState(headless ? GETTING_READY : LOADING_MUSIC)
 			
 			.states()
 			
@@ -190,10 +442,10 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 				.state(CHANGING_LEVEL).customState(new ChangingLevelState())
 				
 				.state(GHOST_DYING)
-					.timeoutAfter(sec(1))
+					.timeoutAfter(timers.timer(GHOST_DYING, sec(1)))
 					.onEntry(() -> {
 						folks.pacMan.visible = false;
-						playView().soundState.ghostEaten = true;
+						mixer.ghostEaten();
 					})
 					.onTick(() -> {
 						bonusController.update();
@@ -204,22 +456,23 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 					.onExit(() -> folks.pacMan.visible = true)
 				
 				.state(PACMAN_DYING)
-					.timeoutAfter(sec(5))
+					.timeoutAfter(timers.timer(PACMAN_DYING, sec(5)))
 					.onEntry(() -> {
 						if (!appSettings().pacManImmortable) {
-							theGame().lives -= 1;
+							game().lives -= 1;
 						}
 						world.setFrozen(true);
-						folks.blinky.madness.pacManDies();
-						sounds().stopAll();
+						folks.madness().forEach(GhostMadness::pacManDies);
+						mixer.stopAll();
 					})
-					.onTick((state, passed, remaining) -> {
+					.onTick(() -> {
+						long passed = timers.ticksConsumed(this);
 						if (passed == sec(2)) {
 							bonusController.setState(BonusFoodState.BONUS_INACTIVE);
 							folks.ghostsInWorld().forEach(ghost -> ghost.visible = false);
 						}
 						else if (passed == sec(2.5f)) {
-							playView().soundState.pacManDied = true;
+							mixer.pacManDied();
 						}
 						folks.pacMan.update();
 					})
@@ -231,18 +484,23 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 						folks.ghostsInWorld().forEach(ghost -> {
 							ghost.init();
 							ghost.placeAt(Tile.at(folks.blinky.bed.minX(), folks.blinky.bed.minY()), Tile.TS / 2, 0);
-							ghost.wishDir = rnd.nextBoolean() ? Direction.LEFT : Direction.RIGHT;
-							ghost.ai.setState(rnd.nextBoolean() ? GhostState.SCATTERING : GhostState.FRIGHTENED);
+							ghost.wishDir = world.random().nextBoolean() ? Direction.LEFT : Direction.RIGHT;
+							ghost.ai.setState(world.random().nextBoolean() ? GhostState.SCATTERING : GhostState.FRIGHTENED);
+						});
+						showMessage(2, "Game Over!", Color.RED);
+						saveRecording();
+						gameOverMusicStarted = false;
+						mixer.stopAll();
+						withSounds(sounds -> {
+							sounds.playMusic(sounds.musicGameOver());
+							gameOverMusicStarted = true;
 						});
-						playView().messagesView.showMessage(2, "Game Over!", Color.RED);
-						sounds().stopAll();
-						sounds().playMusic(sounds().musicGameOver());
 					})
 					.onTick(() -> folks.ghostsInWorld().forEach(Ghost::move))
 					.onExit(() -> {
 						world.restoreFood();
-						playView().messagesView.clearMessage(2);
-						sounds().stopMusic(sounds().musicGameOver());
+						clearMessage(2);
+						mixer.stopAll();
 					})
 	
 			.transitions()
@@ -300,23 +558,23 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 					
 				.when(PACMAN_DYING).then(GAME_OVER)
 					.onTimeout()
-					.condition(() -> theGame().lives == 0)
+					.condition(() -> game().lives == 0)
 					.annotation("No lives left, game over")
 					
 				.when(PACMAN_DYING).then(PLAYING)
 					.onTimeout()
-					.condition(() -> theGame().lives > 0)
+					.condition(() -> game().lives > 0)
 					.act(statePlaying()::resumePlaying)
 					.annotation(() -> isGameStarted() ?
-							String.format("Lives remaining = %d, resume game", theGame().lives) : "Lives remaining, resume game"
+							String.format("Lives remaining = %d, resume game", game().lives) : "Lives remaining, resume game"
 					)
 			
 				.when(GAME_OVER).then(GETTING_READY)
-					.condition(() -> Keyboard.keyPressedOnce("space") || Keyboard.keyPressedOnce("enter"))
+					.condition(() -> !headless && (Keyboard.keyPressedOnce("space") || Keyboard.keyPressedOnce("enter")))
 					.annotation("New game requested by user")
 					
 				.when(GAME_OVER).then(INTRO)
-					.condition(() -> !sounds().isMusicRunning(sounds().musicGameOver()))
+					.condition(() -> !headless && gameOverMusicStarted && !sounds().isMusicRunning(sounds().musicGameOver()))
 					.annotation("Game over music finished")
 							
 		.endStateMachine();
@@ -326,23 +584,30 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 	public class GettingReadyState extends State<PacManGameState> {
 
 		private void startNewGame() {
-			newGame(appSettings().startLevel, world.totalFoodCount());
+			startRecordingOrReplay();
+			if (headless) {
+				newGame(appSettings().startLevel, world.totalFoodCount(), new Hiscore());
+			} else {
+				newGame(appSettings().startLevel, world.totalFoodCount());
+			}
 			world.setFrozen(true);
 			closeAllDoors();
 			folks.guys().forEach(guy -> {
 				world.include(guy);
 				guy.init();
 			});
-			folks.blinky.madness.init();
+			folks.madness().forEach(GhostMadness::init);
 			ghostCommand.init();
 			bonusController.init();
-			currentView = createPlayView();
-			playView().messagesView.showMessage(2, "Ready!", Color.YELLOW);
-			sounds().playMusic(sounds().musicGameReady());
+			if (!headless) {
+				currentView = createPlayView();
+			}
+			showMessage(2, "Ready!", Color.YELLOW);
+			withSounds(sounds -> sounds.playMusic(sounds.musicGameReady()));
 		}
 
 		public GettingReadyState() {
-			setTimer(sec(6));
+			setTimer(timers.timer(GETTING_READY, sec(6)));
 		}
 
 		@Override
@@ -360,45 +625,52 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 
 		@Override
 		public void onExit() {
-			playView().messagesView.clearMessage(2);
+			clearMessage(2);
 		}
 	}
 
 	public class PlayingState extends State<PacManGameState> {
 
+		public PlayingState() {
+			setTimer(timers.endless(PLAYING));
+		}
+
 		@Override
 		public void onEntry() {
 			startBackgroundMusicForPlaying();
 			if (appSettings().demoMode) {
-				playView().messagesView.showMessage(1, "Demo Mode", Color.LIGHT_GRAY);
+				showMessage(1, "Demo Mode", Color.LIGHT_GRAY);
 			} else {
-				playView().messagesView.clearMessage(1);
+				clearMessage(1);
 			}
 		}
 
 		@Override
-		public void onTick(State<PacManGameState> state, long passed, long remaining) {
+		public void onTick(State<PacManGameState> state, long consumed, long remaining) {
+			long passed = timers.ticksConsumed(GameController.this);
 			folks.guysInWorld().forEach(Lifecycle::update);
 			if (passed == sec(2)) {
 				folks.pacMan.wakeUp();
 			}
 			if (passed > sec(2)) {
 				ghostCommand.update();
+				long start = doorManPhase.start();
 				doorMan.update();
+				doorManPhase.stop(start);
+				start = bonusPhase.start();
 				bonusController.update();
+				bonusPhase.stop(start);
 				if (folks.clyde.justLeftHouse()) {
-					folks.blinky.madness.clydeExitsHouse();
+					folks.madness().forEach(GhostMadness::clydeExitsHouse);
 				}
-				playView().soundState.chasingGhosts = folks.ghostsInWorld().anyMatch(ghost -> ghost.ai.is(GhostState.CHASING));
-				playView().soundState.deadGhosts = folks.ghostsInWorld().anyMatch(ghost -> ghost.ai.is(GhostState.DEAD));
+				mixer.setChasingGhosts(folks.ghostsInWorld().anyMatch(ghost -> ghost.ai.is(GhostState.CHASING)));
+				mixer.setDeadGhosts(folks.ghostsInWorld().anyMatch(ghost -> ghost.ai.is(GhostState.DEAD)));
 			}
 		}
 
 		@Override
 		public void onExit() {
-			sounds().clips().forEach(SoundClip::stop);
-			playView().soundState.chasingGhosts = false;
-			playView().soundState.deadGhosts = false;
+			mixer.stopClips();
 		}
 
 		private void resumePlaying() {
@@ -417,8 +689,10 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 			Ghost ghost = collision.ghost;
 
 			if (ghost.ai.is(FRIGHTENED)) {
-				boolean extraLife = theGame().gainGhostPoints();
-				playView().soundState.gotExtraLife = extraLife;
+				boolean extraLife = game().gainGhostPoints();
+				if (extraLife) {
+					mixer.gotExtraLife();
+				}
 				ghost.ai.process(new GhostKilledEvent(ghost));
 				enqueue(new GhostKilledEvent(ghost));
 				loginfo("%s got killed at %s", ghost.name, ghost.tile());
@@ -427,17 +701,19 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 			else if (!appSettings().ghostsHarmless) {
 				loginfo("Pac-Man killed by %s at %s", ghost.name, ghost.tile());
 				doorMan.onPacManLostLife();
-				playView().soundState.chasingGhosts = false;
-				playView().soundState.deadGhosts = false;
+				mixer.setChasingGhosts(false);
+				mixer.setDeadGhosts(false);
 				folks.pacMan.ai.process(new PacManKilledEvent(ghost));
 				enqueue(new PacManKilledEvent(ghost));
 			}
 		}
 
 		private void onPacManFoundBonus(PacManGameEvent event) {
-			boolean extraLife = theGame().gainBonus();
-			playView().soundState.bonusEaten = true;
-			playView().soundState.gotExtraLife = extraLife;
+			boolean extraLife = game().gainBonus();
+			mixer.bonusEaten();
+			if (extraLife) {
+				mixer.gotExtraLife();
+			}
 			bonusController.process(event);
 		}
 
@@ -445,25 +721,27 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 			FoodFoundEvent found = (FoodFoundEvent) event;
 
 			boolean energizer = found.food == ArcadeFood.ENERGIZER;
-			boolean extraLife = energizer ? theGame().gainEnergizerPoints() : theGame().gainPelletPoints();
-			if (theGame().isBonusGettingActivated()) {
+			boolean extraLife = energizer ? game().gainEnergizerPoints() : game().gainPelletPoints();
+			if (game().isBonusGettingActivated()) {
 				bonusController.setState(BonusFoodState.BONUS_CONSUMABLE);
 			}
-			playView().soundState.lastMealAt = System.currentTimeMillis();
-			playView().soundState.gotExtraLife = extraLife;
+			mixer.pacManAte();
+			if (extraLife) {
+				mixer.gotExtraLife();
+			}
 
 			doorMan.onPacManFoundFood();
 			world.removeFood(found.location);
-			if (theGame().remainingFoodCount() == 0) {
+			if (game().remainingFoodCount() == 0) {
 				// enter next level
 				enqueue(new LevelCompletedEvent());
 				return;
 			}
 
-			if (energizer && theGame().pacManPowerSeconds > 0) {
+			if (energizer && game().pacManPowerSeconds > 0) {
 				// restart attack timer
 				ghostCommand.pauseAttacking();
-				PacManGameEvent pacManGainsPower = new PacManGainsPowerEvent(sec(theGame().pacManPowerSeconds));
+				PacManGameEvent pacManGainsPower = new PacManGainsPowerEvent(sec(game().pacManPowerSeconds));
 				folks.pacMan.ai.process(pacManGainsPower);
 				folks.ghostsInWorld().forEach(ghost -> ghost.ai.process(pacManGainsPower));
 			}
@@ -476,23 +754,28 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 		private long flashingStart = sec(2);
 		private long flashingEnd;
 
+		public ChangingLevelState() {
+			setTimer(timers.endless(CHANGING_LEVEL));
+		}
+
 		public boolean isComplete() {
 			return complete;
 		}
 
 		@Override
 		public void onEntry() {
-			loginfo("Ghosts killed in level %d: %d", theGame().level, theGame().ghostsKilledInLevel);
+			loginfo("Ghosts killed in level %d: %d", game().level, game().ghostsKilledInLevel);
 			world.setFrozen(true);
 			folks.pacMan.fallAsleep();
 			doorMan.onLevelChange();
-			sounds().clips().forEach(SoundClip::stop);
-			flashingEnd = flashingStart + theGame().numFlashes * sec(themes.current().asFloat("maze-flash-sec"));
+			mixer.stopClips();
+			flashingEnd = flashingStart + game().numFlashes * sec(mazeFlashSeconds());
 			complete = false;
 		}
 
 		@Override
-		public void onTick(State<PacManGameState> state, long passed, long ticksRemaining) {
+		public void onTick(State<PacManGameState> state, long consumed, long ticksRemaining) {
+			long passed = timers.ticksConsumed(GameController.this);
 
 			// For two seconds, do nothing.
 
@@ -507,8 +790,10 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 				world.restoreFood();
 				nextLevel();
 				folks.guys().forEach(Lifecycle::init);
-				folks.blinky.madness.init();
-				playView().init();
+				folks.madness().forEach(GhostMadness::init);
+				if (!headless) {
+					playView().init();
+				}
 			}
 
 			// One second later, let ghosts jump again inside the house
@@ -525,9 +810,33 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 
 	@Override
 	public void update() {
-		handleInput();
+		long tickStart = tickPhase.start();
+		updateGame();
+		updateView();
+		tickPhase.stop(tickStart);
+		profiler.endTick();
+	}
+
+	private void updateGame() {
+		if (!headless) {
+			long start = inputPhase.start();
+			handleInput();
+			inputPhase.stop(start);
+		}
+		long start = statePhase.start();
 		super.update();
-		currentView.update();
+		statePhase.stop(start);
+		if (isGameStarted()) {
+			mixer.setPacManPowerful(folks.pacMan.ai.is(PacManState.POWERFUL));
+		}
+	}
+
+	private void updateView() {
+		if (currentView != null) {
+			long start = viewPhase.start();
+			currentView.update();
+			viewPhase.stop(start);
+		}
 	}
 
 	protected void handleInput() {
@@ -546,13 +855,45 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 		return themes.current().sounds();
 	}
 
+	/**
+	 * Executes the given sound action on the audio thread unless running headless.
+	 * 
+	 * @param action action using the sounds of the current theme
+	 */
+	protected void withSounds(Consumer<PacManGameSounds> action) {
+		mixer.submit(action);
+	}
+
+	/**
+	 * @return the sound mixer, muted when running headless
+	 */
+	public SoundMixer mixer() {
+		return mixer;
+	}
+
+	protected void showMessage(int row, String text, Color color) {
+		if (!headless) {
+			playView().messagesView.showMessage(row, text, color);
+		}
+	}
+
+	protected void clearMessage(int row) {
+		if (!headless) {
+			playView().messagesView.clearMessage(row);
+		}
+	}
+
+	private float mazeFlashSeconds() {
+		return headless ? MAZE_FLASH_SEC_HEADLESS : themes.current().asFloat("maze-flash-sec");
+	}
+
 	private void startBackgroundMusicForPlaying() {
-		sounds().musicGameRunning().ifPresent(music -> {
+		withSounds(sounds -> sounds.musicGameRunning().ifPresent(music -> {
 			if (!music.isRunning()) {
 				music.setVolume(0.4f);
 				music.loop();
 			}
-		});
+		}));
 	}
 
 	@Override
@@ -0,0 +1,66 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.controller.game;
+
+import java.util.BitSet;
+import java.util.List;
+
+import de.amr.games.pacmanfsm.controller.bonus.BonusFoodController;
+import de.amr.games.pacmanfsm.controller.creatures.ghost.Ghost;
+import de.amr.games.pacmanfsm.controller.creatures.pacman.PacMan;
+import de.amr.games.pacmanfsm.controller.ghosthouse.DoorMan;
+import de.amr.games.pacmanfsm.lib.RestorableTimers.Saved;
+import de.amr.games.pacmanfsm.model.game.PacManGame;
+
+/**
+ * Everything that determines the future of a running game: the game counters, the eaten food, the random generator, the
+ * positions and directions of all guys and the states and timers of all state machines.
+ * <p>
+ * Created by {@link GameController#snapshot()} at a tick boundary and restored by
+ * {@link GameController#restore(GameSnapshot)}. A snapshot can be restored any number of times, taking periodic
+ * snapshots allows seeking to any tick of a game without simulating it from the start. Not included are the view, the
+ * sounds and the steering of Pac-Man, which must be positioned separately when replaying a recorded game.
+ * 
+ * @author Armin Reichert
+ */
+public record GameSnapshot(
+	//@formatter:off
+	Saved<PacManGameState> fsm,
+	PacManGame game,
+	boolean levelChangeComplete,
+	long levelChangeFlashingEnd,
+	long randomState,
+	long randomDraws,
+	BitSet eatenFood,
+	boolean worldFrozen,
+	boolean worldChanging,
+	boolean[] guysInWorld,
+	PacMan.Snapshot pacMan,
+	List<Ghost.Snapshot> ghosts,
+	GhostAttackController.Snapshot ghostCommand,
+	DoorMan.Snapshot doorMan,
+	BonusFoodController.Snapshot bonus
+	//@formatter:on
+) {
+}
@@ -25,7 +25,6 @@ package de.amr.games.pacmanfsm.controller.game;
 
 import static de.amr.games.pacmanfsm.controller.creatures.ghost.GhostState.CHASING;
 import static de.amr.games.pacmanfsm.controller.creatures.ghost.GhostState.SCATTERING;
-import static de.amr.games.pacmanfsm.controller.game.GameController.theGame;
 import static de.amr.games.pacmanfsm.controller.game.GhostAttackController.Phase.CHASE;
 import static de.amr.games.pacmanfsm.controller.game.GhostAttackController.Phase.PAUSED;
 import static de.amr.games.pacmanfsm.controller.game.GhostAttackController.Phase.SCATTER;
@@ -33,6 +32,8 @@ import static de.amr.games.pacmanfsm.controller.game.Timing.sec;
 
 import de.amr.games.pacmanfsm.controller.creatures.Folks;
 import de.amr.games.pacmanfsm.controller.game.GhostAttackController.Phase;
+import de.amr.games.pacmanfsm.lib.RestorableTimers;
+import de.amr.games.pacmanfsm.lib.RestorableTimers.Saved;
 import de.amr.statemachine.api.TransitionMatchStrategy;
 import de.amr.statemachine.core.MissingTransitionBehavior;
 import de.amr.statemachine.core.StateMachine;
@@ -67,6 +68,13 @@ public class GhostAttackController extends StateMachine<Phase, String> {
 		return times;
 	}
 
+	/**
+	 * Saved attack state. While paused, the timer progress of the paused state is saved too.
+	 */
+	public record Snapshot(Saved<Phase> fsm, int round, Saved<Phase> paused) {
+	}
+
+	private final RestorableTimers<Phase> timers = new RestorableTimers<>();
 	private Folks folks;
 	private int round;
 	private Phase pausedState;
@@ -124,11 +132,11 @@ public class GhostAttackController extends StateMachine<Phase, String> {
 			.initialState(SCATTER)
 		.states()
 			.state(SCATTER)
-				.timeoutAfter(() -> times(theGame().level).scatter)
+				.timeoutAfter(timers.timer(SCATTER, () -> times(folks.game().level).scatter))
 				.onTick(this::notifyGhosts)
 				.annotation(() -> "Round " + (round + 1))
 			.state(CHASE)
-				.timeoutAfter(() -> times(theGame().level).chase)
+				.timeoutAfter(timers.timer(CHASE, () -> times(folks.game().level).chase))
 				.onTick(this::notifyGhosts)
 				.annotation(() -> "Round " + (round + 1))
 			.state(PAUSED)
@@ -152,6 +160,17 @@ public class GhostAttackController extends StateMachine<Phase, String> {
 		super.init();
 	}
 
+	public Snapshot snapshot() {
+		return new Snapshot(timers.save(this), round, timers.save(this, pausedState));
+	}
+
+	public void restore(Snapshot snapshot) {
+		round = snapshot.round();
+		pausedState = snapshot.paused().state();
+		timers.restoreTimer(this, snapshot.paused());
+		timers.restore(this, snapshot.fsm());
+	}
+
 	public void pauseAttacking() {
 		process(EVENT_PAUSE);
 	}
@@ -27,25 +27,31 @@ import static de.amr.easy.game.Application.loginfo;
 import static de.amr.games.pacmanfsm.controller.creatures.ghost.GhostState.ENTERING_HOUSE;
 import static de.amr.games.pacmanfsm.controller.creatures.ghost.GhostState.LEAVING_HOUSE;
 import static de.amr.games.pacmanfsm.controller.creatures.ghost.GhostState.LOCKED;
-import static de.amr.games.pacmanfsm.controller.game.GameController.theGame;
 import static de.amr.games.pacmanfsm.controller.game.Timing.sec;
 import static de.amr.games.pacmanfsm.controller.ghosthouse.Decision.confirmed;
 import static de.amr.games.pacmanfsm.controller.ghosthouse.Decision.rejected;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import de.amr.easy.game.controller.Lifecycle;
 import de.amr.games.pacmanfsm.controller.creatures.Folks;
+import de.amr.games.pacmanfsm.controller.creatures.Guy;
 import de.amr.games.pacmanfsm.controller.creatures.ghost.Ghost;
+import de.amr.games.pacmanfsm.controller.creatures.ghost.GhostPersonality;
 import de.amr.games.pacmanfsm.controller.event.GhostUnlockedEvent;
-import de.amr.games.pacmanfsm.lib.Tile;
+import de.amr.games.pacmanfsm.model.world.api.TiledWorld;
 import de.amr.games.pacmanfsm.model.world.components.Door;
 import de.amr.games.pacmanfsm.model.world.components.Door.DoorState;
 import de.amr.games.pacmanfsm.model.world.components.House;
 
 /**
  * This class controls when and in which order locked ghosts can leave the ghost house.
+ * <p>
+ * If the world has several houses, the locked ghosts of each house are released in the order of the folks' ghost
+ * array. Each update costs time linear in the number of ghosts.
  * 
  * @author Armin Reichert
  * 
@@ -53,19 +59,45 @@ import de.amr.games.pacmanfsm.model.world.components.House;
  */
 public class DoorMan implements Lifecycle {
 
-	private final House house;
+	/**
+	 * Saved dot counters and Pac-Man's starving time.
+	 */
+	public record Snapshot(boolean globalCounterEnabled, int globalDots, int[] ghostCounters, int pacManStarvingTicks) {
+	}
+
 	private final Folks folks;
 	private final Ghost[] ghostPreference;
+	private final Door[][] doors;
+	private final int[][][] doorWatchTiles;
+	private final int[] houseIndex;
+	private final Ghost[] preferredLockedGhosts;
 	private final DotCounter globalCounter;
 	private final int[] ghostCounters;
 	private int pacManStarvingTicks;
 
 	public DoorMan(House house, Folks folks) {
-		this.house = house;
+		this(List.of(house), folks);
+	}
+
+	public DoorMan(List<House> houses, Folks folks) {
 		this.folks = folks;
-		ghostPreference = new Ghost[] { folks.blinky, folks.pinky, folks.inky, folks.clyde };
+		ghostPreference = folks.ghosts().toArray(Ghost[]::new);
+		doors = houses.stream().map(house -> house.doors().toArray(Door[]::new)).toArray(Door[][]::new);
+		doorWatchTiles = new int[doors.length][][];
+		for (int h = 0; h < doors.length; ++h) {
+			doorWatchTiles[h] = Arrays.stream(doors[h]).map(door -> watchTiles(folks.pacMan.world, door))
+					.toArray(int[][]::new);
+		}
+		houseIndex = new int[ghostPreference.length];
+		for (Ghost ghost : ghostPreference) {
+			houseIndex[ghost.index] = houses.indexOf(ghost.house);
+			if (houseIndex[ghost.index] == -1) {
+				throw new IllegalArgumentException(ghost.name + " does not live in any of the given houses");
+			}
+		}
+		preferredLockedGhosts = new Ghost[houses.size()];
 		globalCounter = new DotCounter();
-		ghostCounters = new int[4];
+		ghostCounters = new int[ghostPreference.length];
 	}
 
 	@Override
@@ -73,21 +105,42 @@ public class DoorMan implements Lifecycle {
 		globalCounter.enabled = false;
 		globalCounter.dots = 0;
 		resetGhostDotCounters();
-		house.doors().forEach(this::closeDoor);
+		closeAllDoors();
 	}
 
 	@Override
 	public void update() {
-		preferredLockedGhost().ifPresent(ghost -> {
-			Decision decision = decideIfGhostCanLeaveHouse(ghost);
-			if (decision.confirmed) {
-				loginfo(decision.reason);
-				unlock(ghost);
+		findPreferredLockedGhosts();
+		for (Ghost ghost : preferredLockedGhosts) {
+			if (ghost != null) {
+				Decision decision = decideIfGhostCanLeaveHouse(ghost);
+				if (decision.confirmed) {
+					loginfo(decision.reason);
+					unlock(ghost);
+				}
 			}
-		});
+		}
 		pacManStarvingTicks += 1;
-		house.doors().forEach(this::closeDoor);
-		house.doors().filter(this::isOpeningDoorRequested).forEach(this::openDoor);
+		for (int h = 0; h < doors.length; ++h) {
+			for (int d = 0; d < doors[h].length; ++d) {
+				if (isOpeningDoorRequested(doorWatchTiles[h][d])) {
+					openDoor(doors[h][d]);
+				} else {
+					closeDoor(doors[h][d]);
+				}
+			}
+		}
+	}
+
+	public Snapshot snapshot() {
+		return new Snapshot(globalCounter.enabled, globalCounter.dots, ghostCounters.clone(), pacManStarvingTicks);
+	}
+
+	public void restore(Snapshot snapshot) {
+		globalCounter.enabled = snapshot.globalCounterEnabled();
+		globalCounter.dots = snapshot.globalDots();
+		System.arraycopy(snapshot.ghostCounters(), 0, ghostCounters, 0, ghostCounters.length);
+		pacManStarvingTicks = snapshot.pacManStarvingTicks();
 	}
 
 	public void onPacManFoundFood() {
@@ -100,7 +153,12 @@ public class DoorMan implements Lifecycle {
 				loginfo("Global dot counter reset and disabled (Clyde was locked when counter reached 32)");
 			}
 		} else {
-			preferredLockedGhost().ifPresent(ghost -> ghostCounters[index(ghost)] += 1);
+			findPreferredLockedGhosts();
+			for (Ghost ghost : preferredLockedGhosts) {
+				if (ghost != null) {
+					ghostCounters[ghost.index] += 1;
+				}
+			}
 		}
 	}
 
@@ -115,7 +173,12 @@ public class DoorMan implements Lifecycle {
 	}
 
 	public boolean isPreferredLockedGhost(Ghost ghost) {
-		return preferredLockedGhost().orElse(null) == ghost;
+		for (Ghost other : ghostPreference) {
+			if (houseIndex[other.index] == houseIndex[ghost.index] && isLockedInWorld(other)) {
+				return other == ghost;
+			}
+		}
+		return false;
 	}
 
 	/**
@@ -137,50 +200,64 @@ public class DoorMan implements Lifecycle {
 	}
 
 	public int ghostDotCount(Ghost ghost) {
-		return ghostCounters[index(ghost)];
+		return ghostCounters[ghost.index];
 	}
 
 	public int personalDotLimit(Ghost ghost) {
-		if (ghost == folks.pinky) {
-			return 0;
-		}
-		if (ghost == folks.inky) {
-			return theGame().level == 1 ? 30 : 0;
-		}
-		if (ghost == folks.clyde) {
-			return switch (theGame().level) {
-			case 1 -> 60;
-			case 2 -> 50;
-			default -> 0;
-			};
-		}
-		throw new IllegalArgumentException("Ghost must be either Pinky, Inky or Clyde");
+		return switch (ghost.personality) {
+		case SPEEDY -> 0;
+		case BASHFUL -> folks.game().level == 1 ? 30 : 0;
+		case POKEY -> folks.game().level == 1 ? 60 : folks.game().level == 2 ? 50 : 0;
+		default -> throw new IllegalArgumentException("Ghost must be like either Pinky, Inky or Clyde");
+		};
 	}
 
 	public int globalDotLimit(Ghost ghost) {
-		if (ghost == folks.pinky) {
-			return 7;
-		}
-		if (ghost == folks.inky) {
-			return 17;
-		}
-		if (ghost == folks.clyde) {
-			return 32;
-		}
-		throw new IllegalArgumentException("Ghost must be either Pinky, Inky or Clyde");
+		return switch (ghost.personality) {
+		case SPEEDY -> 7;
+		case BASHFUL -> 17;
+		case POKEY -> 32;
+		default -> throw new IllegalArgumentException("Ghost must be like either Pinky, Inky or Clyde");
+		};
 	}
 
 	public int pacManStarvingTicks() {
 		return pacManStarvingTicks;
 	}
 
+	/**
+	 * @return the first locked ghost in preference order over all houses
+	 */
 	public Optional<Ghost> preferredLockedGhost() {
-		//@formatter:off
-		return Arrays.stream(ghostPreference)
-			.filter(ghost -> ghost.world.contains(ghost))
-			.filter(ghost -> ghost.ai.is(LOCKED))
-			.findFirst();
-		//@formatter:on
+		for (Ghost ghost : ghostPreference) {
+			if (isLockedInWorld(ghost)) {
+				return Optional.of(ghost);
+			}
+		}
+		return Optional.empty();
+	}
+
+	// finds the preferred locked ghost of each house in a single pass over all ghosts
+	private void findPreferredLockedGhosts() {
+		Arrays.fill(preferredLockedGhosts, null);
+		for (Ghost ghost : ghostPreference) {
+			int house = houseIndex[ghost.index];
+			if (preferredLockedGhosts[house] == null && isLockedInWorld(ghost)) {
+				preferredLockedGhosts[house] = ghost;
+			}
+		}
+	}
+
+	private boolean isLockedInWorld(Ghost ghost) {
+		return ghost.world.contains(ghost) && ghost.ai.is(LOCKED);
+	}
+
+	private void closeAllDoors() {
+		for (Door[] houseDoors : doors) {
+			for (Door door : houseDoors) {
+				closeDoor(door);
+			}
+		}
 	}
 
 	public void closeDoor(Door door) {
@@ -196,30 +273,35 @@ public class DoorMan implements Lifecycle {
 		loginfo("Ghost dot counters have been reset to zero");
 	}
 
-	private int index(Ghost ghost) {
-		return ghost.personality.ordinal();
-	}
-
 	private void unlock(Ghost ghost) {
 		ghost.ai.process(new GhostUnlockedEvent());
 	}
 
-	private boolean isOpeningDoorRequested(Door door) {
-		//@formatter:off
-		return folks.ghostsInWorld()
-			.filter(ghost -> ghost.ai.is(ENTERING_HOUSE, LEAVING_HOUSE))
-			.anyMatch(ghost -> isGhostNearDoor(ghost, door));
-		//@formatter:on
+	/*
+	 * A ghost is near a door if it is on a door tile or on the tile before or behind a door tile. These tiles are
+	 * computed once, so checking a door costs the same for any number of ghosts in the world.
+	 */
+	private static int[] watchTiles(TiledWorld world, Door door) {
+		return door.tiles().flatMap(tile -> Stream.of(tile, world.neighbor(tile, door.intoHouse),
+				world.neighbor(tile, door.intoHouse.opposite()))).mapToInt(world::index).filter(i -> i != TiledWorld.NO_TILE)
+				.distinct().toArray();
+	}
+
+	private boolean isOpeningDoorRequested(int[] watchTiles) {
+		for (int tile : watchTiles) {
+			if (folks.occupancy.anyAt(tile, this::isGhostPassingDoor)) {
+				return true;
+			}
+		}
+		return false;
 	}
 
-	private boolean isGhostNearDoor(Ghost ghost, Door door) {
-		Tile fromGhostTowardsHouse = ghost.world.neighbor(ghost.tile(), door.intoHouse);
-		Tile fromGhostAwayFromHouse = ghost.world.neighbor(ghost.tile(), door.intoHouse.opposite());
-		return door.includes(ghost.tile()) || door.includes(fromGhostAwayFromHouse) || door.includes(fromGhostTowardsHouse);
+	private boolean isGhostPassingDoor(Guy guy) {
+		return guy instanceof Ghost ghost && ghost.world.contains(ghost) && ghost.ai.is(ENTERING_HOUSE, LEAVING_HOUSE);
 	}
 
 	private long pacManStarvingTimeLimit() {
-		return theGame().level < 5 ? sec(4) : sec(3);
+		return folks.game().level < 5 ? sec(4) : sec(3);
 	}
 
 	/**
@@ -232,7 +314,7 @@ public class DoorMan implements Lifecycle {
 		if (!ghost.ai.is(LOCKED)) {
 			return confirmed("Ghost is not locked, can leave house");
 		}
-		if (ghost == folks.blinky) {
+		if (ghost.personality == GhostPersonality.SHADOW) {
 			return confirmed("%s can always leave house", ghost.name);
 		}
 		if (pacManStarvingTicks >= pacManStarvingTimeLimit()) {
@@ -247,7 +329,7 @@ public class DoorMan implements Lifecycle {
 			}
 		} else {
 			int personalLimit = personalDotLimit(ghost);
-			if (ghostCounters[index(ghost)] >= personalLimit) {
+			if (ghostCounters[ghost.index] >= personalLimit) {
 				return confirmed("%s can leave house: ghost's dot limit (%d) reached", ghost.name, personalLimit);
 			}
 		}
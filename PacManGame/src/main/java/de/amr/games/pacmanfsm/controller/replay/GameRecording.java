@@ -0,0 +1,364 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.controller.replay;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import de.amr.games.pacmanfsm.PacManApp.PacManAppSettings;
+import de.amr.games.pacmanfsm.lib.Direction;
+
+/**
+ * Recording of a game: seed, start level, the settings affecting the game logic, checksums of the maze and level table
+ * and the sequence of Pac-Man steering decisions.
+ * <p>
+ * For each steering call, the resulting wish direction and the number of random draws made by the steering are
+ * recorded. Equal consecutive entries are run-length encoded and all numbers are written as unsigned varints, so a
+ * keyboard-steered game over many levels takes only a few kilobytes.
+ * 
+ * <pre>
+ * file     = magic("PMR2") header input* END varint(score) varint(level)
+ * header   = varint(zigzag(seed)) varint(startLevel) byte(flags) varint(ghosts) varint(mazeCRC) varint(levelTableCRC)
+ * input    = varint(draws &lt;&lt; 3 | dir) varint(repetitions)
+ * dir      = 0..3 (direction ordinal) | 4 (no direction)
+ * END      = varint(7)
+ * </pre>
+ * 
+ * @author Armin Reichert
+ */
+public class GameRecording {
+
+	private static final byte[] MAGIC = { 'P', 'M', 'R', '2' };
+	private static final int NO_DIR = 4;
+	private static final int END = 7;
+
+	private static final int GHOSTS_HARMLESS = 1;
+	private static final int GHOSTS_SAFE_CORNER = 2;
+	private static final int FIX_OVERFLOW_BUG = 4;
+	private static final int PACMAN_IMMORTABLE = 8;
+	private static final int GRID_ALIGNED = 16;
+	private static final int PATH_TABLE = 32;
+
+	/**
+	 * Reads the recorded steering decisions one by one.
+	 */
+	public class InputReader {
+
+		private int position;
+		private long code;
+		private long remaining;
+
+		/**
+		 * Advances to the next steering decision.
+		 * 
+		 * @return {@code false} if all decisions have been read
+		 */
+		public boolean next() {
+			if (remaining == 0) {
+				if (position >= inputSize) {
+					return false;
+				}
+				ByteBuffer buffer = ByteBuffer.wrap(input, position, inputSize - position);
+				code = readVarint(buffer);
+				remaining = readVarint(buffer);
+				position = buffer.position();
+			}
+			--remaining;
+			return true;
+		}
+
+		/**
+		 * @return wish direction after the current steering decision or {@code null}
+		 */
+		public Direction dir() {
+			int dir = (int) (code & 7);
+			return dir == NO_DIR ? null : Direction.values()[dir];
+		}
+
+		/**
+		 * @return number of random draws made by the current steering decision
+		 */
+		public long draws() {
+			return code >>> 3;
+		}
+	}
+
+	public final long seed;
+	public final int startLevel;
+	public final boolean gridAligned;
+	public final int ghosts;
+	public final long mazeChecksum;
+	public final long levelTableChecksum;
+	private final int flags;
+	private byte[] input = new byte[1024];
+	private int inputSize;
+	private long lastCode = -1;
+	private long repetitions;
+	private int score;
+	private int level;
+
+	/**
+	 * Creates an empty recording.
+	 * 
+	 * @param seed               seed of the world's random generator at game start
+	 * @param settings           settings of the recorded game
+	 * @param gridAligned        if the recorded Pac-Man steering requires grid alignment
+	 * @param mazeChecksum       checksum of the maze of the recorded game
+	 * @param levelTableChecksum checksum of the level table of the recorded game
+	 */
+	public GameRecording(long seed, PacManAppSettings settings, boolean gridAligned, long mazeChecksum,
+			long levelTableChecksum) {
+		this.seed = seed;
+		this.startLevel = settings.startLevel;
+		this.gridAligned = gridAligned;
+		this.ghosts = settings.ghosts;
+		this.mazeChecksum = mazeChecksum;
+		this.levelTableChecksum = levelTableChecksum;
+		int bits = 0;
+		bits |= settings.ghostsHarmless ? GHOSTS_HARMLESS : 0;
+		bits |= settings.ghostsSafeCorner ? GHOSTS_SAFE_CORNER : 0;
+		bits |= settings.fixOverflowBug ? FIX_OVERFLOW_BUG : 0;
+		bits |= settings.pacManImmortable ? PACMAN_IMMORTABLE : 0;
+		bits |= gridAligned ? GRID_ALIGNED : 0;
+		bits |= settings.pathTable ? PATH_TABLE : 0;
+		flags = bits;
+	}
+
+	private GameRecording(long seed, int startLevel, int flags, int ghosts, long mazeChecksum, long levelTableChecksum) {
+		this.seed = seed;
+		this.startLevel = startLevel;
+		this.flags = flags;
+		this.gridAligned = (flags & GRID_ALIGNED) != 0;
+		this.ghosts = ghosts;
+		this.mazeChecksum = mazeChecksum;
+		this.levelTableChecksum = levelTableChecksum;
+	}
+
+	/**
+	 * Applies the recorded settings that affect the game logic.
+	 * 
+	 * @param settings settings to change
+	 */
+	public void applyTo(PacManAppSettings settings) {
+		settings.startLevel = startLevel;
+		settings.ghostsHarmless = (flags & GHOSTS_HARMLESS) != 0;
+		settings.ghostsSafeCorner = (flags & GHOSTS_SAFE_CORNER) != 0;
+		settings.fixOverflowBug = (flags & FIX_OVERFLOW_BUG) != 0;
+		settings.pacManImmortable = (flags & PACMAN_IMMORTABLE) != 0;
+		settings.pathTable = (flags & PATH_TABLE) != 0;
+		settings.ghosts = ghosts;
+	}
+
+	/**
+	 * Checks that the game is replayed with the maze and level table it was recorded with.
+	 * 
+	 * @param mazeChecksum       checksum of the current maze
+	 * @param levelTableChecksum checksum of the current level table
+	 * @throws IllegalStateException if the maze or level table differs from the recorded one
+	 */
+	public void checkContent(long mazeChecksum, long levelTableChecksum) {
+		if (mazeChecksum != this.mazeChecksum) {
+			throw new IllegalStateException("Game was recorded with a different maze, use the same -maze setting");
+		}
+		if (levelTableChecksum != this.levelTableChecksum) {
+			throw new IllegalStateException("Game was recorded with a different level table, use the same -levels setting");
+		}
+	}
+
+	/**
+	 * Adds a steering decision.
+	 * 
+	 * @param dir   wish direction after steering or {@code null}
+	 * @param draws number of random draws made by the steering
+	 */
+	public void addInput(Direction dir, long draws) {
+		addRun(draws << 3 | (dir == null ? NO_DIR : dir.ordinal()), 1);
+	}
+
+	/**
+	 * Stores the result of the recorded game.
+	 * 
+	 * @param score final score
+	 * @param level final level
+	 */
+	public void setResult(int score, int level) {
+		this.score = score;
+		this.level = level;
+	}
+
+	public int score() {
+		return score;
+	}
+
+	public int level() {
+		return level;
+	}
+
+	/**
+	 * @return new reader positioned before the first steering decision
+	 */
+	public InputReader reader() {
+		flushRun();
+		return new InputReader();
+	}
+
+	/**
+	 * Writes this recording to the given file.
+	 * 
+	 * @param path file path
+	 * @throws IOException if writing fails
+	 */
+	public void save(Path path) throws IOException {
+		flushRun();
+		ByteBuffer buffer = ByteBuffer.allocate(MAGIC.length + 7 * 10 + 1 + inputSize);
+		buffer.put(MAGIC);
+		writeVarint(buffer, seed << 1 ^ seed >> 63);
+		writeVarint(buffer, startLevel);
+		buffer.put((byte) flags);
+		writeVarint(buffer, ghosts);
+		writeVarint(buffer, mazeChecksum);
+		writeVarint(buffer, levelTableChecksum);
+		buffer.put(input, 0, inputSize);
+		writeVarint(buffer, END);
+		writeVarint(buffer, score);
+		writeVarint(buffer, level);
+		buffer.flip();
+		try (FileChannel channel = FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+	}
+
+	/**
+	 * Reads a recording from the given file.
+	 * 
+	 * @param path file path
+	 * @return the recording
+	 * @throws IOException if reading fails or the file is no valid recording
+	 */
+	public static GameRecording load(Path path) throws IOException {
+		ByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(path, READ)) {
+			buffer = ByteBuffer.allocate((int) channel.size());
+			while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+				// read until buffer is full
+			}
+		}
+		buffer.flip();
+		try {
+			byte[] magic = new byte[MAGIC.length];
+			buffer.get(magic);
+			if (!Arrays.equals(magic, MAGIC)) {
+				throw new IOException("Not a game recording: " + path);
+			}
+			long zigzag = readVarint(buffer);
+			long seed = zigzag >>> 1 ^ -(zigzag & 1);
+			int startLevel = (int) readVarint(buffer);
+			int flags = buffer.get();
+			int ghosts = (int) readVarint(buffer);
+			long mazeChecksum = readVarint(buffer);
+			long levelTableChecksum = readVarint(buffer);
+			GameRecording recording = new GameRecording(seed, startLevel, flags, ghosts, mazeChecksum, levelTableChecksum);
+			while (true) {
+				long code = readVarint(buffer);
+				if (code == END) {
+					break;
+				}
+				recording.addRun(code, readVarint(buffer));
+			}
+			recording.flushRun();
+			recording.score = (int) readVarint(buffer);
+			recording.level = (int) readVarint(buffer);
+			return recording;
+		} catch (BufferUnderflowException | IllegalStateException x) {
+			throw new IOException("Game recording is truncated: " + path);
+		}
+	}
+
+	/**
+	 * @return size of the encoded steering decisions in bytes
+	 */
+	public int inputSize() {
+		flushRun();
+		return inputSize;
+	}
+
+	private void addRun(long code, long count) {
+		if (code == lastCode) {
+			repetitions += count;
+		} else {
+			flushRun();
+			lastCode = code;
+			repetitions = count;
+		}
+	}
+
+	private void flushRun() {
+		if (repetitions > 0) {
+			ensureCapacity(inputSize + 20);
+			ByteBuffer buffer = ByteBuffer.wrap(input, inputSize, input.length - inputSize);
+			writeVarint(buffer, lastCode);
+			writeVarint(buffer, repetitions);
+			inputSize = buffer.position();
+			repetitions = 0;
+			lastCode = -1;
+		}
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (input.length < capacity) {
+			input = Arrays.copyOf(input, Math.max(capacity, 2 * input.length));
+		}
+	}
+
+	private static void writeVarint(ByteBuffer buffer, long value) {
+		while ((value & ~0x7FL) != 0) {
+			buffer.put((byte) (value & 0x7F | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+
+	private static long readVarint(ByteBuffer buffer) {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = buffer.get();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IllegalStateException("Malformed varint");
+	}
+}
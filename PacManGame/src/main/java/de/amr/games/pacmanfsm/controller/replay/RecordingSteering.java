@@ -0,0 +1,106 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.controller.replay;
+
+import java.util.List;
+import java.util.Optional;
+
+import de.amr.games.pacmanfsm.controller.creatures.Guy;
+import de.amr.games.pacmanfsm.controller.steering.api.Steering;
+import de.amr.games.pacmanfsm.lib.CountingRandom;
+import de.amr.games.pacmanfsm.lib.Tile;
+
+/**
+ * Steering that records the decisions of another steering.
+ * 
+ * @author Armin Reichert
+ */
+public class RecordingSteering implements Steering {
+
+	private final Steering delegate;
+	private final GameRecording recording;
+	private final CountingRandom random;
+
+	/**
+	 * @param delegate  the recorded steering
+	 * @param recording the recording
+	 * @param random    the random generator used by the game
+	 */
+	public RecordingSteering(Steering delegate, GameRecording recording, CountingRandom random) {
+		this.delegate = delegate;
+		this.recording = recording;
+		this.random = random;
+	}
+
+	public Steering delegate() {
+		return delegate;
+	}
+
+	@Override
+	public void steer(Guy guy) {
+		long draws = random.draws();
+		delegate.steer(guy);
+		recording.addInput(guy.wishDir, random.draws() - draws);
+	}
+
+	@Override
+	public void init() {
+		delegate.init();
+	}
+
+	@Override
+	public void force() {
+		delegate.force();
+	}
+
+	@Override
+	public boolean isComplete() {
+		return delegate.isComplete();
+	}
+
+	@Override
+	public boolean requiresGridAlignment() {
+		return delegate.requiresGridAlignment();
+	}
+
+	@Override
+	public Optional<Tile> targetTile() {
+		return delegate.targetTile();
+	}
+
+	@Override
+	public List<Tile> pathToTarget() {
+		return delegate.pathToTarget();
+	}
+
+	@Override
+	public void setPathComputed(boolean enabled) {
+		delegate.setPathComputed(enabled);
+	}
+
+	@Override
+	public boolean isPathComputed() {
+		return delegate.isPathComputed();
+	}
+}
@@ -0,0 +1,73 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.controller.replay;
+
+import de.amr.games.pacmanfsm.controller.creatures.Guy;
+import de.amr.games.pacmanfsm.controller.replay.GameRecording.InputReader;
+import de.amr.games.pacmanfsm.controller.steering.api.Steering;
+import de.amr.games.pacmanfsm.lib.CountingRandom;
+
+/**
+ * Steering that replays recorded steering decisions. The random generator is advanced by the number of draws the
+ * recorded steering made, so the rest of the game takes the same random decisions as the recorded game.
+ * 
+ * @author Armin Reichert
+ */
+public class ReplayingSteering implements Steering {
+
+	private final GameRecording recording;
+	private final InputReader reader;
+	private final CountingRandom random;
+	private boolean complete;
+
+	/**
+	 * @param recording the recording
+	 * @param random    the random generator used by the game
+	 */
+	public ReplayingSteering(GameRecording recording, CountingRandom random) {
+		this.recording = recording;
+		this.reader = recording.reader();
+		this.random = random;
+	}
+
+	@Override
+	public void steer(Guy guy) {
+		if (reader.next()) {
+			random.skip(reader.draws());
+			guy.wishDir = reader.dir();
+		} else {
+			complete = true;
+		}
+	}
+
+	@Override
+	public boolean isComplete() {
+		return complete;
+	}
+
+	@Override
+	public boolean requiresGridAlignment() {
+		return recording.gridAligned;
+	}
+}
@@ -86,6 +86,9 @@ public interface Steering {
 	}
 
 	/**
+	 * The returned list may be a read-only view that the steering reuses. It is only valid until the next call of
+	 * {@link #steer(Guy)}, callers that keep the path must copy it.
+	 * 
 	 * @return the path from the current position of the mover to its current target tile
 	 */
 	default List<Tile> pathToTarget() {
@@ -0,0 +1,62 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.controller.steering.common;
+
+import de.amr.games.pacmanfsm.controller.creatures.Guy;
+import de.amr.games.pacmanfsm.controller.steering.api.Steering;
+import de.amr.games.pacmanfsm.lib.Direction;
+
+/**
+ * Steers a mover like {@link FollowingKeys} but the direction is commanded by a program, for example an agent, instead
+ * of the keyboard. The commanded direction stays in effect until another direction is commanded.
+ * 
+ * @author Armin Reichert
+ */
+public class FollowingCommands implements Steering {
+
+	private Direction command;
+
+	/**
+	 * @param dir direction to move to or {@code null} to keep the current wish direction
+	 */
+	public void command(Direction dir) {
+		command = dir;
+	}
+
+	public Direction command() {
+		return command;
+	}
+
+	@Override
+	public void steer(Guy guy) {
+		if (command != null) {
+			guy.wishDir = command;
+		}
+	}
+
+	@Override
+	public boolean requiresGridAlignment() {
+		return true;
+	}
+}
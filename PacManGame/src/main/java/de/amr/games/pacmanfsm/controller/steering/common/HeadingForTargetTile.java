@@ -27,9 +27,9 @@ import static de.amr.games.pacmanfsm.lib.Direction.DOWN;
 import static de.amr.games.pacmanfsm.lib.Direction.LEFT;
 import static de.amr.games.pacmanfsm.lib.Direction.RIGHT;
 import static de.amr.games.pacmanfsm.lib.Direction.UP;
-import static java.util.Comparator.comparing;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -51,7 +51,8 @@ import de.amr.games.pacmanfsm.lib.Tile;
  */
 public class HeadingForTargetTile implements Steering {
 
-	private static final List<Direction> DIRECTION_ORDER = List.of(UP, LEFT, DOWN, RIGHT);
+	/** Order in which directions are tried, the first direction wins if distances are equal. */
+	private static final Direction[] DIRECTION_ORDER = { UP, LEFT, DOWN, RIGHT };
 
 	/**
 	 * Computes the next direction to take for reaching the target tile as described
@@ -67,25 +68,37 @@ public class HeadingForTargetTile implements Steering {
 	 * @param target  target tile
 	 */
 	private static Direction bestDirTowardsTarget(Guy guy, Direction moveDir, Tile tile, Tile target) {
-		/*@formatter:off*/
-		return Direction.dirs()
-			.filter(dir -> dir != moveDir.opposite())
-			.filter(dir -> guy.canMoveBetween(tile, guy.world.neighbor(tile, dir)))
-			.sorted(comparing((Direction dir) -> guy.world.neighbor(tile, dir).distance(target))
-					.thenComparing(DIRECTION_ORDER::indexOf))
-			.findFirst()
-			.orElse(moveDir);
-		/*@formatter:on*/
+		Direction reverseDir = moveDir.opposite();
+		Direction bestDir = moveDir;
+		int bestDistance = Integer.MAX_VALUE;
+		for (Direction dir : DIRECTION_ORDER) {
+			if (dir == reverseDir) {
+				continue;
+			}
+			Tile neighbor = guy.world.neighbor(tile, dir);
+			if (guy.canMoveBetween(tile, neighbor)) {
+				// squared distance has the same order as Euclidean distance
+				int dx = neighbor.col - target.col;
+				int dy = neighbor.row - target.row;
+				int distance = dx * dx + dy * dy;
+				if (distance < bestDistance) {
+					bestDir = dir;
+					bestDistance = distance;
+				}
+			}
+		}
+		return bestDir;
 	}
 
 	private final Supplier<Tile> fnTargetTile;
-	private List<Tile> path;
+	private final List<Tile> path = new ArrayList<>();
+	private final List<Tile> pathView = Collections.unmodifiableList(path);
+	private final BitSet pathTiles = new BitSet();
 	private boolean pathComputed;
 	private boolean forced;
 
 	public HeadingForTargetTile(Supplier<Tile> fnTargetTile) {
 		this.fnTargetTile = Objects.requireNonNull(fnTargetTile);
-		path = Collections.emptyList();
 	}
 
 	@Override
@@ -111,20 +124,25 @@ public class HeadingForTargetTile implements Steering {
 	 */
 	private void updatePath(Guy guy, Tile target) {
 		if (target != null) {
-			path = new ArrayList<>();
+			path.clear();
+			pathTiles.clear();
 			Direction dir = guy.moveDir;
 			Tile next = guy.tile();
-			while (!next.equals(target) && guy.world.includes(next) && !path.contains(next)) {
+			while (!next.equals(target) && guy.world.includes(next) && !pathTiles.get(guy.world.index(next))) {
 				path.add(next);
+				pathTiles.set(guy.world.index(next));
 				dir = bestDirTowardsTarget(guy, dir, next, target);
 				next = guy.world.neighbor(next, dir);
 			}
 		}
 	}
 
+	/**
+	 * @return read-only view of the path, only valid until the next call of {@link #steer(Guy)}
+	 */
 	@Override
 	public List<Tile> pathToTarget() {
-		return Collections.unmodifiableList(path);
+		return pathView;
 	}
 
 	@Override
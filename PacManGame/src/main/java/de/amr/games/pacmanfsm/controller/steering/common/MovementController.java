@@ -33,6 +33,8 @@ import static de.amr.games.pacmanfsm.lib.Direction.RIGHT;
 import static de.amr.games.pacmanfsm.lib.Direction.UP;
 
 import de.amr.games.pacmanfsm.controller.creatures.Guy;
+import de.amr.games.pacmanfsm.lib.RestorableTimers;
+import de.amr.games.pacmanfsm.lib.RestorableTimers.Saved;
 import de.amr.games.pacmanfsm.lib.Tile;
 import de.amr.games.pacmanfsm.model.world.components.Portal;
 import de.amr.statemachine.core.StateMachine;
@@ -44,6 +46,13 @@ import de.amr.statemachine.core.StateMachine;
  */
 public class MovementController extends StateMachine<MovementType, Void> {
 
+	/**
+	 * Saved movement state.
+	 */
+	public record Snapshot(Saved<MovementType> fsm, Portal portalEntered, Tile portalExitTile) {
+	}
+
+	private final RestorableTimers<MovementType> timers = new RestorableTimers<>();
 	private Portal portalEntered;
 	private Tile portalExitTile;
 
@@ -64,7 +73,7 @@ public class MovementController extends StateMachine<MovementType, Void> {
 						checkPortalEnteredBy(guy);
 					})
 				.state(INSIDE_PORTAL)
-					.timeoutAfter(sec(1.0f))
+					.timeoutAfter(timers.timer(INSIDE_PORTAL, sec(1.0f)))
 					.onEntry(() -> guy.visible = false)
 					.onExit(() -> guy.visible = true)
 			.transitions()
@@ -79,6 +88,16 @@ public class MovementController extends StateMachine<MovementType, Void> {
 		//@formatter:on
 	}
 
+	public Snapshot snapshot() {
+		return new Snapshot(timers.save(this), portalEntered, portalExitTile);
+	}
+
+	public void restore(Snapshot snapshot) {
+		timers.restore(this, snapshot.fsm());
+		portalEntered = snapshot.portalEntered();
+		portalExitTile = snapshot.portalExitTile();
+	}
+
 	private void checkPortalEnteredBy(Guy guy) {
 		Tile tile = guy.tile();
 		guy.world.portals().filter(portal -> portal.includes(tile)).findFirst().ifPresent(portal -> {
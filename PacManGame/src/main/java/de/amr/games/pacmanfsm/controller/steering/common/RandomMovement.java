@@ -40,7 +40,7 @@ public class RandomMovement implements Steering {
 	public void steer(Guy guy) {
 		if (forced || !guy.canMoveTo(guy.moveDir) || guy.enteredNewTile && guy.world.isIntersection(guy.tile())) {
 			/*@formatter:off*/
-			Direction.dirsShuffled()
+			Direction.dirsShuffled(guy.world.random())
 				.filter(dir -> dir != guy.moveDir.opposite())
 				.filter(guy::canMoveTo)
 				.findFirst()
@@ -0,0 +1,95 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.lib;
+
+import java.util.Random;
+
+/**
+ * Random generator that counts how often its state has been advanced. Replaying a recorded game uses this to advance
+ * the generator exactly as far as the recorded game did, without reproducing the calls that consumed the numbers.
+ * <p>
+ * Uses the same linear congruential generator as {@link Random} but keeps the seed accessible such that the generator
+ * state can be saved and restored.
+ * 
+ * @author Armin Reichert
+ */
+public class CountingRandom extends Random {
+
+	private static final long MULTIPLIER = 0x5DEECE66DL;
+	private static final long ADDEND = 0xBL;
+	private static final long MASK = (1L << 48) - 1;
+
+	// not initialized here because the super constructor calls setSeed()
+	private long seed;
+	private long draws;
+
+	@Override
+	public synchronized void setSeed(long seed) {
+		this.seed = (seed ^ MULTIPLIER) & MASK;
+		super.setSeed(seed);
+	}
+
+	@Override
+	protected int next(int bits) {
+		++draws;
+		seed = (seed * MULTIPLIER + ADDEND) & MASK;
+		return (int) (seed >>> (48 - bits));
+	}
+
+	/**
+	 * @return the internal generator state, can be passed to {@link #setState(long, long)}
+	 */
+	public long state() {
+		return seed;
+	}
+
+	/**
+	 * Restores the generator state and draw count.
+	 * 
+	 * @param state internal generator state as returned by {@link #state()}
+	 * @param draws draw count as returned by {@link #draws()}
+	 */
+	public void setState(long state, long draws) {
+		this.seed = state & MASK;
+		this.draws = draws;
+	}
+
+	/**
+	 * @return number of times the generator state has been advanced since creation
+	 */
+	public long draws() {
+		return draws;
+	}
+
+	/**
+	 * Advances the generator state as if the given number of draws had been made.
+	 * 
+	 * @param n number of draws to skip
+	 */
+	public void skip(long n) {
+		for (long i = 0; i < n; ++i) {
+			next(32);
+		}
+	}
+}
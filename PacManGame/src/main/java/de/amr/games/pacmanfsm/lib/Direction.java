@@ -52,13 +52,29 @@ public enum Direction {
 	}
 
 	public static Stream<Direction> dirsShuffled() {
+		return dirsShuffled(RND);
+	}
+
+	/**
+	 * @param rnd source of randomness
+	 * @return stream of all directions in an order determined by the given random generator
+	 */
+	public static Stream<Direction> dirsShuffled(Random rnd) {
 		List<Direction> dirs = Arrays.asList(Direction.values());
-		Collections.shuffle(dirs);
+		Collections.shuffle(dirs, rnd);
 		return dirs.stream();
 	}
 
 	public static Direction random() {
-		return values()[RND.nextInt(4)];
+		return random(RND);
+	}
+
+	/**
+	 * @param rnd source of randomness
+	 * @return direction selected by the given random generator
+	 */
+	public static Direction random(Random rnd) {
+		return values()[rnd.nextInt(4)];
 	}
 
 	private final V2f vector;
@@ -0,0 +1,172 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.lib;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import de.amr.statemachine.core.State;
+import de.amr.statemachine.core.StateMachine;
+
+/**
+ * Timers of a state machine whose progress can be saved and restored. The state machine library computes the duration
+ * of a state by calling its timer function when the state is entered and offers no way to set the ticks consumed so
+ * far. Timer functions created here can be told to return the saved number of remaining ticks once, and the ticks
+ * consumed before the restore are added by {@link #ticksConsumed(StateMachine)}.
+ * <p>
+ * States without a timer created here are restored without their timer progress.
+ * 
+ * @param <S> state identifier type
+ * 
+ * @author Armin Reichert
+ */
+public class RestorableTimers<S> {
+
+	/**
+	 * Saved state and timer progress of a state machine.
+	 */
+	public record Saved<S> (S state, long ticksConsumed, long ticksRemaining) {
+	}
+
+	private static final long NONE = -1;
+
+	private class Timer implements Supplier<Long> {
+
+		private final Supplier<Long> fnTicks;
+		private long restoredTicks = NONE;
+		private long consumedBeforeRestore;
+
+		Timer(Supplier<Long> fnTicks) {
+			this.fnTicks = fnTicks;
+		}
+
+		@Override
+		public Long get() {
+			if (restoredTicks != NONE) {
+				long ticks = restoredTicks;
+				restoredTicks = NONE;
+				return ticks;
+			}
+			consumedBeforeRestore = 0;
+			return fnTicks.get();
+		}
+	}
+
+	private final Map<S, Timer> timers = new HashMap<>();
+
+	/**
+	 * @param state   state identifier
+	 * @param fnTicks timer function computing the duration of the state in ticks
+	 * @return restorable timer function to be used for the state
+	 */
+	public Supplier<Long> timer(S state, Supplier<Long> fnTicks) {
+		Timer timer = new Timer(fnTicks);
+		timers.put(state, timer);
+		return timer;
+	}
+
+	/**
+	 * @param state state identifier
+	 * @param ticks duration of the state in ticks
+	 * @return restorable timer function to be used for the state
+	 */
+	public Supplier<Long> timer(S state, long ticks) {
+		return timer(state, () -> ticks);
+	}
+
+	/**
+	 * Timer for a state that never times out but whose consumed ticks are used by the state logic.
+	 * 
+	 * @param state state identifier
+	 * @return restorable timer function to be used for the state
+	 */
+	public Supplier<Long> endless(S state) {
+		return timer(state, Long.MAX_VALUE);
+	}
+
+	/**
+	 * @param fsm state machine
+	 * @return ticks consumed in the current state, including the ticks consumed before the last restore
+	 */
+	public long ticksConsumed(StateMachine<S, ?> fsm) {
+		return ticksConsumed(fsm, fsm.getState());
+	}
+
+	private long ticksConsumed(StateMachine<S, ?> fsm, S state) {
+		Timer timer = timers.get(state);
+		long consumed = fsm.state(state).getTicksConsumed();
+		return timer != null ? timer.consumedBeforeRestore + consumed : consumed;
+	}
+
+	/**
+	 * @param fsm state machine
+	 * @return current state and timer progress of the state machine
+	 */
+	public Saved<S> save(StateMachine<S, ?> fsm) {
+		return save(fsm, fsm.getState());
+	}
+
+	/**
+	 * @param fsm   state machine
+	 * @param state some state, not necessarily the current one
+	 * @return the state and its timer progress
+	 */
+	public Saved<S> save(StateMachine<S, ?> fsm, S state) {
+		if (state == null) {
+			return new Saved<>(null, 0, 0);
+		}
+		return new Saved<>(state, ticksConsumed(fsm, state), fsm.state(state).getTicksRemaining());
+	}
+
+	/**
+	 * Puts the state machine into the saved state without executing any entry or exit actions.
+	 * 
+	 * @param fsm   state machine
+	 * @param saved saved state and timer progress
+	 */
+	public void restore(StateMachine<S, ?> fsm, Saved<S> saved) {
+		if (saved.state() != null) {
+			fsm.resumeState(saved.state());
+			restoreTimer(fsm, saved);
+		}
+	}
+
+	/**
+	 * Restores the timer progress of the saved state without changing the current state.
+	 * 
+	 * @param fsm   state machine
+	 * @param saved saved state and timer progress
+	 */
+	public void restoreTimer(StateMachine<S, ?> fsm, Saved<S> saved) {
+		Timer timer = saved.state() != null ? timers.get(saved.state()) : null;
+		if (timer != null) {
+			State<S> state = fsm.state(saved.state());
+			timer.restoredTicks = saved.ticksRemaining();
+			state.resetTimer();
+			timer.restoredTicks = NONE;
+			timer.consumedBeforeRestore = saved.ticksConsumed() - state.getTicksConsumed();
+		}
+	}
+}
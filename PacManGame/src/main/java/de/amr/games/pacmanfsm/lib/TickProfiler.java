@@ -0,0 +1,254 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.lib;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of named phases of a game tick, each with a nanosecond timer keeping the most recent samples for rolling
+ * statistics.
+ * <p>
+ * Usage:
+ * 
+ * <pre>
+ * long start = phase.start();
+ * doSomething();
+ * phase.stop(start);
+ * ...
+ * profiler.endTick();
+ * </pre>
+ * 
+ * A phase may be measured several times per tick (for example a phase shared by all ghosts), the sum is recorded as one
+ * sample when the game loop calls {@link #endTick()}. Phases must be measured on the game loop thread. Every
+ * {@link #PUBLISH_INTERVAL} ticks, each phase publishes an immutable {@link Stats} snapshot that other threads (views,
+ * dashboard) can read safely. Percentiles are computed by the reading thread, not in the game loop.
+ * <p>
+ * When the profiler is disabled (default), {@link Phase#start()} and {@link Phase#stop(long)} only test a flag.
+ * 
+ * @author Armin Reichert
+ */
+public class TickProfiler {
+
+	public static final int SAMPLES = 256;
+
+	/** Number of ticks between two publications of the phase statistics. */
+	public static final int PUBLISH_INTERVAL = 30;
+
+	/**
+	 * Statistics of a phase as published by the game loop.
+	 */
+	public static final class Stats {
+
+		public static final Stats EMPTY = new Stats(0, 0, 0, new long[0]);
+
+		/** Number of samples taken since start or last reset. */
+		public final long count;
+
+		/** Duration of the last sample in nanoseconds. */
+		public final long last;
+
+		/** Average duration in nanoseconds over all samples since start or last reset. */
+		public final double average;
+
+		private final long[] samples;
+		private boolean sorted;
+
+		private Stats(long count, long last, double average, long[] samples) {
+			this.count = count;
+			this.last = last;
+			this.average = average;
+			this.samples = samples;
+		}
+
+		/**
+		 * @param p percentile (0..100)
+		 * @return the given percentile of the most recent samples in nanoseconds
+		 */
+		public synchronized long percentile(double p) {
+			int n = samples.length;
+			if (n == 0) {
+				return 0;
+			}
+			if (!sorted) {
+				Arrays.sort(samples);
+				sorted = true;
+			}
+			int index = (int) Math.ceil(p / 100 * n) - 1;
+			return samples[Math.max(0, Math.min(n - 1, index))];
+		}
+	}
+
+	/**
+	 * A timed phase of the game tick.
+	 */
+	public static class Phase {
+
+		/** Phase that never measures anything. */
+		public static final Phase NONE = new Phase(null, "none");
+
+		public final String name;
+		private final TickProfiler profiler;
+
+		// owned by the game loop
+		private final long[] samples = new long[SAMPLES];
+		private long count;
+		private long totalNanos;
+		private long pendingNanos;
+		private boolean pending;
+
+		private volatile Stats stats = Stats.EMPTY;
+
+		private Phase(TickProfiler profiler, String name) {
+			this.profiler = profiler;
+			this.name = name;
+		}
+
+		/**
+		 * @return start time in nanoseconds or {@code 0} if the profiler is disabled
+		 */
+		public long start() {
+			return profiler != null && profiler.enabled ? System.nanoTime() : 0;
+		}
+
+		/**
+		 * Adds the time passed since the given start time to the sample of the current tick.
+		 * 
+		 * @param start value returned by {@link #start()}
+		 */
+		public void stop(long start) {
+			if (start != 0) {
+				pendingNanos += System.nanoTime() - start;
+				pending = true;
+			}
+		}
+
+		/**
+		 * @return the most recently published statistics of this phase
+		 */
+		public Stats stats() {
+			return stats;
+		}
+
+		private void commit() {
+			if (pending) {
+				samples[(int) (count % SAMPLES)] = pendingNanos;
+				++count;
+				totalNanos += pendingNanos;
+				pendingNanos = 0;
+				pending = false;
+			}
+		}
+
+		private void publish() {
+			if (count > 0) {
+				long last = samples[(int) ((count - 1) % SAMPLES)];
+				long[] recent = Arrays.copyOf(samples, (int) Math.min(count, SAMPLES));
+				stats = new Stats(count, last, (double) totalNanos / count, recent);
+			}
+		}
+
+		private void reset() {
+			Arrays.fill(samples, 0);
+			count = 0;
+			totalNanos = 0;
+			pendingNanos = 0;
+			pending = false;
+			stats = Stats.EMPTY;
+		}
+	}
+
+	private final Map<String, Phase> phases = new LinkedHashMap<>();
+	private volatile Phase[] phaseArray = new Phase[0];
+	private volatile boolean enabled;
+	private volatile boolean resetRequested;
+	private long ticks;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Returns the phase with the given name, creating it on first access. Phases are listed in the order of their creation.
+	 * 
+	 * @param name phase name
+	 * @return the phase
+	 */
+	public synchronized Phase phase(String name) {
+		Phase phase = phases.get(name);
+		if (phase == null) {
+			phase = new Phase(this, name);
+			phases.put(name, phase);
+			phaseArray = phases.values().toArray(Phase[]::new);
+		}
+		return phase;
+	}
+
+	/**
+	 * @return snapshot of all phases in creation order
+	 */
+	public synchronized List<Phase> phases() {
+		return new ArrayList<>(phases.values());
+	}
+
+	/**
+	 * Records the samples of the current tick and publishes the statistics every {@link #PUBLISH_INTERVAL} ticks. Must be
+	 * called by the game loop at the end of each tick.
+	 */
+	public void endTick() {
+		Phase[] all = phaseArray;
+		if (resetRequested) {
+			resetRequested = false;
+			ticks = 0;
+			for (Phase phase : all) {
+				phase.reset();
+			}
+		}
+		if (!enabled) {
+			return;
+		}
+		for (Phase phase : all) {
+			phase.commit();
+		}
+		if (++ticks % PUBLISH_INTERVAL == 0) {
+			for (Phase phase : all) {
+				phase.publish();
+			}
+		}
+	}
+
+	/**
+	 * Resets the statistics of all phases at the end of the current tick.
+	 */
+	public void reset() {
+		resetRequested = true;
+	}
+}
@@ -25,13 +25,18 @@ package de.amr.games.pacmanfsm.lib;
 
 import static de.amr.easy.game.math.V2f.v;
 
-import java.util.Objects;
 import java.util.Optional;
 
 import de.amr.easy.game.math.V2f;
 
 /**
  * The Pac-Man game world is layed out into tiles of eight pixels size each.
+ * <p>
+ * Tiles inside a range covering the Arcade world including a large border are created up front and stored in a table,
+ * so {@link #at(int, int)} does not allocate for them. All other tiles (for example far-away target tiles or tiles of
+ * large worlds) are created on demand and not cached. Tiles inside a world should therefore be looked up using
+ * {@code TiledWorld.tile(col, row)} which uses the world's own tile table. Tiles must be compared using
+ * {@link #equals(Object)}.
  * 
  * @author Armin Reichert
  */
@@ -40,6 +45,21 @@ public final class Tile {
 	/** Tile size in pixels. */
 	public static final byte TS = 8;
 
+	/*@formatter:off*/
+	private static final int TABLE_MIN = -64;     // smallest column/row index stored in table
+	private static final int TABLE_SIZE = 192;    // number of columns/rows stored in table
+	/*@formatter:on*/
+
+	private static final Tile[] TABLE = new Tile[TABLE_SIZE * TABLE_SIZE];
+
+	static {
+		for (int row = 0; row < TABLE_SIZE; ++row) {
+			for (int col = 0; col < TABLE_SIZE; ++col) {
+				TABLE[row * TABLE_SIZE + col] = new Tile(col + TABLE_MIN, row + TABLE_MIN);
+			}
+		}
+	}
+
 	/**
 	 * @param either either tile
 	 * @param other  other tile
@@ -63,13 +83,18 @@ public final class Tile {
 	}
 
 	/**
-	 * Nicer constructor function.
+	 * Returns the tile at the given location. Inside the tile table, the same instance is returned for each call.
 	 * 
 	 * @param col column
 	 * @param row row
 	 * @return tile at this location
 	 */
 	public static Tile at(int col, int row) {
+		int tableCol = col - TABLE_MIN;
+		int tableRow = row - TABLE_MIN;
+		if (0 <= tableCol && tableCol < TABLE_SIZE && 0 <= tableRow && tableRow < TABLE_SIZE) {
+			return TABLE[tableRow * TABLE_SIZE + tableCol];
+		}
 		return new Tile(col, row);
 	}
 
@@ -79,14 +104,7 @@ public final class Tile {
 	/** Tile row index. Top to bottom, zero based. */
 	public final short row;
 
-	/**
-	 * Constructor function.
-	 * 
-	 * @param col tile column index
-	 * @param row tile row index
-	 * @return new tile
-	 */
-	public Tile(int col, int row) {
+	private Tile(int col, int row) {
 		this.col = (short) col;
 		this.row = (short) row;
 	}
@@ -173,19 +191,15 @@ public final class Tile {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(col, row);
+		return 31 * col + row;
 	}
 
 	@Override
 	public boolean equals(Object obj) {
-		if (this == obj)
+		if (this == obj) {
 			return true;
-		if (obj == null)
-			return false;
-		if (getClass() != obj.getClass())
-			return false;
-		Tile other = (Tile) obj;
-		return col == other.col && row == other.row;
+		}
+		return obj instanceof Tile other && col == other.col && row == other.row;
 	}
 
 	@Override
@@ -61,7 +61,21 @@ public class Hiscore {
 		load();
 	}
 
+	/**
+	 * Creates a highscore that is only kept in memory and never loaded or saved.
+	 */
+	public Hiscore() {
+		this.file = null;
+		points = 0;
+		level = 1;
+		time = ZonedDateTime.now();
+		needsUpdate = false;
+	}
+
 	public void load() {
+		if (file == null) {
+			return;
+		}
 		loginfo("Loading highscore from file '%s'", file);
 		try (FileInputStream is = new FileInputStream(file)) {
 			data.loadFromXML(is);
@@ -85,7 +99,7 @@ public class Hiscore {
 	}
 
 	public void save() {
-		if (needsUpdate) {
+		if (needsUpdate && file != null) {
 			data.setProperty("score", Integer.toString(points));
 			data.setProperty("level", Integer.toString(level));
 			if (time == null) {
@@ -0,0 +1,293 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.model.game;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import de.amr.games.pacmanfsm.model.world.arcade.ArcadeBonus;
+
+/**
+ * Immutable table of the level-specific game parameters.
+ * <p>
+ * The table is parsed once into primitive arrays, so all lookups are O(1) and allocation-free. The last row of the
+ * table is used for all levels beyond the table size.
+ * <p>
+ * Tables are written as text, one row per level, fields separated by commas. Empty lines and lines starting with
+ * {@code #} are ignored. Speeds are given in percent of the base speed:
+ * 
+ * <pre>
+ * bonus symbol, bonus value, Pac-Man speed, ghost speed, ghost tunnel speed, Elroy 1 dots left, Elroy 1 speed,
+ * Elroy 2 dots left, Elroy 2 speed, Pac-Man power speed, ghost frightened speed, Pac-Man power seconds, flashes
+ * </pre>
+ * 
+ * @author Armin Reichert
+ * 
+ * @see <a href= "http://www.gamasutra.com/view/feature/132330/the_pacman_dossier.php">Pac-Man dossier</a>
+ */
+public final class LevelTable {
+
+	private static final int COLUMNS = 13;
+
+	/**
+	 * The level table of the Arcade game.
+	 * 
+	 * <img src="http://www.gamasutra.com/db_area/images/feature/3938/tablea1.png">
+	 */
+	public static final LevelTable ARCADE;
+
+	static {
+		try {
+			ARCADE = read(new StringReader("""
+					# level 1..20, last row applies to all following levels
+					CHERRIES,    100,  80,  75, 40,  20,  80, 10,  85,  90, 50, 6, 5
+					STRAWBERRY,  300,  90,  85, 45,  30,  90, 15,  95,  95, 55, 5, 5
+					PEACH,       500,  90,  85, 45,  40,  90, 20,  95,  95, 55, 4, 5
+					PEACH,       500,  90,  85, 50,  40, 100, 20,  95,  95, 55, 3, 5
+					APPLE,       700, 100,  95, 50,  40, 100, 20, 105, 100, 60, 2, 5
+					APPLE,       700, 100,  95, 50,  50, 100, 25, 105, 100, 60, 5, 5
+					GRAPES,     1000, 100,  95, 50,  50, 100, 25, 105, 100, 60, 2, 5
+					GRAPES,     1000, 100,  95, 50,  50, 100, 25, 105, 100, 60, 2, 5
+					GALAXIAN,   2000, 100,  95, 50,  60, 100, 30, 105, 100, 60, 1, 3
+					GALAXIAN,   2000, 100,  95, 50,  60, 100, 30, 105, 100, 60, 5, 5
+					BELL,       3000, 100,  95, 50,  60, 100, 30, 105, 100, 60, 2, 5
+					BELL,       3000, 100,  95, 50,  80, 100, 40, 105, 100, 60, 1, 3
+					KEY,        5000, 100,  95, 50,  80, 100, 40, 105, 100, 60, 1, 3
+					KEY,        5000, 100,  95, 50,  80, 100, 40, 105, 100, 60, 3, 5
+					KEY,        5000, 100,  95, 50, 100, 100, 50, 105, 100, 60, 1, 3
+					KEY,        5000, 100,  95, 50, 100, 100, 50, 105,   0,  0, 1, 3
+					KEY,        5000, 100,  95, 50, 100, 100, 50, 105, 100, 60, 0, 0
+					KEY,        5000, 100,  95, 50, 100, 100, 50, 105,   0,  0, 1, 0
+					KEY,        5000, 100,  95, 50, 120, 100, 60, 105,   0,  0, 0, 0
+					KEY,        5000, 100,  95, 50, 120, 100, 60, 105,   0,  0, 0, 0
+					KEY,        5000,  90,  95, 50, 120, 100, 60, 105,   0,  0, 0, 0
+					"""), "Arcade level table");
+		} catch (IOException x) {
+			throw new UncheckedIOException(x);
+		}
+	}
+
+	/**
+	 * Loads a level table from the file system or, if no such file exists, from the class path.
+	 * 
+	 * @param location file path or class path resource name
+	 * @return the level table
+	 * @throws IOException if the table cannot be read or is malformed
+	 */
+	public static LevelTable load(String location) throws IOException {
+		Path path = Path.of(location);
+		if (Files.isRegularFile(path)) {
+			try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+				return read(reader, location);
+			}
+		}
+		InputStream is = LevelTable.class.getResourceAsStream(location);
+		if (is == null) {
+			throw new IOException("Level table not found: " + location);
+		}
+		try (Reader reader = new InputStreamReader(is, StandardCharsets.UTF_8)) {
+			return read(reader, location);
+		}
+	}
+
+	private static LevelTable read(Reader source, String name) throws IOException {
+		List<String[]> rows = new ArrayList<>();
+		BufferedReader reader = new BufferedReader(source);
+		int lineNumber = 0;
+		for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+			++lineNumber;
+			line = line.strip();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			String[] fields = line.split("\\s*,\\s*");
+			if (fields.length != COLUMNS) {
+				throw new IOException(
+						String.format("%s, line %d: expected %d fields but found %d", name, lineNumber, COLUMNS, fields.length));
+			}
+			try {
+				ArcadeBonus.Symbol.valueOf(fields[0]);
+			} catch (IllegalArgumentException x) {
+				throw new IOException(String.format("%s, line %d: unknown bonus symbol '%s'", name, lineNumber, fields[0]));
+			}
+			rows.add(fields);
+		}
+		if (rows.isEmpty()) {
+			throw new IOException(name + ": level table is empty");
+		}
+		try {
+			return new LevelTable(rows);
+		} catch (NumberFormatException x) {
+			throw new IOException(name + ": " + x.getMessage());
+		}
+	}
+
+	private final String[] bonusSymbol;
+	private final int[] bonusValue;
+	private final float[] pacManSpeed;
+	private final float[] ghostSpeed;
+	private final float[] ghostTunnelSpeed;
+	private final int[] elroy1DotsLeft;
+	private final float[] elroy1Speed;
+	private final int[] elroy2DotsLeft;
+	private final float[] elroy2Speed;
+	private final float[] pacManPowerSpeed;
+	private final float[] ghostFrightenedSpeed;
+	private final int[] pacManPowerSeconds;
+	private final int[] numFlashes;
+
+	private LevelTable(List<String[]> rows) {
+		int n = rows.size();
+		bonusSymbol = new String[n];
+		bonusValue = new int[n];
+		pacManSpeed = new float[n];
+		ghostSpeed = new float[n];
+		ghostTunnelSpeed = new float[n];
+		elroy1DotsLeft = new int[n];
+		elroy1Speed = new float[n];
+		elroy2DotsLeft = new int[n];
+		elroy2Speed = new float[n];
+		pacManPowerSpeed = new float[n];
+		ghostFrightenedSpeed = new float[n];
+		pacManPowerSeconds = new int[n];
+		numFlashes = new int[n];
+		for (int i = 0; i < n; ++i) {
+			String[] row = rows.get(i);
+			bonusSymbol[i] = row[0].intern();
+			bonusValue[i] = Integer.parseInt(row[1]);
+			pacManSpeed[i] = percent(row[2]);
+			ghostSpeed[i] = percent(row[3]);
+			ghostTunnelSpeed[i] = percent(row[4]);
+			elroy1DotsLeft[i] = Integer.parseInt(row[5]);
+			elroy1Speed[i] = percent(row[6]);
+			elroy2DotsLeft[i] = Integer.parseInt(row[7]);
+			elroy2Speed[i] = percent(row[8]);
+			pacManPowerSpeed[i] = percent(row[9]);
+			ghostFrightenedSpeed[i] = percent(row[10]);
+			pacManPowerSeconds[i] = Integer.parseInt(row[11]);
+			numFlashes[i] = Integer.parseInt(row[12]);
+		}
+	}
+
+	private static float percent(String value) {
+		return Integer.parseInt(value) / 100f;
+	}
+
+	private int row(int level) {
+		if (level < 1) {
+			throw new IllegalArgumentException("Illegal game level number: " + level);
+		}
+		return Math.min(level, bonusSymbol.length) - 1;
+	}
+
+	/**
+	 * @return number of rows, the last row is used for all following levels
+	 */
+	public int size() {
+		return bonusSymbol.length;
+	}
+
+	/**
+	 * @return CRC-32 checksum over all table entries
+	 */
+	public long checksum() {
+		ByteBuffer buffer = ByteBuffer.allocate(4 * (COLUMNS - 1));
+		CRC32 crc = new CRC32();
+		for (int i = 0; i < size(); ++i) {
+			crc.update(bonusSymbol[i].getBytes(StandardCharsets.UTF_8));
+			buffer.clear();
+			buffer.putInt(bonusValue[i]).putFloat(pacManSpeed[i]).putFloat(ghostSpeed[i]).putFloat(ghostTunnelSpeed[i])
+					.putInt(elroy1DotsLeft[i]).putFloat(elroy1Speed[i]).putInt(elroy2DotsLeft[i]).putFloat(elroy2Speed[i])
+					.putFloat(pacManPowerSpeed[i]).putFloat(ghostFrightenedSpeed[i]).putInt(pacManPowerSeconds[i])
+					.putInt(numFlashes[i]);
+			buffer.flip();
+			crc.update(buffer);
+		}
+		return crc.getValue();
+	}
+
+	public String bonusSymbol(int level) {
+		return bonusSymbol[row(level)];
+	}
+
+	public int bonusValue(int level) {
+		return bonusValue[row(level)];
+	}
+
+	public float pacManSpeed(int level) {
+		return pacManSpeed[row(level)];
+	}
+
+	public float ghostSpeed(int level) {
+		return ghostSpeed[row(level)];
+	}
+
+	public float ghostTunnelSpeed(int level) {
+		return ghostTunnelSpeed[row(level)];
+	}
+
+	public int elroy1DotsLeft(int level) {
+		return elroy1DotsLeft[row(level)];
+	}
+
+	public float elroy1Speed(int level) {
+		return elroy1Speed[row(level)];
+	}
+
+	public int elroy2DotsLeft(int level) {
+		return elroy2DotsLeft[row(level)];
+	}
+
+	public float elroy2Speed(int level) {
+		return elroy2Speed[row(level)];
+	}
+
+	public float pacManPowerSpeed(int level) {
+		return pacManPowerSpeed[row(level)];
+	}
+
+	public float ghostFrightenedSpeed(int level) {
+		return ghostFrightenedSpeed[row(level)];
+	}
+
+	public int pacManPowerSeconds(int level) {
+		return pacManPowerSeconds[row(level)];
+	}
+
+	public int numFlashes(int level) {
+		return numFlashes[row(level)];
+	}
+}
@@ -45,53 +45,6 @@ public class PacManGame {
 	protected static final int[] POINTS_GHOSTS = { 200, 400, 800, 1600 };
 	protected static final int[] BONUS_ACTIVATION = { 70, 170 };
 
-	/**
-	 * Returns the level-specific data.
-	 * 
-	 * <img src="http://www.gamasutra.com/db_area/images/feature/3938/tablea1.png">
-	 * 
-	 * @param level level number (1..)
-	 * @return data for level with given number
-	 */
-	static List<Object> levelData(int level) {
-		if (level < 1) {
-			throw new IllegalArgumentException("Illegal game level number: " + level);
-		}
-		switch (level) {
-		/*@formatter:off*/
-		case  1: return List.of("CHERRIES",   100,  80,  75, 40,  20,  80, 10,  85,  90, 50, 6, 5);
-		case  2: return List.of("STRAWBERRY", 300,  90,  85, 45,  30,  90, 15,  95,  95, 55, 5, 5);
-		case  3: return List.of("PEACH",      500,  90,  85, 45,  40,  90, 20,  95,  95, 55, 4, 5);
-		case  4: return List.of("PEACH",      500,  90,  85, 50,  40, 100, 20,  95,  95, 55, 3, 5);
-		case  5: return List.of("APPLE",      700, 100,  95, 50,  40, 100, 20, 105, 100, 60, 2, 5);
-		case  6: return List.of("APPLE",      700, 100,  95, 50,  50, 100, 25, 105, 100, 60, 5, 5);
-		case  7: return List.of("GRAPES",    1000, 100,  95, 50,  50, 100, 25, 105, 100, 60, 2, 5);
-		case  8: return List.of("GRAPES",    1000, 100,  95, 50,  50, 100, 25, 105, 100, 60, 2, 5);
-		case  9: return List.of("GALAXIAN",  2000, 100,  95, 50,  60, 100, 30, 105, 100, 60, 1, 3);
-		case 10: return List.of("GALAXIAN",  2000, 100,  95, 50,  60, 100, 30, 105, 100, 60, 5, 5);
-		case 11: return List.of("BELL",      3000, 100,  95, 50,  60, 100, 30, 105, 100, 60, 2, 5);
-		case 12: return List.of("BELL",      3000, 100,  95, 50,  80, 100, 40, 105, 100, 60, 1, 3);
-		case 13: return List.of("KEY",       5000, 100,  95, 50,  80, 100, 40, 105, 100, 60, 1, 3);
-		case 14: return List.of("KEY",       5000, 100,  95, 50,  80, 100, 40, 105, 100, 60, 3, 5);
-		case 15: return List.of("KEY",       5000, 100,  95, 50, 100, 100, 50, 105, 100, 60, 1, 3);
-		case 16: return List.of("KEY",       5000, 100,  95, 50, 100, 100, 50, 105,   0,  0, 1, 3);
-		case 17: return List.of("KEY",       5000, 100,  95, 50, 100, 100, 50, 105, 100, 60, 0, 0);
-		case 18: return List.of("KEY",       5000, 100,  95, 50, 100, 100, 50, 105,   0,  0, 1, 0);
-		case 19: return List.of("KEY",       5000, 100,  95, 50, 120, 100, 60, 105,   0,  0, 0, 0);
-		case 20: return List.of("KEY",       5000, 100,  95, 50, 120, 100, 60, 105,   0,  0, 0, 0);
-		default: return List.of("KEY",       5000,  90,  95, 50, 120, 100, 60, 105,   0,  0, 0, 0);
-		//@formatter:on
-		}
-	}
-
-	private static float percent(Object value) {
-		return (int) value / 100f;
-	}
-
-	private static int integer(Object value) {
-		return (int) value;
-	}
-
 	//@formatter:off
 	public final String bonusSymbol;
 	public final int    bonusValue;
@@ -107,6 +60,7 @@ public class PacManGame {
 	public final int    pacManPowerSeconds;
 	public final int    numFlashes;
 
+	public final LevelTable levelTable;
 	public final int    level;
 	public final int    foodCount;
 
@@ -120,25 +74,52 @@ public class PacManGame {
 	//@formatter:on
 
 	public PacManGame(int level, int foodCount, int lives, int score) {
+		this(LevelTable.ARCADE, level, foodCount, lives, score);
+	}
+
+	/**
+	 * Creates a game whose level-specific data is taken from the given table.
+	 * 
+	 * @param levelTable level table
+	 * @param level      level number (1..)
+	 * @param foodCount  total number of pellets and energizers in the maze
+	 * @param lives      number of lives
+	 * @param score      score
+	 */
+	public PacManGame(LevelTable levelTable, int level, int foodCount, int lives, int score) {
+		this.levelTable = levelTable;
 		this.level = level;
 		this.foodCount = foodCount;
 		this.lives = lives;
 		this.score = score;
 		this.levelCounter = new ArrayList<>();
-		List<?> data = levelData(level);
-		bonusSymbol = (String) data.get(0);
-		bonusValue = integer(data.get(1));
-		pacManSpeed = percent(data.get(2));
-		ghostSpeed = percent(data.get(3));
-		ghostTunnelSpeed = percent(data.get(4));
-		elroy1DotsLeft = integer(data.get(5));
-		elroy1Speed = percent(data.get(6));
-		elroy2DotsLeft = integer(data.get(7));
-		elroy2Speed = percent(data.get(8));
-		pacManPowerSpeed = percent(data.get(9));
-		ghostFrightenedSpeed = percent(data.get(10));
-		pacManPowerSeconds = integer(data.get(11));
-		numFlashes = integer(data.get(12));
+		bonusSymbol = levelTable.bonusSymbol(level);
+		bonusValue = levelTable.bonusValue(level);
+		pacManSpeed = levelTable.pacManSpeed(level);
+		ghostSpeed = levelTable.ghostSpeed(level);
+		ghostTunnelSpeed = levelTable.ghostTunnelSpeed(level);
+		elroy1DotsLeft = levelTable.elroy1DotsLeft(level);
+		elroy1Speed = levelTable.elroy1Speed(level);
+		elroy2DotsLeft = levelTable.elroy2DotsLeft(level);
+		elroy2Speed = levelTable.elroy2Speed(level);
+		pacManPowerSpeed = levelTable.pacManPowerSpeed(level);
+		ghostFrightenedSpeed = levelTable.ghostFrightenedSpeed(level);
+		pacManPowerSeconds = levelTable.pacManPowerSeconds(level);
+		numFlashes = levelTable.numFlashes(level);
+	}
+
+	/**
+	 * Creates a copy of the given game. The copy shares the high score with the original.
+	 * 
+	 * @param game game to copy
+	 */
+	public PacManGame(PacManGame game) {
+		this(game.levelTable, game.level, game.foodCount, game.lives, game.score);
+		eatenFoodCount = game.eatenFoodCount;
+		ghostsKilledByEnergizer = game.ghostsKilledByEnergizer;
+		ghostsKilledInLevel = game.ghostsKilledInLevel;
+		hiscore = game.hiscore;
+		levelCounter = new ArrayList<>(game.levelCounter);
 	}
 
 	public int remainingFoodCount() {
@@ -23,6 +23,7 @@ SOFTWARE.
  */
 package de.amr.games.pacmanfsm.model.world.api;
 
+import java.util.BitSet;
 import java.util.Optional;
 
 import de.amr.games.pacmanfsm.lib.Tile;
@@ -52,6 +53,46 @@ public interface FoodSource {
 
 	boolean hasEatenFood(Tile location);
 
+	/**
+	 * @return the tile indices where food has been eaten (a copy)
+	 */
+	BitSet eatenFood();
+
+	/**
+	 * @return counter that changes whenever food is removed or restored, for example to update cached images
+	 */
+	int foodModCount();
+
+	/**
+	 * Stores the tile indices with remaining food of the given kind into the given set. Allocates no memory if the set
+	 * is large enough.
+	 * 
+	 * @param food  some kind of food
+	 * @param tiles set receiving the tile indices, its previous content is cleared
+	 */
+	void remainingFood(Food food, BitSet tiles);
+
+	/**
+	 * Restores all food and then removes the food at the given tile indices.
+	 * 
+	 * @param eaten tile indices where food has been eaten
+	 */
+	void restoreFood(BitSet eaten);
+
+	/**
+	 * @param location some tile, may be outside of the world
+	 * @return the nearest tile (Manhattan distance) with remaining food, ties are resolved in row-major order
+	 */
+	Optional<Tile> nearestFood(Tile location);
+
+	/**
+	 * @param food     some kind of food
+	 * @param location some tile, may be outside of the world
+	 * @return the nearest tile (Manhattan distance) with remaining food of the given kind, ties are resolved in
+	 *         row-major order
+	 */
+	Optional<Tile> nearestFood(Food food, Tile location);
+
 	Optional<TemporaryFood> temporaryFood();
 
 	void showTemporaryFood(TemporaryFood food);
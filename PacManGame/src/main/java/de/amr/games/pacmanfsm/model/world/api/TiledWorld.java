@@ -28,6 +28,7 @@ import java.util.Optional;
 import java.util.stream.Stream;
 
 import de.amr.easy.game.entity.Entity;
+import de.amr.games.pacmanfsm.lib.CountingRandom;
 import de.amr.games.pacmanfsm.lib.Direction;
 import de.amr.games.pacmanfsm.lib.Tile;
 import de.amr.games.pacmanfsm.model.world.components.Bed;
@@ -42,6 +43,9 @@ import de.amr.games.pacmanfsm.model.world.components.Portal;
  */
 public interface TiledWorld extends TileRegion, FoodSource {
 
+	/** Index value for tiles outside of the world. */
+	int NO_TILE = -1;
+
 	/**
 	 * @param tile reference tile
 	 * @param dir  some direction
@@ -59,6 +63,33 @@ public interface TiledWorld extends TileRegion, FoodSource {
 		return tileToDir(tile, dir, 1);
 	}
 
+	/**
+	 * @param tile some tile
+	 * @return the index of this tile (row-major order) or {@link #NO_TILE} if the tile is outside of this world
+	 */
+	int index(Tile tile);
+
+	/**
+	 * @param index tile index inside this world
+	 * @return the tile with this index
+	 */
+	Tile tile(int index);
+
+	/**
+	 * @param col column
+	 * @param row row
+	 * @return the tile at this location, for tiles inside this world the instance of the world's tile table
+	 */
+	Tile tile(int col, int row);
+
+	/**
+	 * @param index tile index inside this world
+	 * @param dir   some direction
+	 * @return index of the direct neighbor to the given direction (portals resolved) or {@link #NO_TILE} if the neighbor
+	 *         is outside of this world
+	 */
+	int neighborIndex(int index, Direction dir);
+
 	/**
 	 * @param tile some tile
 	 * @return if this tile has a least three accessible neighbor tiles
@@ -98,6 +129,14 @@ public interface TiledWorld extends TileRegion, FoodSource {
 	 */
 	Optional<House> house(int i);
 
+	/**
+	 * @param tile some tile
+	 * @return if there is a door of some house at this tile
+	 */
+	default boolean isDoor(Tile tile) {
+		return houses().anyMatch(house -> house.hasDoorAt(tile));
+	}
+
 	/**
 	 * @return all portals in this territory
 	 */
@@ -149,6 +188,14 @@ public interface TiledWorld extends TileRegion, FoodSource {
 	 */
 	boolean isFrozen();
 
+	/**
+	 * All random decisions taken inside this world (ghost movement, bonus timing etc.) use this generator. Seeding it makes
+	 * a game run reproducible.
+	 * 
+	 * @return the source of randomness of this world
+	 */
+	CountingRandom random();
+
 	/**
 	 * @param entity an entity
 	 * @return {@code true} if the entity is currently included in this territory
@@ -54,6 +54,10 @@ public class ArcadeBonus implements TemporaryFood {
 	private boolean active;
 	private boolean consumed;
 
+	void placeAt(Tile location) {
+		this.location = location;
+	}
+
 	@Override
 	public Tile location() {
 		return location;
@@ -25,6 +25,7 @@ package de.amr.games.pacmanfsm.model.world.arcade;
 
 import java.util.Arrays;
 import java.util.BitSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -32,6 +33,7 @@ import de.amr.games.pacmanfsm.lib.Direction;
 import de.amr.games.pacmanfsm.lib.Tile;
 import de.amr.games.pacmanfsm.model.world.api.Food;
 import de.amr.games.pacmanfsm.model.world.api.TemporaryFood;
+import de.amr.games.pacmanfsm.model.world.api.TileRegion;
 import de.amr.games.pacmanfsm.model.world.components.Bed;
 import de.amr.games.pacmanfsm.model.world.components.House;
 import de.amr.games.pacmanfsm.model.world.components.HouseBuilder;
@@ -47,7 +49,7 @@ import de.amr.games.pacmanfsm.model.world.core.AbstractTiledWorld;
  */
 public class ArcadeWorld extends AbstractTiledWorld {
 
-	private static final byte[][] MAP = { // 0 = accessible, 1 = inaccessible, 2 = pellet
+	private static final byte[][] MAP = { // 0 = accessible, 1 = inaccessible, 2 = pellet, 3 = energizer
 			//@formatter:off
 			{ 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, },
 			{ 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, },
@@ -55,7 +57,7 @@ public class ArcadeWorld extends AbstractTiledWorld {
 			{ 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, },
 			{ 1, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 1, 1, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 1, },
 			{ 1, 2, 1, 1, 1, 1, 2, 1, 1, 1, 1, 1, 2, 1, 1, 2, 1, 1, 1, 1, 1, 2, 1, 1, 1, 1, 2, 1, },
-			{ 1, 2, 1, 1, 1, 1, 2, 1, 1, 1, 1, 1, 2, 1, 1, 2, 1, 1, 1, 1, 1, 2, 1, 1, 1, 1, 2, 1, },
+			{ 1, 3, 1, 1, 1, 1, 2, 1, 1, 1, 1, 1, 2, 1, 1, 2, 1, 1, 1, 1, 1, 2, 1, 1, 1, 1, 3, 1, },
 			{ 1, 2, 1, 1, 1, 1, 2, 1, 1, 1, 1, 1, 2, 1, 1, 2, 1, 1, 1, 1, 1, 2, 1, 1, 1, 1, 2, 1, },
 			{ 1, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 1, },
 			{ 1, 2, 1, 1, 1, 1, 2, 1, 1, 2, 1, 1, 1, 1, 1, 1, 1, 1, 2, 1, 1, 2, 1, 1, 1, 1, 2, 1, },
@@ -75,7 +77,7 @@ public class ArcadeWorld extends AbstractTiledWorld {
 			{ 1, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 1, 1, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 1, },
 			{ 1, 2, 1, 1, 1, 1, 2, 1, 1, 1, 1, 1, 2, 1, 1, 2, 1, 1, 1, 1, 1, 2, 1, 1, 1, 1, 2, 1, },
 			{ 1, 2, 1, 1, 1, 1, 2, 1, 1, 1, 1, 1, 2, 1, 1, 2, 1, 1, 1, 1, 1, 2, 1, 1, 1, 1, 2, 1, },
-			{ 1, 2, 2, 2, 1, 1, 2, 2, 2, 2, 2, 2, 2, 0, 0, 2, 2, 2, 2, 2, 2, 2, 1, 1, 2, 2, 2, 1, },
+			{ 1, 3, 2, 2, 1, 1, 2, 2, 2, 2, 2, 2, 2, 0, 0, 2, 2, 2, 2, 2, 2, 2, 1, 1, 2, 2, 3, 1, },
 			{ 1, 1, 1, 2, 1, 1, 2, 1, 1, 2, 1, 1, 1, 1, 1, 1, 1, 1, 2, 1, 1, 2, 1, 1, 2, 1, 1, 1, },
 			{ 1, 1, 1, 2, 1, 1, 2, 1, 1, 2, 1, 1, 1, 1, 1, 1, 1, 1, 2, 1, 1, 2, 1, 1, 2, 1, 1, 1, },
 			{ 1, 2, 2, 2, 2, 2, 2, 1, 1, 2, 2, 2, 2, 1, 1, 2, 2, 2, 2, 1, 1, 2, 2, 2, 2, 2, 2, 1, },
@@ -90,80 +92,126 @@ public class ArcadeWorld extends AbstractTiledWorld {
 
 	static final Tile BONUS_LOCATION = Tile.at(13, 20);
 
-	private House house;
-	private Bed pacManBed;
-	private Portal portal;
-	private OneWayTile[] oneWayTiles;
-	private TiledRectangle[] tunnels;
-	private Tile[] energizerTiles;
+	/** The maze of the Arcade game. */
+	public static final Maze ARCADE_MAZE;
+
+	static {
+		//@formatter:off
+		House house =	new HouseBuilder()
+			.layout(10, 15, 8, 5)
+			.door(Direction.DOWN, 13, 15, 2, 1)
+			.bed(13, 14, Direction.LEFT)
+			.bed(11, 17, Direction.UP)
+			.bed(13, 17, Direction.DOWN)
+			.bed(15, 17, Direction.UP)
+			.build();
+
+		ARCADE_MAZE = Maze.of(MAP,
+			BONUS_LOCATION,
+			new Bed(13, 26, Direction.RIGHT),
+			List.of(new Portal(Tile.at(0, 17), Tile.at(27, 17), false)),
+			List.of(house),
+			List.of(
+				new OneWayTile(12, 13, Direction.DOWN), 
+				new OneWayTile(15, 13, Direction.DOWN),
+				new OneWayTile(12, 25, Direction.DOWN), 
+				new OneWayTile(15, 25, Direction.DOWN)
+			),
+			List.of(
+				new TiledRectangle(1, 17, 5, 1),
+				new TiledRectangle(22, 17, 5, 1)
+			)
+		);
+		//@formatter:on
+	}
+
+	private final Tile bonusLocation;
+	private final House[] houses;
+	private final Bed pacManBed;
+	private final Portal[] portals;
+	private final OneWayTile[] oneWayTiles;
 	private ArcadeBonus bonus;
 
 	private final BitSet accessible;
+	private final BitSet houseTiles;
+	private final BitSet doorTiles;
+	private final BitSet tunnelTiles;
 	private final BitSet intersections;
 	private final BitSet food;
 	private final BitSet eaten;
+	private final BitSet energizers;
+	private final BitSet remainingPellets;
+	private final BitSet remainingEnergizers;
 	private int foodCount;
+	private int foodModCount;
 
+	/**
+	 * Creates the world of the Arcade game.
+	 */
 	public ArcadeWorld() {
-		super(28, 36);
-		accessible = new BitSet(numTiles());
-		food = new BitSet(numTiles());
+		this(ARCADE_MAZE);
+	}
+
+	/**
+	 * Creates a world with the given maze, for example one loaded by {@link Maze#load(java.nio.file.Path)}.
+	 * 
+	 * @param maze the maze
+	 */
+	public ArcadeWorld(Maze maze) {
+		super(maze.width(), maze.height());
+		accessible = (BitSet) maze.accessible().clone();
+		food = (BitSet) maze.food().clone();
+		energizers = (BitSet) maze.energizers().clone();
 		eaten = new BitSet(numTiles());
-		for (int row = 0; row < height(); ++row) {
-			for (int col = 0; col < width(); ++col) {
-				int i = bitIndex(row, col);
-				accessible.set(i, MAP[row][col] != 1);
-				if (MAP[row][col] == 2) {
-					food.set(i, true);
-					++foodCount;
-				}
-			}
+		foodCount = food.cardinality();
+
+		bonusLocation = maze.bonusLocation();
+		pacManBed = maze.pacManBed();
+		portals = maze.portals().toArray(Portal[]::new);
+		// houses have doors with state, so each world gets its own copies
+		houses = maze.houses().stream().map(ArcadeWorld::copy).toArray(House[]::new);
+		oneWayTiles = maze.oneWayTiles().toArray(OneWayTile[]::new);
+
+		// component indices, so per-tile queries don't depend on the number of components
+		houseTiles = new BitSet(numTiles());
+		doorTiles = new BitSet(numTiles());
+		tunnelTiles = new BitSet(numTiles());
+		for (House house : houses) {
+			markTiles(houseTiles, house);
+			house.doors().forEach(door -> markTiles(doorTiles, door));
 		}
+		maze.tunnels().forEach(tunnel -> markTiles(tunnelTiles, tunnel));
 
-		portal = new Portal(Tile.at(0, 17), Tile.at(27, 17), false);
+		// food index, maintained by removeFood() and restoreFood()
+		remainingPellets = new BitSet(numTiles());
+		remainingEnergizers = new BitSet(numTiles());
+		restoreFood();
 
-		pacManBed = new Bed(13, 26, Direction.RIGHT);
-
-		//@formatter:off
-		house =	new HouseBuilder()
-			.layout(10, 15, 8, 5)
-			.door(Direction.DOWN, 13, 15, 2, 1)
-			.bed(13, 14, Direction.LEFT)
-			.bed(11, 17, Direction.UP)
-			.bed(13, 17, Direction.DOWN)
-			.bed(15, 17, Direction.UP)
-			.build();
-
-		oneWayTiles = new OneWayTile[] {
-			new OneWayTile(12, 13, Direction.DOWN), 
-			new OneWayTile(15, 13, Direction.DOWN),
-			new OneWayTile(12, 25, Direction.DOWN), 
-			new OneWayTile(15, 25, Direction.DOWN)
-		};
-		
-		tunnels = new TiledRectangle[] {
-			new TiledRectangle(1, 17, 5, 1),
-			new TiledRectangle(22, 17, 5, 1),
-		};
-		
-		energizerTiles = new Tile[] {
-			Tile.at(1,6),	Tile.at(26,6), Tile.at(1,26),	Tile.at(26,26),
-		};
+		computeNeighbors();
 
 		// compute intersections *after* houses have been built!
 		intersections = new BitSet(numTiles());
-		for (int row = 0; row < height(); ++row) {
-			for (int col = 0; col < width(); ++col) {
-				Tile tile = Tile.at(col, row);
-				boolean intersection = Direction.dirs()
-					.map(dir -> neighbor(tile, dir))
-					.filter(this::isAccessible)
-					.filter(this::outsideHouse)
-					.count() > 2;
-				intersections.set(bitIndex(row, col), intersection);
+		for (int i = 0; i < numTiles(); ++i) {
+			int accessibleNeighbors = 0;
+			for (Direction dir : Direction.values()) {
+				int neighbor = neighborIndex(i, dir);
+				if (neighbor != NO_TILE && accessible.get(neighbor) && outsideHouse(tile(neighbor))) {
+					++accessibleNeighbors;
+				}
 			}
+			intersections.set(i, accessibleNeighbors > 2);
 		}
-		//@formatter:on
+	}
+
+	private static House copy(House house) {
+		HouseBuilder builder = new HouseBuilder().layout(house.minX(), house.minY(), house.width(), house.height());
+		house.doors().forEach(door -> builder.door(door.intoHouse, door.minX(), door.minY(), door.width(), door.height()));
+		house.beds().forEach(builder::bed);
+		return builder.build();
+	}
+
+	private void markTiles(BitSet bits, TileRegion region) {
+		region.tiles().filter(this::insideWorld).forEach(tile -> bits.set(bitIndex(tile.row, tile.col)));
 	}
 
 	private int bitIndex(int row, int col) {
@@ -175,7 +223,7 @@ public class ArcadeWorld extends AbstractTiledWorld {
 	}
 
 	private boolean outsideHouse(Tile tile) {
-		return houses().noneMatch(h -> h.includes(tile));
+		return !insideWorld(tile) || !houseTiles.get(bitIndex(tile.row, tile.col));
 	}
 
 	@Override
@@ -195,17 +243,22 @@ public class ArcadeWorld extends AbstractTiledWorld {
 
 	@Override
 	public boolean isTunnel(Tile tile) {
-		return Arrays.stream(tunnels).anyMatch(tunnel -> tunnel.includes(tile));
+		return insideWorld(tile) && tunnelTiles.get(bitIndex(tile.row, tile.col));
+	}
+
+	@Override
+	public boolean isDoor(Tile tile) {
+		return insideWorld(tile) && doorTiles.get(bitIndex(tile.row, tile.col));
 	}
 
 	@Override
 	public Stream<House> houses() {
-		return Stream.of(house);
+		return Arrays.stream(houses);
 	}
 
 	@Override
 	public Optional<House> house(int i) {
-		return i == 0 ? Optional.of(house) : Optional.empty();
+		return 0 <= i && i < houses.length ? Optional.of(houses[i]) : Optional.empty();
 	}
 
 	@Override
@@ -215,7 +268,17 @@ public class ArcadeWorld extends AbstractTiledWorld {
 
 	@Override
 	public Stream<Portal> portals() {
-		return Stream.of(portal);
+		return Arrays.stream(portals);
+	}
+
+	@Override
+	public boolean isPortal(Tile tile) {
+		for (Portal portal : portals) {
+			if (portal.includes(tile)) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	@Override
@@ -225,14 +288,130 @@ public class ArcadeWorld extends AbstractTiledWorld {
 
 	@Override
 	public void restoreFood() {
+		++foodModCount;
 		eaten.clear();
+		remainingPellets.clear();
+		remainingPellets.or(food);
+		remainingPellets.andNot(energizers);
+		remainingEnergizers.clear();
+		remainingEnergizers.or(food);
+		remainingEnergizers.and(energizers);
+	}
+
+	@Override
+	public void restoreFood(BitSet eatenTiles) {
+		restoreFood();
+		eatenTiles.stream().forEach(i -> {
+			if (food.get(i)) {
+				eaten.set(i);
+				remainingPellets.clear(i);
+				remainingEnergizers.clear(i);
+			}
+		});
+	}
+
+	@Override
+	public void remainingFood(Food kind, BitSet tiles) {
+		tiles.clear();
+		if (kind == ArcadeFood.PELLET) {
+			tiles.or(remainingPellets);
+		} else if (kind == ArcadeFood.ENERGIZER) {
+			tiles.or(remainingEnergizers);
+		}
+	}
+
+	@Override
+	public BitSet eatenFood() {
+		return (BitSet) eaten.clone();
 	}
 
 	@Override
 	public void removeFood(Tile tile) {
 		if (insideWorld(tile)) {
-			eaten.set(bitIndex(tile.row, tile.col), true);
+			int i = bitIndex(tile.row, tile.col);
+			if (food.get(i) && !eaten.get(i)) {
+				++foodModCount;
+			}
+			eaten.set(i, true);
+			remainingPellets.clear(i);
+			remainingEnergizers.clear(i);
+		}
+	}
+
+	@Override
+	public int foodModCount() {
+		return foodModCount;
+	}
+
+	@Override
+	public Optional<Tile> nearestFood(Tile location) {
+		int pellet = nearest(remainingPellets, location);
+		int energizer = nearest(remainingEnergizers, location);
+		if (pellet == -1) {
+			return energizer != -1 ? Optional.of(tile(energizer)) : Optional.empty();
+		}
+		return Optional.of(tile(better(pellet, energizer, location)));
+	}
+
+	@Override
+	public Optional<Tile> nearestFood(Food food, Tile location) {
+		BitSet remaining = food == ArcadeFood.ENERGIZER ? remainingEnergizers
+				: food == ArcadeFood.PELLET ? remainingPellets : null;
+		if (remaining == null) {
+			return Optional.empty();
+		}
+		int nearest = nearest(remaining, location);
+		return nearest != -1 ? Optional.of(tile(nearest)) : Optional.empty();
+	}
+
+	private int distance(int bitIndex, Tile location) {
+		return Math.abs(bitIndex % width() - location.col) + Math.abs(bitIndex / width() - location.row);
+	}
+
+	/*
+	 * Searches the rows in order of increasing distance from the location and stops as soon as no nearer tile is possible.
+	 * In each row, the nearest set bits left and right of the location column are found by BitSet.previousSetBit() and
+	 * nextSetBit(). These scan the bits word by word (64 tiles per step) and may run past the row if there is no set bit
+	 * on one side, so the cost per row is linear in the distance to the next set bit, not constant.
+	 */
+	private int nearest(BitSet tiles, Tile location) {
+		if (tiles.isEmpty()) {
+			return -1;
+		}
+		int col = Math.max(0, Math.min(width() - 1, location.col));
+		int maxRowDistance = Math.max(Math.abs(location.row), Math.abs(height() - 1 - location.row));
+		int best = -1;
+		for (int dr = 0; dr <= maxRowDistance && (best == -1 || dr <= distance(best, location)); ++dr) {
+			best = nearestInRow(tiles, location.row - dr, col, location, best);
+			if (dr > 0) {
+				best = nearestInRow(tiles, location.row + dr, col, location, best);
+			}
+		}
+		return best;
+	}
+
+	private int nearestInRow(BitSet tiles, int row, int col, Tile location, int best) {
+		if (row < 0 || row >= height()) {
+			return best;
+		}
+		int rowStart = bitIndex(row, 0);
+		int left = tiles.previousSetBit(rowStart + col);
+		int right = tiles.nextSetBit(rowStart + col);
+		if (left >= rowStart) {
+			best = better(left, best, location);
+		}
+		if (right != -1 && right < rowStart + width()) {
+			best = better(right, best, location);
+		}
+		return best;
+	}
+
+	private int better(int candidate, int best, Tile location) {
+		if (best == -1) {
+			return candidate;
 		}
+		int candidateDistance = distance(candidate, location), bestDistance = distance(best, location);
+		return candidateDistance < bestDistance || candidateDistance == bestDistance && candidate < best ? candidate : best;
 	}
 
 	@Override
@@ -259,6 +438,7 @@ public class ArcadeWorld extends AbstractTiledWorld {
 			throw new IllegalArgumentException("Cannot add this type of bonus food to Arcade world");
 		}
 		bonus = (ArcadeBonus) food;
+		bonus.placeAt(bonusLocation);
 		bonus.activate();
 	}
 
@@ -278,7 +458,7 @@ public class ArcadeWorld extends AbstractTiledWorld {
 			return Optional.of(bonus);
 		}
 		if (hasFood(location)) {
-			if (Arrays.stream(energizerTiles).anyMatch(energizer -> energizer.equals(location))) {
+			if (energizers.get(bitIndex(location.row, location.col))) {
 				return Optional.of(ArcadeFood.ENERGIZER);
 			}
 			return Optional.of(ArcadeFood.PELLET);
@@ -0,0 +1,343 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.model.world.arcade;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import de.amr.games.pacmanfsm.lib.Direction;
+import de.amr.games.pacmanfsm.lib.Tile;
+import de.amr.games.pacmanfsm.model.world.api.TileRegion;
+import de.amr.games.pacmanfsm.model.world.components.Bed;
+import de.amr.games.pacmanfsm.model.world.components.Door;
+import de.amr.games.pacmanfsm.model.world.components.House;
+import de.amr.games.pacmanfsm.model.world.components.HouseBuilder;
+import de.amr.games.pacmanfsm.model.world.components.OneWayTile;
+import de.amr.games.pacmanfsm.model.world.components.Portal;
+import de.amr.games.pacmanfsm.model.world.components.TiledRectangle;
+
+/**
+ * Maze data of an {@link ArcadeWorld}: tile grid and components.
+ * <p>
+ * Mazes can be stored in a compact binary file. The tile grid is packed into 2 bits per tile (0 = space, 1 = wall, 2 =
+ * pellet, 3 = energizer), followed by one section per component type. All numbers are big-endian, coordinates and
+ * counts are unsigned 16-bit values, directions are given by their ordinal.
+ * 
+ * <pre>
+ * file     = magic("PMZ1") u16(width) u16(height) grid section* u8(END)
+ * grid     = ceil(width * height / 4) bytes, tile i stored in bits 2*(i%4) and 2*(i%4)+1 of byte i/4
+ * section  = u8(tag) u16(count) record*
+ * BONUS    = 'b': col row                                   (count = 1)
+ * BED      = 'p': col row u8(exitDir)                       (count = 1, Pac-Man's bed)
+ * PORTAL   = 'o': col row col row u8(vertical)
+ * HOUSE    = 'h': col row width height u8(doors) door* u8(beds) bed*
+ * door     = u8(intoHouse) col row width height
+ * bed      = col row u8(exitDir)
+ * ONE_WAY  = 'w': col row u8(dir)
+ * TUNNEL   = 't': col row width height
+ * END      = 0
+ * </pre>
+ * 
+ * Loading maps the file into memory and decodes the grid word by word into the bit sets, so even very large generated
+ * mazes load quickly.
+ * 
+ * @author Armin Reichert
+ */
+public record Maze(int width, int height, BitSet accessible, BitSet food, BitSet energizers, Tile bonusLocation,
+		Bed pacManBed, List<Portal> portals, List<House> houses, List<OneWayTile> oneWayTiles,
+		List<TiledRectangle> tunnels) {
+
+	private static final byte[] MAGIC = { 'P', 'M', 'Z', '1' };
+	private static final int END = 0;
+	private static final int BONUS = 'b';
+	private static final int PACMAN_BED = 'p';
+	private static final int PORTAL = 'o';
+	private static final int HOUSE = 'h';
+	private static final int ONE_WAY = 'w';
+	private static final int TUNNEL = 't';
+
+	public static final int SPACE = 0;
+	public static final int WALL = 1;
+	public static final int PELLET = 2;
+	public static final int ENERGIZER = 3;
+
+	/**
+	 * Creates a maze from a tile grid.
+	 * 
+	 * @param grid          tile codes indexed by row and column
+	 * @param bonusLocation tile where the bonus appears
+	 * @param pacManBed     Pac-Man's bed
+	 * @param portals       portals
+	 * @param houses        ghost houses
+	 * @param oneWayTiles   one-way tiles
+	 * @param tunnels       tunnels
+	 * @return the maze
+	 */
+	public static Maze of(byte[][] grid, Tile bonusLocation, Bed pacManBed, List<Portal> portals, List<House> houses,
+			List<OneWayTile> oneWayTiles, List<TiledRectangle> tunnels) {
+		int height = grid.length, width = grid[0].length;
+		BitSet accessible = new BitSet(width * height);
+		BitSet food = new BitSet(width * height);
+		BitSet energizers = new BitSet(width * height);
+		for (int row = 0; row < height; ++row) {
+			for (int col = 0; col < width; ++col) {
+				int i = row * width + col, code = grid[row][col];
+				accessible.set(i, code != WALL);
+				food.set(i, code == PELLET || code == ENERGIZER);
+				energizers.set(i, code == ENERGIZER);
+			}
+		}
+		return new Maze(width, height, accessible, food, energizers, bonusLocation, pacManBed, List.copyOf(portals),
+				List.copyOf(houses), List.copyOf(oneWayTiles), List.copyOf(tunnels));
+	}
+
+	/**
+	 * @param col column
+	 * @param row row
+	 * @return tile code ({@link #SPACE}, {@link #WALL}, {@link #PELLET} or {@link #ENERGIZER}) at the given position
+	 */
+	public int code(int col, int row) {
+		int i = row * width + col;
+		return energizers.get(i) ? ENERGIZER : food.get(i) ? PELLET : accessible.get(i) ? SPACE : WALL;
+	}
+
+	/**
+	 * Writes this maze to the given file.
+	 * 
+	 * @param path file path
+	 * @throws IOException if writing fails
+	 */
+	public void save(Path path) throws IOException {
+		ByteBuffer buffer = encode();
+		try (FileChannel channel = FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+	}
+
+	/**
+	 * @return CRC-32 checksum of the file representation of this maze
+	 */
+	public long checksum() {
+		CRC32 crc = new CRC32();
+		crc.update(encode());
+		return crc.getValue();
+	}
+
+	private ByteBuffer encode() {
+		int n = width * height;
+		int houseBytes = houses.stream().mapToInt(house -> 10 + 9 * (int) house.doors().count() + 5 * (int) house.beds().count())
+				.sum();
+		int size = MAGIC.length + 4 + (n + 3) / 4 + 3 + 4 + 3 + 5 + 3 + 9 * portals.size() + 3 + houseBytes + 3
+				+ 5 * oneWayTiles.size() + 3 + 8 * tunnels.size() + 1;
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+		buffer.put(MAGIC);
+		putU16(buffer, width);
+		putU16(buffer, height);
+		for (int i = 0; i < n; i += 4) {
+			int b = 0;
+			for (int k = 0; k < 4 && i + k < n; ++k) {
+				b |= code((i + k) % width, (i + k) / width) << 2 * k;
+			}
+			buffer.put((byte) b);
+		}
+		section(buffer, BONUS, 1);
+		putTile(buffer, bonusLocation);
+		section(buffer, PACMAN_BED, 1);
+		putU16(buffer, pacManBed.minX());
+		putU16(buffer, pacManBed.minY());
+		buffer.put((byte) pacManBed.exitDir.ordinal());
+		section(buffer, PORTAL, portals.size());
+		for (Portal portal : portals) {
+			putTile(buffer, portal.either);
+			putTile(buffer, portal.other);
+			buffer.put((byte) (portal.vertical ? 1 : 0));
+		}
+		section(buffer, HOUSE, houses.size());
+		for (House house : houses) {
+			putRegion(buffer, house);
+			buffer.put((byte) house.doors().count());
+			house.doors().forEach(door -> {
+				buffer.put((byte) door.intoHouse.ordinal());
+				putRegion(buffer, door);
+			});
+			buffer.put((byte) house.beds().count());
+			house.beds().forEach(bed -> {
+				putU16(buffer, bed.minX());
+				putU16(buffer, bed.minY());
+				buffer.put((byte) bed.exitDir.ordinal());
+			});
+		}
+		section(buffer, ONE_WAY, oneWayTiles.size());
+		for (OneWayTile oneWayTile : oneWayTiles) {
+			putTile(buffer, oneWayTile.tile);
+			buffer.put((byte) oneWayTile.dir.ordinal());
+		}
+		section(buffer, TUNNEL, tunnels.size());
+		for (TiledRectangle tunnel : tunnels) {
+			putRegion(buffer, tunnel);
+		}
+		buffer.put((byte) END);
+		buffer.flip();
+		return buffer;
+	}
+
+	/**
+	 * Reads a maze from the given file.
+	 * 
+	 * @param path file path
+	 * @return the maze
+	 * @throws IOException if reading fails or the file is no valid maze
+	 */
+	public static Maze load(Path path) throws IOException {
+		ByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(path, READ)) {
+			// the mapping stays valid after the channel has been closed
+			buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+		}
+		try {
+			byte[] magic = new byte[MAGIC.length];
+			buffer.get(magic);
+			if (!Arrays.equals(magic, MAGIC)) {
+				throw new IOException("Not a maze file: " + path);
+			}
+			int width = getU16(buffer), height = getU16(buffer);
+			if (width == 0 || height == 0) {
+				throw new IOException("Maze has no tiles: " + path);
+			}
+			int n = width * height;
+			long[] accessible = new long[(n + 63) / 64];
+			long[] food = new long[accessible.length];
+			long[] energizers = new long[accessible.length];
+			for (int i = 0; i < n; i += 4) {
+				int b = buffer.get() & 0xFF;
+				for (int k = 0; k < 4 && i + k < n; ++k) {
+					int code = b >>> 2 * k & 3;
+					int word = (i + k) >>> 6;
+					long bit = 1L << (i + k);
+					if (code != WALL) {
+						accessible[word] |= bit;
+					}
+					if (code == PELLET || code == ENERGIZER) {
+						food[word] |= bit;
+					}
+					if (code == ENERGIZER) {
+						energizers[word] |= bit;
+					}
+				}
+			}
+			Tile bonusLocation = null;
+			Bed pacManBed = null;
+			List<Portal> portals = new ArrayList<>();
+			List<House> houses = new ArrayList<>();
+			List<OneWayTile> oneWayTiles = new ArrayList<>();
+			List<TiledRectangle> tunnels = new ArrayList<>();
+			for (int tag = buffer.get(); tag != END; tag = buffer.get()) {
+				int count = getU16(buffer);
+				for (int i = 0; i < count; ++i) {
+					switch (tag) {
+					case BONUS -> bonusLocation = getTile(buffer);
+					case PACMAN_BED -> pacManBed = new Bed(getU16(buffer), getU16(buffer), getDir(buffer));
+					case PORTAL -> portals.add(new Portal(getTile(buffer), getTile(buffer), buffer.get() != 0));
+					case HOUSE -> houses.add(getHouse(buffer));
+					case ONE_WAY -> oneWayTiles.add(new OneWayTile(getU16(buffer), getU16(buffer), getDir(buffer)));
+					case TUNNEL -> tunnels.add(new TiledRectangle(getU16(buffer), getU16(buffer), getU16(buffer), getU16(buffer)));
+					default -> throw new IOException(String.format("Unknown maze section '%c': %s", (char) tag, path));
+					}
+				}
+			}
+			if (bonusLocation == null || pacManBed == null) {
+				throw new IOException("Maze has no bonus location or no Pac-Man bed: " + path);
+			}
+			return new Maze(width, height, BitSet.valueOf(accessible), BitSet.valueOf(food), BitSet.valueOf(energizers),
+					bonusLocation, pacManBed, List.copyOf(portals), List.copyOf(houses), List.copyOf(oneWayTiles),
+					List.copyOf(tunnels));
+		} catch (BufferUnderflowException | IllegalArgumentException x) {
+			throw new IOException("Maze file is truncated or corrupt: " + path);
+		}
+	}
+
+	private static House getHouse(ByteBuffer buffer) {
+		HouseBuilder builder = new HouseBuilder().layout(getU16(buffer), getU16(buffer), getU16(buffer), getU16(buffer));
+		for (int doors = buffer.get() & 0xFF; doors > 0; --doors) {
+			builder.door(new Door(getDir(buffer), getU16(buffer), getU16(buffer), getU16(buffer), getU16(buffer)));
+		}
+		for (int beds = buffer.get() & 0xFF; beds > 0; --beds) {
+			builder.bed(getU16(buffer), getU16(buffer), getDir(buffer));
+		}
+		return builder.build();
+	}
+
+	private static void section(ByteBuffer buffer, int tag, int count) {
+		buffer.put((byte) tag);
+		putU16(buffer, count);
+	}
+
+	private static void putU16(ByteBuffer buffer, int value) {
+		buffer.putShort((short) value);
+	}
+
+	private static void putTile(ByteBuffer buffer, Tile tile) {
+		putU16(buffer, tile.col);
+		putU16(buffer, tile.row);
+	}
+
+	private static void putRegion(ByteBuffer buffer, TileRegion region) {
+		putU16(buffer, region.minX());
+		putU16(buffer, region.minY());
+		putU16(buffer, region.width());
+		putU16(buffer, region.height());
+	}
+
+	private static int getU16(ByteBuffer buffer) {
+		return buffer.getShort() & 0xFFFF;
+	}
+
+	private static Tile getTile(ByteBuffer buffer) {
+		return Tile.at(getU16(buffer), getU16(buffer));
+	}
+
+	private static Direction getDir(ByteBuffer buffer) {
+		int ordinal = buffer.get() & 0xFF;
+		if (ordinal >= Direction.values().length) {
+			throw new IllegalArgumentException("Illegal direction: " + ordinal);
+		}
+		return Direction.values()[ordinal];
+	}
+}
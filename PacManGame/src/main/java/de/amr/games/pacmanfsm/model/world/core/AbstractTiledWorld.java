@@ -29,6 +29,7 @@ import java.util.List;
 
 import de.amr.easy.game.entity.Entity;
 import de.amr.easy.game.math.V2f;
+import de.amr.games.pacmanfsm.lib.CountingRandom;
 import de.amr.games.pacmanfsm.lib.Direction;
 import de.amr.games.pacmanfsm.lib.Tile;
 import de.amr.games.pacmanfsm.model.world.api.TiledWorld;
@@ -43,6 +44,9 @@ import de.amr.games.pacmanfsm.model.world.components.TiledRectangle;
 public abstract class AbstractTiledWorld extends TiledRectangle implements TiledWorld {
 
 	private final Collection<Entity> outsiders = new HashSet<>();
+	private final CountingRandom random = new CountingRandom();
+	private final Tile[] tileTable;
+	private int[] neighbors;
 	private Tile capeNW;
 	private Tile capeNE;
 	private Tile capeSE;
@@ -53,6 +57,11 @@ public abstract class AbstractTiledWorld extends TiledRectangle implements Tiled
 
 	protected AbstractTiledWorld(int width, int height) {
 		super(0, 0, width, height);
+		// large worlds have tiles outside of the tile cache, so looking up a tile by index must not go through Tile.at()
+		tileTable = new Tile[width * height];
+		for (int i = 0; i < tileTable.length; ++i) {
+			tileTable[i] = Tile.at(i % width, i / width);
+		}
 	}
 
 	private void computeCapes() {
@@ -83,21 +92,79 @@ public abstract class AbstractTiledWorld extends TiledRectangle implements Tiled
 		return 0 <= tile.row && tile.row < height() && 0 <= tile.col && tile.col < width();
 	}
 
+	/**
+	 * Computes the neighbor table (4 entries per tile, portals resolved). Must be called by subclasses after all portals
+	 * have been created.
+	 */
+	protected void computeNeighbors() {
+		int[] table = new int[4 * numTiles()];
+		for (int i = 0; i < numTiles(); ++i) {
+			Tile tile = tile(i);
+			for (Direction dir : Direction.values()) {
+				table[4 * i + dir.ordinal()] = index(walk(tile, dir, 1));
+			}
+		}
+		neighbors = table;
+	}
+
 	@Override
-	public Tile tileToDir(Tile tile, Direction dir, int n) {
-		if (n == 0) {
-			return tile;
+	public int index(Tile tile) {
+		return includes(tile) ? tile.row * width() + tile.col : NO_TILE;
+	}
+
+	@Override
+	public Tile tile(int index) {
+		return tileTable[index];
+	}
+
+	@Override
+	public Tile tile(int col, int row) {
+		// no allocation for tiles of large worlds outside of the tile cache
+		if (0 <= col && col < width() && 0 <= row && row < height()) {
+			return tileTable[row * width() + col];
+		}
+		return Tile.at(col, row);
+	}
+
+	@Override
+	public int neighborIndex(int index, Direction dir) {
+		if (neighbors == null) {
+			return index(walk(tile(index), dir, 1));
 		}
+		return neighbors[4 * index + dir.ordinal()];
+	}
+
+	@Override
+	public Tile neighbor(Tile tile, Direction dir) {
+		int index = index(tile);
+		if (index != NO_TILE && neighbors != null) {
+			int neighborIndex = neighbors[4 * index + dir.ordinal()];
+			// portals are inside the world, so a neighbor outside of the world is always the adjacent tile
+			return neighborIndex != NO_TILE ? tile(neighborIndex) : tile.towards(dir);
+		}
+		return walk(tile, dir, 1);
+	}
+
+	@Override
+	public Tile tileToDir(Tile tile, Direction dir, int n) {
 		if (n < 0) {
 			throw new IllegalArgumentException("Number of tiles must be non-negative, but is " + n);
 		}
+		while (n-- > 0) {
+			tile = neighbor(tile, dir);
+		}
+		return tile;
+	}
+
+	// walks n tiles towards the given direction without using the neighbor table
+	private Tile walk(Tile tile, Direction dir, int n) {
 		V2f dirVector = dir.vector();
 		int dx = dirVector.roundedX();
 		int dy = dirVector.roundedY();
 		int col = tile.col;
 		int row = tile.row;
 		while (n-- > 0) {
-			Tile t = Tile.at(col, row);
+			Tile t = tile(col, row);
 			if (isPortal(t)) {
 				Portal portal = portals().filter(p -> p.includes(t)).findAny().orElse(null);
 				if (portal == null) {
@@ -127,7 +194,12 @@ public abstract class AbstractTiledWorld extends TiledRectangle implements Tiled
 				row += dy;
 			}
 		}
-		return Tile.at(col, row);
+		return tile(col, row);
+	}
+
+	@Override
+	public CountingRandom random() {
+		return random;
 	}
 
 	@Override
@@ -23,6 +23,7 @@ SOFTWARE.
  */
 package de.amr.games.pacmanfsm.model.world.core;
 
+import java.util.BitSet;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -38,6 +39,7 @@ public class EmptyWorld extends AbstractTiledWorld {
 
 	public EmptyWorld(int horizontalTiles, int verticalTiles) {
 		super(horizontalTiles, verticalTiles);
+		computeNeighbors();
 	}
 
 	@Override
@@ -105,6 +107,36 @@ public class EmptyWorld extends AbstractTiledWorld {
 		return false;
 	}
 
+	@Override
+	public BitSet eatenFood() {
+		return new BitSet();
+	}
+
+	@Override
+	public int foodModCount() {
+		return 0;
+	}
+
+	@Override
+	public void remainingFood(Food food, BitSet tiles) {
+		tiles.clear();
+	}
+
+	@Override
+	public void restoreFood(BitSet eaten) {
+		// nothing to do
+	}
+
+	@Override
+	public Optional<Tile> nearestFood(Tile location) {
+		return Optional.empty();
+	}
+
+	@Override
+	public Optional<Tile> nearestFood(Food food, Tile location) {
+		return Optional.empty();
+	}
+
 	@Override
 	public Optional<TemporaryFood> temporaryFood() {
 		return Optional.empty();
@@ -46,7 +46,7 @@ public abstract class TileWorldEntity extends Entity {
 	 * @return tile location of this guy
 	 */
 	public Tile tile() {
-		return Tile.at(col(), row());
+		return world.tile(col(), row());
 	}
 
 	/**
@@ -0,0 +1,184 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.simulation;
+
+import static de.amr.easy.game.Application.loginfo;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+
+import de.amr.games.pacmanfsm.PacManApp.PacManAppSettings;
+
+/**
+ * Runs many headless games concurrently, each game in its own {@link HeadlessGame} session, and aggregates the
+ * results.
+ * <p>
+ * Each game is started with its own seed (first seed, first seed + 1, ...) so the results do not depend on the number
+ * of threads used.
+ * 
+ * @author Armin Reichert
+ */
+public class BatchSimulation {
+
+	public static class BatchSettings extends PacManAppSettings {
+
+		@Parameter(names = { "-games" }, description = "Number of games to simulate")
+		public int games = 100;
+
+		@Parameter(names = { "-seed" }, description = "Seed of the first game, following games use seed + 1, seed + 2...")
+		public long seed = 0;
+
+		@Parameter(names = { "-maxTicks" }, description = "Maximum number of ticks simulated per game")
+		public long maxTicks = 1_000_000;
+
+		@Parameter(names = { "-threads" }, description = "Number of worker threads (default: number of processors)")
+		public int threads = Runtime.getRuntime().availableProcessors();
+
+		@Parameter(names = { "-scaling" }, description = "Measure games/sec for 1, 2, 4, ... up to the given threads")
+		public boolean scaling = false;
+	}
+
+	/**
+	 * Result of a single simulated game.
+	 */
+	public record GameResult(long seed, int score, int level, long ticks, boolean gameOver) {
+	}
+
+	/**
+	 * Aggregated results of a batch of games.
+	 */
+	public static class BatchResult {
+
+		public final List<GameResult> games;
+		public final double seconds;
+
+		public BatchResult(List<GameResult> games, double seconds) {
+			this.games = games;
+			this.seconds = seconds;
+		}
+
+		public long totalTicks() {
+			return games.stream().mapToLong(GameResult::ticks).sum();
+		}
+
+		public double averageScore() {
+			return games.stream().mapToInt(GameResult::score).average().orElse(0);
+		}
+
+		public int maxScore() {
+			return games.stream().mapToInt(GameResult::score).max().orElse(0);
+		}
+
+		public double averageLevel() {
+			return games.stream().mapToInt(GameResult::level).average().orElse(0);
+		}
+
+		public int maxLevel() {
+			return games.stream().mapToInt(GameResult::level).max().orElse(0);
+		}
+
+		public double averageTicks() {
+			return games.stream().mapToLong(GameResult::ticks).average().orElse(0);
+		}
+
+		public double gamesPerSecond() {
+			return games.size() / seconds;
+		}
+
+		public double ticksPerSecond() {
+			return totalTicks() / seconds;
+		}
+	}
+
+	public static void main(String[] args) {
+		BatchSettings settings = new BatchSettings();
+		JCommander.newBuilder().addObject(settings).build().parse(args);
+		if (settings.scaling) {
+			double singleThreaded = 0;
+			for (int threads = 1; threads <= settings.threads; threads *= 2) {
+				BatchResult result = new BatchSimulation(settings, threads).run(settings.seed, settings.games,
+						settings.maxTicks);
+				if (threads == 1) {
+					singleThreaded = result.gamesPerSecond();
+				}
+				loginfo("%2d threads: %.1f games/sec, %.0f ticks/sec, speedup %.2f", threads, result.gamesPerSecond(),
+						result.ticksPerSecond(), result.gamesPerSecond() / singleThreaded);
+			}
+		} else {
+			BatchResult result = new BatchSimulation(settings, settings.threads).run(settings.seed, settings.games,
+					settings.maxTicks);
+			loginfo("%d games on %d threads in %.2f sec (%.1f games/sec, %.0f ticks/sec)", result.games.size(),
+					settings.threads, result.seconds, result.gamesPerSecond(), result.ticksPerSecond());
+			loginfo("Score: average %.0f, max %d", result.averageScore(), result.maxScore());
+			loginfo("Level: average %.2f, max %d", result.averageLevel(), result.maxLevel());
+			loginfo("Ticks survived: average %.0f", result.averageTicks());
+		}
+	}
+
+	private final PacManAppSettings settings;
+	private final int threads;
+
+	/**
+	 * @param settings game settings shared by all games (read-only)
+	 * @param threads  number of worker threads
+	 */
+	public BatchSimulation(PacManAppSettings settings, int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("Number of threads must be positive but is " + threads);
+		}
+		this.settings = settings;
+		this.threads = threads;
+	}
+
+	/**
+	 * Simulates the given number of games on a fork-join pool and waits until all games are finished.
+	 * 
+	 * @param firstSeed seed of the first game
+	 * @param games     number of games
+	 * @param maxTicks  maximum number of ticks per game
+	 * @return the aggregated results, ordered by seed
+	 */
+	public BatchResult run(long firstSeed, int games, long maxTicks) {
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			long start = System.nanoTime();
+			List<GameResult> results = pool.submit(() -> LongStream.range(firstSeed, firstSeed + games).parallel()
+					.mapToObj(seed -> simulate(seed, maxTicks)).toList()).join();
+			return new BatchResult(results, (System.nanoTime() - start) / 1e9);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private GameResult simulate(long seed, long maxTicks) {
+		HeadlessGame game = new HeadlessGame(settings, seed);
+		game.start();
+		game.run(maxTicks);
+		return new GameResult(seed, game.score(), game.level(), game.ticks(), game.isGameOver());
+	}
+}
@@ -0,0 +1,214 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.simulation;
+
+import static de.amr.easy.game.Application.loginfo;
+import static de.amr.games.pacmanfsm.controller.steering.api.SteeringBuilder.you;
+
+import java.util.List;
+
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+
+import de.amr.games.pacmanfsm.PacManApp.PacManAppSettings;
+import de.amr.games.pacmanfsm.controller.creatures.Guy;
+import de.amr.games.pacmanfsm.controller.creatures.ghost.Ghost;
+import de.amr.games.pacmanfsm.controller.creatures.pacman.PacManState;
+import de.amr.games.pacmanfsm.controller.game.GameController;
+import de.amr.games.pacmanfsm.controller.game.GameSnapshot;
+import de.amr.games.pacmanfsm.controller.game.PacManGameState;
+import de.amr.games.pacmanfsm.controller.replay.GameRecording;
+import de.amr.games.pacmanfsm.controller.steering.api.Steering;
+
+/**
+ * Runs the complete game logic without window, sound, keyboard or application clock. Each call of {@link #tick()}
+ * advances the game by one frame, so a game runs as fast as the CPU allows.
+ * <p>
+ * All random decisions are taken by the world's random generator which is seeded at construction. Two games created
+ * with the same seed, settings and Pac-Man steering produce identical states tick by tick.
+ * 
+ * @author Armin Reichert
+ */
+public class HeadlessGame {
+
+	public static class HeadlessSettings extends PacManAppSettings {
+
+		@Parameter(names = { "-games" }, description = "Number of games to simulate")
+		public int games = 10;
+
+		@Parameter(names = { "-seed" }, description = "Seed of the first game, following games use seed + 1, seed + 2...")
+		public long seed = 0;
+
+		@Parameter(names = { "-maxTicks" }, description = "Maximum number of ticks simulated per game")
+		public long maxTicks = 1_000_000;
+	}
+
+	public static void main(String[] args) {
+		HeadlessSettings settings = new HeadlessSettings();
+		JCommander.newBuilder().addObject(settings).build().parse(args);
+		if (settings.replay != null) {
+			replay(settings);
+			return;
+		}
+		long start = System.nanoTime();
+		long totalTicks = 0;
+		for (int i = 0; i < settings.games; ++i) {
+			HeadlessGame game = new HeadlessGame(settings, settings.seed + i);
+			game.start();
+			game.run(settings.maxTicks);
+			// only the first game is recorded
+			settings.record = null;
+			totalTicks += game.ticks();
+			loginfo("Game %d (seed %d): score %d, level %d, %d ticks", i + 1, settings.seed + i, game.score(), game.level(),
+					game.ticks());
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		loginfo("%d games, %d ticks in %.2f sec (%.1f games/sec, %.0f ticks/sec)", settings.games, totalTicks, seconds,
+				settings.games / seconds, totalTicks / seconds);
+	}
+
+	private static void replay(HeadlessSettings settings) {
+		long start = System.nanoTime();
+		HeadlessGame game = new HeadlessGame(settings, settings.seed);
+		game.start();
+		game.run(settings.maxTicks);
+		GameRecording replay = game.controller.replay();
+		if (replay == null) {
+			return;
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		boolean same = game.score() == replay.score() && game.level() == replay.level();
+		loginfo("Replay: score %d, level %d, %d ticks in %.2f sec", game.score(), game.level(), game.ticks(), seconds);
+		loginfo("Recording: score %d, level %d, replay %s", replay.score(), replay.level(), same ? "matches" : "differs");
+	}
+
+	public final GameController controller;
+	private long ticks;
+
+	/**
+	 * Creates a headless game where Pac-Man moves randomly.
+	 * 
+	 * @param settings game settings
+	 * @param seed     seed for all random decisions in this game
+	 */
+	public HeadlessGame(PacManAppSettings settings, long seed) {
+		controller = new GameController(settings, List.of(), true);
+		controller.world.random().setSeed(seed);
+		you(controller.folks.pacMan).moveRandomly().ok();
+	}
+
+	/**
+	 * @param steering steering used by Pac-Man while awake or powerful
+	 */
+	public void setPacManSteering(Steering steering) {
+		controller.folks.pacMan.setSteering(PacManState.AWAKE, steering);
+	}
+
+	/**
+	 * Starts a new game.
+	 */
+	public void start() {
+		ticks = 0;
+		controller.init();
+	}
+
+	/**
+	 * Advances the game by one tick.
+	 */
+	public void tick() {
+		controller.update();
+		++ticks;
+	}
+
+	/**
+	 * Runs the game until it is over or the given number of ticks has been simulated.
+	 * 
+	 * @param maxTicks maximum number of ticks
+	 * @return number of ticks simulated by this call
+	 */
+	public long run(long maxTicks) {
+		long ticksBefore = ticks;
+		while (!isGameOver() && ticks - ticksBefore < maxTicks) {
+			tick();
+		}
+		return ticks - ticksBefore;
+	}
+
+	/**
+	 * Restores a game snapshot taken by this game's controller.
+	 * 
+	 * @param snapshot snapshot
+	 * @param tick     tick at which the snapshot has been taken
+	 */
+	public void restore(GameSnapshot snapshot, long tick) {
+		controller.restore(snapshot);
+		ticks = tick;
+	}
+
+	public boolean isGameOver() {
+		return controller.getState() == PacManGameState.GAME_OVER;
+	}
+
+	public long ticks() {
+		return ticks;
+	}
+
+	public int score() {
+		return controller.isGameStarted() ? controller.game().score : 0;
+	}
+
+	public int level() {
+		return controller.isGameStarted() ? controller.game().level : 0;
+	}
+
+	/**
+	 * Computes a hash value over the positions, directions and states of all guys and the game counters. Equal games have
+	 * equal fingerprints at every tick.
+	 * 
+	 * @return fingerprint of the current game state
+	 */
+	public long fingerprint() {
+		long hash = 17;
+		hash = 31 * hash + ticks;
+		hash = 31 * hash + (controller.getState() != null ? controller.getState().ordinal() : -1);
+		if (controller.isGameStarted()) {
+			hash = 31 * hash + controller.game().level;
+			hash = 31 * hash + controller.game().score;
+			hash = 31 * hash + controller.game().lives;
+			hash = 31 * hash + controller.game().eatenFoodCount;
+		}
+		for (Guy guy : controller.folks.guys().toArray(Guy[]::new)) {
+			hash = 31 * hash + Float.floatToIntBits(guy.tf.x);
+			hash = 31 * hash + Float.floatToIntBits(guy.tf.y);
+			hash = 31 * hash + (guy.moveDir != null ? guy.moveDir.ordinal() : -1);
+			hash = 31 * hash + (guy.wishDir != null ? guy.wishDir.ordinal() : -1);
+			if (guy instanceof Ghost ghost) {
+				hash = 31 * hash + (ghost.ai.getState() != null ? ghost.ai.getState().ordinal() : -1);
+			}
+		}
+		PacManState pacManState = controller.folks.pacMan.ai.getState();
+		hash = 31 * hash + (pacManState != null ? pacManState.ordinal() : -1);
+		return hash;
+	}
+}
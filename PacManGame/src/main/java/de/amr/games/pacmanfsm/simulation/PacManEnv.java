@@ -0,0 +1,272 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.simulation;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import de.amr.games.pacmanfsm.PacManApp.PacManAppSettings;
+import de.amr.games.pacmanfsm.controller.creatures.Guy;
+import de.amr.games.pacmanfsm.controller.creatures.ghost.Ghost;
+import de.amr.games.pacmanfsm.controller.creatures.pacman.PacMan;
+import de.amr.games.pacmanfsm.controller.creatures.pacman.PacManState;
+import de.amr.games.pacmanfsm.controller.steering.common.FollowingCommands;
+import de.amr.games.pacmanfsm.lib.Direction;
+import de.amr.games.pacmanfsm.model.game.PacManGame;
+import de.amr.games.pacmanfsm.model.world.api.TemporaryFood;
+import de.amr.games.pacmanfsm.model.world.api.TiledWorld;
+import de.amr.games.pacmanfsm.model.world.arcade.ArcadeFood;
+
+/**
+ * Reinforcement learning environment around a {@link HeadlessGame}. An agent calls {@link #step(int)} with one of the
+ * {@link #ACTIONS} and gets the reward, {@link #isDone()} tells if the game is over and {@link #observe(float[], int)}
+ * writes the observation into a buffer provided by the caller.
+ * <p>
+ * The observation consists of {@link #CHANNELS} planes of size world width x world height, one float (0 or 1) per
+ * tile, stored channel by channel in row-major order. The observation is written into a buffer owned by the caller,
+ * so no observation arrays are allocated while stepping.
+ * 
+ * @author Armin Reichert
+ */
+public class PacManEnv {
+
+	/** Actions are the directions in the order UP, RIGHT, DOWN, LEFT. */
+	public static final int ACTIONS = 4;
+
+	/** Tile cannot be entered. */
+	public static final int CHANNEL_WALL = 0;
+	/** Tile has a pellet. */
+	public static final int CHANNEL_PELLET = 1;
+	/** Tile has an energizer. */
+	public static final int CHANNEL_ENERGIZER = 2;
+	/** Pac-Man is located at tile. */
+	public static final int CHANNEL_PACMAN = 3;
+	/** A chasing or scattering ghost is located at tile. */
+	public static final int CHANNEL_GHOST_DANGEROUS = 4;
+	/** A frightened ghost is located at tile. */
+	public static final int CHANNEL_GHOST_FRIGHTENED = 5;
+	/** A ghost inside the house, leaving or entering the house or dead is located at tile. */
+	public static final int CHANNEL_GHOST_HARMLESS = 6;
+	/** The bonus can be eaten at tile. */
+	public static final int CHANNEL_BONUS = 7;
+	/** Number of observation channels. */
+	public static final int CHANNELS = 8;
+
+	/** Reward for losing a life, added to the points gained in the step. */
+	public static final float REWARD_LIFE_LOST = -500;
+
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private final HeadlessGame game;
+	private final TiledWorld world;
+	private final PacMan pacMan;
+	private final Ghost[] ghosts;
+	private final FollowingCommands steering = new FollowingCommands();
+	private final int frameSkip;
+	private final int planeSize;
+	private final float[] planes;
+	private final BitSet foodTiles;
+	private int score;
+	private int lives;
+
+	/**
+	 * Creates an environment where each step simulates a single tick.
+	 * 
+	 * @param settings game settings (read-only)
+	 */
+	public PacManEnv(PacManAppSettings settings) {
+		this(settings, 1);
+	}
+
+	/**
+	 * Creates an environment where each action is repeated for the given number of ticks.
+	 * 
+	 * @param settings  game settings (read-only)
+	 * @param frameSkip number of ticks simulated per step
+	 */
+	public PacManEnv(PacManAppSettings settings, int frameSkip) {
+		if (frameSkip < 1) {
+			throw new IllegalArgumentException("Frame skip must be positive but is " + frameSkip);
+		}
+		this.frameSkip = frameSkip;
+		game = new HeadlessGame(settings, 0);
+		game.setPacManSteering(steering);
+		world = game.controller.world;
+		pacMan = game.controller.folks.pacMan;
+		ghosts = game.controller.folks.ghosts().toArray(Ghost[]::new);
+		planeSize = world.width() * world.height();
+		planes = new float[CHANNELS * planeSize];
+		foodTiles = new BitSet(planeSize);
+		for (int i = 0; i < planeSize; ++i) {
+			if (!world.isAccessible(world.tile(i))) {
+				planes[CHANNEL_WALL * planeSize + i] = 1;
+			}
+		}
+	}
+
+	/**
+	 * @return number of floats written by {@link #observe(float[], int)}
+	 */
+	public int observationSize() {
+		return planes.length;
+	}
+
+	/**
+	 * @return number of ticks simulated per step
+	 */
+	public int frameSkip() {
+		return frameSkip;
+	}
+
+	/**
+	 * @return the underlying headless game
+	 */
+	public HeadlessGame game() {
+		return game;
+	}
+
+	/**
+	 * Starts a new game and simulates it until Pac-Man is awake and the agent can act.
+	 * 
+	 * @param seed seed for all random decisions of the new game
+	 */
+	public void reset(long seed) {
+		world.random().setSeed(seed);
+		steering.command(null);
+		game.start();
+		while (!game.isGameOver() && !pacMan.ai.is(PacManState.AWAKE)) {
+			game.tick();
+		}
+		score = game.score();
+		lives = lives();
+	}
+
+	/**
+	 * Steers Pac-Man into the given direction for the next {@link #frameSkip()} ticks or until the game is over. The
+	 * observation is not computed before {@link #observe(float[], int)} is called.
+	 * 
+	 * @param action action index, see {@link #ACTIONS}
+	 * @return the reward: points gained, plus {@link #REWARD_LIFE_LOST} for each life lost
+	 */
+	public float step(int action) {
+		steering.command(DIRECTIONS[action]);
+		float reward = 0;
+		for (int i = 0; i < frameSkip && !game.isGameOver(); ++i) {
+			game.tick();
+			reward += reward();
+		}
+		return reward;
+	}
+
+	private float reward() {
+		int newScore = game.score();
+		int newLives = lives();
+		float reward = newScore - score;
+		if (newLives < lives) {
+			reward += REWARD_LIFE_LOST;
+		}
+		score = newScore;
+		lives = newLives;
+		return reward;
+	}
+
+	/**
+	 * @return if the game is over
+	 */
+	public boolean isDone() {
+		return game.isGameOver();
+	}
+
+	/**
+	 * Writes the current observation into the given array.
+	 * 
+	 * @param buffer receives the observation
+	 * @param offset index of the first float written
+	 */
+	public void observe(float[] buffer, int offset) {
+		updatePlanes();
+		System.arraycopy(planes, 0, buffer, offset, planes.length);
+	}
+
+	/**
+	 * Writes the current observation into the given buffer, for example a view of a direct byte buffer, starting at its
+	 * current position.
+	 * 
+	 * @param buffer receives the observation
+	 */
+	public void observe(FloatBuffer buffer) {
+		updatePlanes();
+		buffer.put(planes);
+	}
+
+	private int lives() {
+		PacManGame current = game.controller.game();
+		return current != null ? current.lives : 0;
+	}
+
+	private void updatePlanes() {
+		Arrays.fill(planes, planeSize, planes.length, 0);
+		setTiles(CHANNEL_PELLET, ArcadeFood.PELLET);
+		setTiles(CHANNEL_ENERGIZER, ArcadeFood.ENERGIZER);
+		if (world.contains(pacMan)) {
+			setTile(CHANNEL_PACMAN, pacMan);
+		}
+		for (Ghost ghost : ghosts) {
+			if (world.contains(ghost)) {
+				setGhostTile(ghost);
+			}
+		}
+		TemporaryFood bonus = world.temporaryFood().orElse(null);
+		if (bonus != null && bonus.isActive() && !bonus.isConsumed()) {
+			setTile(CHANNEL_BONUS, world.index(bonus.location()));
+		}
+	}
+
+	private void setTiles(int channel, ArcadeFood food) {
+		world.remainingFood(food, foodTiles);
+		for (int i = foodTiles.nextSetBit(0); i >= 0; i = foodTiles.nextSetBit(i + 1)) {
+			planes[channel * planeSize + i] = 1;
+		}
+	}
+
+	private void setGhostTile(Ghost ghost) {
+		switch (ghost.ai.getState()) {
+		case CHASING, SCATTERING -> setTile(CHANNEL_GHOST_DANGEROUS, ghost);
+		case FRIGHTENED -> setTile(CHANNEL_GHOST_FRIGHTENED, ghost);
+		default -> setTile(CHANNEL_GHOST_HARMLESS, ghost);
+		}
+	}
+
+	private void setTile(int channel, Guy guy) {
+		setTile(channel, world.index(guy.tile()));
+	}
+
+	private void setTile(int channel, int index) {
+		// guys inside a portal are outside of the world
+		if (0 <= index && index < planeSize) {
+			planes[channel * planeSize + index] = 1;
+		}
+	}
+}
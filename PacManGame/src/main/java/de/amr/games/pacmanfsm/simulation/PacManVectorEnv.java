@@ -0,0 +1,161 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.simulation;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import de.amr.games.pacmanfsm.PacManApp.PacManAppSettings;
+
+/**
+ * Steps many {@link PacManEnv} environments in lockstep on a fork-join pool such that training throughput scales with
+ * the number of cores.
+ * <p>
+ * Observations, rewards and done flags of all environments are stored in arrays owned by this object and overwritten
+ * by each step. An environment whose game is over is reset automatically, its done flag is set and its observation
+ * shows the start of the new game. The seeds of environment {@code i} are {@code firstSeed + i},
+ * {@code firstSeed + i + n}, {@code firstSeed + i + 2n}... for {@code n} environments, so the results do not depend on
+ * the number of threads.
+ * 
+ * @author Armin Reichert
+ */
+public class PacManVectorEnv implements AutoCloseable {
+
+	private final PacManEnv[] envs;
+	private final long[] seeds;
+	private final ForkJoinPool pool;
+	private final int observationSize;
+
+	/** Observations of all environments, environment {@code i} starts at {@code i * observationSize()}. */
+	public final float[] observations;
+
+	/** Rewards of the last step. */
+	public final float[] rewards;
+
+	/** Done flags of the last step. */
+	public final boolean[] dones;
+
+	/**
+	 * @param settings  game settings shared by all environments (read-only)
+	 * @param n         number of environments
+	 * @param threads   number of worker threads
+	 * @param firstSeed seed of the first game of the first environment
+	 */
+	public PacManVectorEnv(PacManAppSettings settings, int n, int threads, long firstSeed) {
+		this(settings, n, threads, firstSeed, 1);
+	}
+
+	/**
+	 * @param settings  game settings shared by all environments (read-only)
+	 * @param n         number of environments
+	 * @param threads   number of worker threads
+	 * @param firstSeed seed of the first game of the first environment
+	 * @param frameSkip number of ticks each action is repeated
+	 */
+	public PacManVectorEnv(PacManAppSettings settings, int n, int threads, long firstSeed, int frameSkip) {
+		if (n < 1) {
+			throw new IllegalArgumentException("Number of environments must be positive but is " + n);
+		}
+		if (threads < 1) {
+			throw new IllegalArgumentException("Number of threads must be positive but is " + threads);
+		}
+		envs = new PacManEnv[n];
+		seeds = new long[n];
+		for (int i = 0; i < n; ++i) {
+			envs[i] = new PacManEnv(settings, frameSkip);
+			seeds[i] = firstSeed + i;
+		}
+		pool = new ForkJoinPool(threads);
+		observationSize = envs[0].observationSize();
+		observations = new float[n * observationSize];
+		rewards = new float[n];
+		dones = new boolean[n];
+	}
+
+	/**
+	 * @return number of environments
+	 */
+	public int size() {
+		return envs.length;
+	}
+
+	/**
+	 * @return number of floats in the observation of a single environment
+	 */
+	public int observationSize() {
+		return observationSize;
+	}
+
+	/**
+	 * @param i environment index
+	 * @return the environment with the given index
+	 */
+	public PacManEnv env(int i) {
+		return envs[i];
+	}
+
+	/**
+	 * Starts new games in all environments and stores their observations.
+	 */
+	public void reset() {
+		parallel(i -> {
+			envs[i].reset(seeds[i]);
+			envs[i].observe(observations, i * observationSize);
+			rewards[i] = 0;
+			dones[i] = false;
+		});
+	}
+
+	/**
+	 * Performs one step in all environments and waits until all are done.
+	 * 
+	 * @param actions action for each environment, see {@link PacManEnv#ACTIONS}
+	 */
+	public void step(int[] actions) {
+		if (actions.length != envs.length) {
+			throw new IllegalArgumentException(
+					String.format("Expected %d actions but got %d", envs.length, actions.length));
+		}
+		parallel(i -> {
+			PacManEnv env = envs[i];
+			rewards[i] = env.step(actions[i]);
+			dones[i] = env.isDone();
+			if (dones[i]) {
+				seeds[i] += envs.length;
+				env.reset(seeds[i]);
+			}
+			env.observe(observations, i * observationSize);
+		});
+	}
+
+	@Override
+	public void close() {
+		pool.shutdown();
+	}
+
+	private void parallel(IntConsumer action) {
+		pool.submit(() -> IntStream.range(0, envs.length).parallel().forEach(action)).join();
+	}
+}
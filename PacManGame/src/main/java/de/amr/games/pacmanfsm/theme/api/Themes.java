@@ -24,13 +24,16 @@ SOFTWARE.
 package de.amr.games.pacmanfsm.theme.api;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 /**
  * The predefined themes.
+ * <p>
+ * Themes only hold read-only assets, so the registered themes can be shared by all game controllers running in the
+ * same JVM. A game controller itself only uses the list of themes it has been created with.
  * 
  * @author Armin Reichert
  */
@@ -39,7 +42,7 @@ public class Themes {
 	private Themes() {
 	}
 
-	private static final Set<Theme> REGISTERED_THEMES = new HashSet<>();
+	private static final Set<Theme> REGISTERED_THEMES = new CopyOnWriteArraySet<>();
 
 	public static List<Theme> all() {
 		return new ArrayList<>(REGISTERED_THEMES);
@@ -30,4 +30,10 @@ import de.amr.games.pacmanfsm.model.world.api.TiledWorld;
 public interface WorldRenderer {
 
 	void render(Graphics2D g, TiledWorld world);
+
+	/**
+	 * @param numFlashes number of times the maze flashes when a level is completed
+	 */
+	default void setMazeFlashes(int numFlashes) {
+	}
 }
\ No newline at end of file
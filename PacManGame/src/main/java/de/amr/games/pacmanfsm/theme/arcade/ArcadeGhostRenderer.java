@@ -53,17 +53,18 @@ class ArcadeGhostRenderer implements GhostRenderer {
 	@Override
 	public void render(Graphics2D g, Ghost ghost) {
 		if (ghost.visible) {
+			float scale = THEME.scaledSpriteSheet(g).scale();
 			selectSprite(ghost).ifPresent(sprite -> {
-				int spriteWidth = 2 * ghost.tf.width;
-				int spriteHeight = 2 * ghost.tf.height;
+				int spriteWidth = Math.round(2 * ghost.tf.width * scale);
+				int spriteHeight = Math.round(2 * ghost.tf.height * scale);
 				if (spriteWidth != sprite.getWidth() || spriteHeight != sprite.getHeight()) {
 					sprite.scale(spriteWidth, spriteHeight);
 				}
 				int width = ghost.tf.width;
 				int height = ghost.tf.height;
-				float x = ghost.tf.x - (sprite.getWidth() - width) / 2;
-				float y = ghost.tf.y - (sprite.getHeight() - height) / 2;
-				sprite.draw(g, x, y);
+				float x = ghost.tf.x - (sprite.getWidth() / scale - width) / 2;
+				float y = ghost.tf.y - (sprite.getHeight() / scale - height) / 2;
+				SpriteAtlas.drawUnscaled(g, sprite, x, y);
 			});
 		}
 	}
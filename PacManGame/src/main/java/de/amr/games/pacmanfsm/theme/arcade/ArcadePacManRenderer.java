@@ -54,17 +54,18 @@ class ArcadePacManRenderer implements PacManRenderer {
 	@Override
 	public void render(Graphics2D g, PacMan pacMan) {
 		if (pacMan.visible) {
+			float scale = ArcadeTheme.THEME.scaledSpriteSheet(g).scale();
 			selectSprite(pacMan).ifPresent(sprite -> {
-				int spriteWidth = 2 * pacMan.tf.width;
-				int spriteHeight = 2 * pacMan.tf.height;
+				int spriteWidth = Math.round(2 * pacMan.tf.width * scale);
+				int spriteHeight = Math.round(2 * pacMan.tf.height * scale);
 				if (spriteWidth != sprite.getWidth() || spriteHeight != sprite.getHeight()) {
 					sprite.scale(spriteWidth, spriteHeight);
 				}
 				int width = pacMan.tf.width;
 				int height = pacMan.tf.height;
-				float x = pacMan.tf.x - (sprite.getWidth() - width) / 2;
-				float y = pacMan.tf.y - (sprite.getHeight() - height) / 2;
-				sprite.draw(g, x, y);
+				float x = pacMan.tf.x - (sprite.getWidth() / scale - width) / 2;
+				float y = pacMan.tf.y - (sprite.getHeight() / scale - height) / 2;
+				SpriteAtlas.drawUnscaled(g, sprite, x, y);
 			});
 		}
 	}
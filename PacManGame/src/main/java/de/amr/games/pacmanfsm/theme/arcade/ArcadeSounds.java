@@ -23,6 +23,8 @@ SOFTWARE.
  */
 package de.amr.games.pacmanfsm.theme.arcade;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -41,63 +43,113 @@ public class ArcadeSounds implements PacManGameSounds {
 
 	public static final ArcadeSounds SOUNDS = new ArcadeSounds();
 
+	/**
+	 * The sound clips by their role in the game.
+	 */
+	public enum Clip {
+		CRUNCHING("eating"), EAT_FRUIT("eat-fruit"), EAT_GHOST("eat-ghost"), EXTRA_LIFE("extra-life"),
+		GHOST_CHASE("ghost-chase"), GHOST_DEAD("ghost-dead"), INSERT_COIN("insert-coin"), PACMAN_DIES("die"), WAZA("waza");
+
+		private final String file;
+
+		private Clip(String file) {
+			this.file = file;
+		}
+	}
+
 	private static SoundClip mp3(String name) {
 		return Assets.sound("themes/arcade/sounds/" + name + ".mp3");
 	}
 
+	private CompletableFuture<SoundClip[]> clipsLoading;
+	private volatile SoundClip[] clipTable;
+	private List<SoundClip> clipList;
+
 	private SoundClip musicGameReady;
 	private SoundClip musicGameRunning;
 	private SoundClip musicGameOver;
 
+	/**
+	 * @param clip clip role
+	 * @return the sound clip for this role, loaded on first access if not yet preloaded
+	 */
+	public SoundClip clip(Clip clip) {
+		SoundClip[] table = clipTable;
+		if (table == null) {
+			table = awaitClips();
+		}
+		return table[clip.ordinal()];
+	}
+
+	private synchronized SoundClip[] awaitClips() {
+		if (clipTable == null) {
+			loadClips();
+			SoundClip[] table = clipsLoading.join();
+			clipList = List.of(table);
+			clipTable = table;
+		}
+		return clipTable;
+	}
+
+	@Override
+	public synchronized void loadClips() {
+		if (clipsLoading == null) {
+			clipsLoading = CompletableFuture
+					.supplyAsync(() -> Arrays.stream(Clip.values()).map(clip -> mp3(clip.file)).toArray(SoundClip[]::new));
+		}
+	}
+
 	@Override
 	public Stream<SoundClip> clips() {
-		return Stream.of(clipCrunching(), clipEatFruit(), clipEatGhost(), clipExtraLife(), clipGhostChase(),
-				clipGhostDead(), clipInsertCoin(), clipPacManDies(), clipWaza());
+		if (clipTable == null) {
+			awaitClips();
+		}
+		return clipList.stream();
 	}
 
 	@Override
 	public SoundClip clipEatFruit() {
-		return mp3("eat-fruit");
+		return clip(Clip.EAT_FRUIT);
 	}
 
 	@Override
 	public SoundClip clipEatGhost() {
-		return mp3("eat-ghost");
+		return clip(Clip.EAT_GHOST);
 	}
 
 	@Override
 	public SoundClip clipCrunching() {
-		return mp3("eating");
+		return clip(Clip.CRUNCHING);
 	}
 
 	@Override
 	public SoundClip clipExtraLife() {
-		return mp3("extra-life");
+		return clip(Clip.EXTRA_LIFE);
 	}
 
 	@Override
 	public SoundClip clipGhostChase() {
-		return mp3("ghost-chase");
+		return clip(Clip.GHOST_CHASE);
 	}
 
 	@Override
 	public SoundClip clipGhostDead() {
-		return mp3("ghost-dead");
+		return clip(Clip.GHOST_DEAD);
 	}
 
 	@Override
 	public SoundClip clipInsertCoin() {
-		return mp3("insert-coin");
+		return clip(Clip.INSERT_COIN);
 	}
 
 	@Override
 	public SoundClip clipPacManDies() {
-		return mp3("die");
+		return clip(Clip.PACMAN_DIES);
 	}
 
 	@Override
 	public SoundClip clipWaza() {
-		return mp3("waza");
+		return clip(Clip.WAZA);
 	}
 
 	@Override
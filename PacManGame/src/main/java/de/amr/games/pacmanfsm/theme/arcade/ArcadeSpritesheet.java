@@ -33,6 +33,7 @@ import static de.amr.games.pacmanfsm.lib.Direction.UP;
 
 import java.awt.Color;
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -63,6 +64,8 @@ public class ArcadeSpritesheet extends Spritesheet {
 	BufferedImage emptyMazeImage = Assets.readImage("themes/arcade/maze_empty.png");
 	BufferedImage fullMazeImage = Assets.readImage("themes/arcade/maze_full.png");
 
+	float scale = 1;
+
 	BufferedImage emptyWhiteMazeImage;
 	BufferedImage pacManFullImage;
 	BufferedImage[] pacManBlockedImages;
@@ -126,6 +129,54 @@ public class ArcadeSpritesheet extends Spritesheet {
 		};
 	}
 
+	/**
+	 * Creates a spritesheet whose sprite frames are pre-rendered at the given display scale into a sprite atlas. Maze
+	 * images keep their original size.
+	 * 
+	 * @param scale display scale
+	 */
+	public ArcadeSpritesheet(float scale) {
+		this();
+		this.scale = scale;
+		List<BufferedImage> frames = new ArrayList<>();
+		frames.add(pacManFullImage);
+		frames.add(livesCounterImage);
+		frames.addAll(Arrays.asList(bonusSymbolImages));
+		frames.addAll(Arrays.asList(pacManBlockedImages));
+		frames.addAll(Arrays.asList(pacManDyingImages));
+		Arrays.stream(pacManWalkingImages).forEach(images -> frames.addAll(Arrays.asList(images)));
+		Arrays.stream(ghostColoredImagesById).forEach(images -> frames.addAll(Arrays.asList(images)));
+		frames.addAll(Arrays.asList(ghostFrightenedImages));
+		frames.addAll(Arrays.asList(ghostFlashingImages));
+		frames.addAll(Arrays.asList(ghostEyesImages));
+		frames.addAll(Arrays.asList(greenNumberImages));
+		frames.addAll(Arrays.asList(pinkNumberImages));
+		SpriteAtlas atlas = new SpriteAtlas(scale, frames);
+		pacManFullImage = atlas.frame(pacManFullImage);
+		livesCounterImage = atlas.frame(livesCounterImage);
+		bonusSymbolImages = atlas.frames(bonusSymbolImages);
+		pacManBlockedImages = atlas.frames(pacManBlockedImages);
+		pacManDyingImages = atlas.frames(pacManDyingImages);
+		for (int i = 0; i < pacManWalkingImages.length; ++i) {
+			pacManWalkingImages[i] = atlas.frames(pacManWalkingImages[i]);
+		}
+		for (int i = 0; i < ghostColoredImagesById.length; ++i) {
+			ghostColoredImagesById[i] = atlas.frames(ghostColoredImagesById[i]);
+		}
+		ghostFrightenedImages = atlas.frames(ghostFrightenedImages);
+		ghostFlashingImages = atlas.frames(ghostFlashingImages);
+		ghostEyesImages = atlas.frames(ghostEyesImages);
+		greenNumberImages = atlas.frames(greenNumberImages);
+		pinkNumberImages = atlas.frames(pinkNumberImages);
+	}
+
+	/**
+	 * @return the display scale at which the sprite frames have been rendered
+	 */
+	public float scale() {
+		return scale;
+	}
+
 	public BufferedImage imageFullMaze() {
 		return fullMazeImage;
 	}
@@ -25,9 +25,9 @@ package de.amr.games.pacmanfsm.theme.arcade;
 
 import java.awt.Font;
 import java.awt.Graphics2D;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 import de.amr.easy.game.assets.Assets;
 import de.amr.easy.game.ui.sprites.Sprite;
@@ -61,8 +61,11 @@ public class ArcadeTheme extends ThemeParameterMap implements Theme {
 	public static final ArcadeTheme THEME = new ArcadeTheme();
 
 	private ArcadeSpritesheet spriteSheet = new ArcadeSpritesheet();
-	private Map<PacMan, SpriteMap> pacManSprites = new HashMap<>();
-	private Map<Ghost, SpriteMap> ghostSprites = new HashMap<>();
+	// sprites pre-rendered at the current display scale, rebuilt when the scale changes
+	private ArcadeSpritesheet scaledSpriteSheet = spriteSheet;
+	// weak keys: the guys of finished game sessions must not be kept alive by the shared theme
+	private Map<PacMan, SpriteMap> pacManSprites = new WeakHashMap<>();
+	private Map<Ghost, SpriteMap> ghostSprites = new WeakHashMap<>();
 
 	private ArcadeTheme() {
 		set("font", Assets.storeTrueTypeFont("PressStart2P", "themes/arcade/PressStart2P-Regular.ttf", Font.PLAIN, 8));
@@ -79,11 +82,11 @@ public class ArcadeTheme extends ThemeParameterMap implements Theme {
 	private SpriteMap makePacManSpriteMap() {
 		SpriteMap map = new SpriteMap();
 		Direction.dirs().forEach(dir -> {
-			map.set("walking-" + dir, spriteSheet.makeSpritePacManWalking(dir));
-			map.set("blocked-" + dir, spriteSheet.makeSpritePacManBlocked(dir));
+			map.set("walking-" + dir, scaledSpriteSheet.makeSpritePacManWalking(dir));
+			map.set("blocked-" + dir, scaledSpriteSheet.makeSpritePacManBlocked(dir));
 		});
-		map.set("collapsing", spriteSheet.makeSpritePacManCollapsing());
-		map.set("full", spriteSheet.makeSpritePacManFull());
+		map.set("collapsing", scaledSpriteSheet.makeSpritePacManCollapsing());
+		map.set("full", scaledSpriteSheet.makeSpritePacManFull());
 		return map;
 	}
 
@@ -91,18 +94,35 @@ public class ArcadeTheme extends ThemeParameterMap implements Theme {
 		SpriteMap map = new SpriteMap();
 		for (Direction dir : Direction.values()) {
 			for (GhostColor color : GhostColor.values()) {
-				map.set(ghostSpriteKeyColor(color, dir), spriteSheet.makeSpritGhostColored(color, dir));
+				map.set(ghostSpriteKeyColor(color, dir), scaledSpriteSheet.makeSpritGhostColored(color, dir));
 			}
-			map.set(ghostSpriteKeyEyes(dir), spriteSheet.makeSpriteGhostEyes(dir));
+			map.set(ghostSpriteKeyEyes(dir), scaledSpriteSheet.makeSpriteGhostEyes(dir));
 		}
-		map.set("frightened", spriteSheet.makeSpriteGhostFrightened());
-		map.set("flashing", spriteSheet.makeSpriteGhostFlashing());
+		map.set("frightened", scaledSpriteSheet.makeSpriteGhostFrightened());
+		map.set("flashing", scaledSpriteSheet.makeSpriteGhostFlashing());
 		for (int bounty : List.of(200, 400, 800, 1600)) {
-			map.set(ghostSpriteKeyPoints(bounty), Sprite.of(spriteSheet.imageNumber(bounty)));
+			map.set(ghostSpriteKeyPoints(bounty), Sprite.of(scaledSpriteSheet.imageNumber(bounty)));
 		}
 		return map;
 	}
 
+	/**
+	 * Returns the spritesheet with frames pre-rendered at the scale of the given graphics context. When the scale
+	 * changes, the sprites are rendered again and the sprite maps of the guys are rebuilt.
+	 * 
+	 * @param g graphics context
+	 * @return spritesheet whose frames can be drawn without scaling
+	 */
+	ArcadeSpritesheet scaledSpriteSheet(Graphics2D g) {
+		float scale = SpriteAtlas.scale(g);
+		if (scale != scaledSpriteSheet.scale()) {
+			scaledSpriteSheet = scale == 1 ? spriteSheet : new ArcadeSpritesheet(scale);
+			pacManSprites.clear();
+			ghostSprites.clear();
+		}
+		return scaledSpriteSheet;
+	}
+
 	SpriteMap getSpriteMap(Ghost ghost) {
 		SpriteMap spriteMap = ghostSprites.get(ghost);
 		if (spriteMap == null) {
@@ -182,9 +202,10 @@ public class ArcadeTheme extends ThemeParameterMap implements Theme {
 			int first = Math.max(0, game.levelCounter.size() - max);
 			int n = Math.min(max, game.levelCounter.size());
 			int width = 2 * Tile.TS;
+			ArcadeSpritesheet sprites = scaledSpriteSheet(g);
 			for (int i = 0, x = -2 * width; i < n; ++i, x -= width) {
 				ArcadeBonus.Symbol symbol = ArcadeBonus.Symbol.valueOf(game.levelCounter.get(first + i));
-				g.drawImage(spriteSheet.imageBonusSymbol(symbol.ordinal()), x, 0, width, width, null);
+				SpriteAtlas.drawUnscaled(g, sprites.imageBonusSymbol(symbol.ordinal()), x, 0);
 			}
 		};
 	}
@@ -192,8 +213,9 @@ public class ArcadeTheme extends ThemeParameterMap implements Theme {
 	@Override
 	public GameRenderer livesCounterRenderer() {
 		return (Graphics2D g, PacManGame game) -> {
+			ArcadeSpritesheet sprites = scaledSpriteSheet(g);
 			for (int i = 0, x = Tile.TS; i < game.lives; ++i, x += 2 * Tile.TS) {
-				g.drawImage(spriteSheet.imageLivesCounter(), x, 0, null);
+				SpriteAtlas.drawUnscaled(g, sprites.imageLivesCounter(), x, 0);
 			}
 		};
 	}
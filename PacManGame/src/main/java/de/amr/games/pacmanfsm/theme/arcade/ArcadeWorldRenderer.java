@@ -27,14 +27,14 @@ import static de.amr.easy.game.math.V2f.v;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
-import java.awt.Image;
 import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.BitSet;
 
 import de.amr.easy.game.math.V2f;
 import de.amr.easy.game.ui.sprites.CyclicAnimation;
 import de.amr.easy.game.ui.sprites.Sprite;
 import de.amr.easy.game.ui.sprites.SpriteAnimation;
-import de.amr.games.pacmanfsm.controller.game.GameController;
 import de.amr.games.pacmanfsm.lib.Tile;
 import de.amr.games.pacmanfsm.model.world.api.TiledWorld;
 import de.amr.games.pacmanfsm.model.world.arcade.ArcadeBonus;
@@ -42,16 +42,35 @@ import de.amr.games.pacmanfsm.model.world.arcade.ArcadeFood;
 import de.amr.games.pacmanfsm.model.world.components.Door.DoorState;
 import de.amr.games.pacmanfsm.theme.api.WorldRenderer;
 
+/**
+ * Renders the Arcade world. The maze with the eaten food hidden is kept in an off-screen buffer that is only updated
+ * when food gets removed or restored, so each frame just copies the buffer and draws the dynamic parts on top.
+ * 
+ * @author Armin Reichert
+ */
 class ArcadeWorldRenderer implements WorldRenderer {
 
 	private Sprite spriteFlashingMaze;
+	private int mazeFlashes;
 	private final SpriteAnimation energizerAnimation;
 
+	// off-screen maze image with eaten food hidden
+	private BufferedImage mazeBuffer;
+	private TiledWorld bufferedWorld;
+	private int bufferedFoodModCount;
+	private final BitSet hiddenFood = new BitSet();
+	private final BitSet energizers = new BitSet();
+
 	public ArcadeWorldRenderer() {
 		energizerAnimation = new CyclicAnimation(2);
 		energizerAnimation.setFrameDuration(150);
 	}
 
+	@Override
+	public void setMazeFlashes(int numFlashes) {
+		this.mazeFlashes = numFlashes;
+	}
+
 	@Override
 	public void render(Graphics2D g, TiledWorld world) {
 		ArcadeSpritesheet spriteSheet = ArcadeTheme.THEME.asValue("sprites");
@@ -60,12 +79,13 @@ class ArcadeWorldRenderer implements WorldRenderer {
 		g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
 		if (world.isChanging()) {
 			if (spriteFlashingMaze == null) {
-				spriteFlashingMaze = spriteSheet.makeSpriteFlashingMaze(GameController.theGame().numFlashes);
+				spriteFlashingMaze = spriteSheet.makeSpriteFlashingMaze(mazeFlashes);
 			}
 			spriteFlashingMaze.draw(g2, 0, 3 * Tile.TS);
 		} else {
 			spriteFlashingMaze = null;
-			g.drawImage(spriteSheet.imageFullMaze(), 0, 3 * Tile.TS, null);
+			updateMazeBuffer(spriteSheet, world);
+			g.drawImage(mazeBuffer, 0, 3 * Tile.TS, null);
 			drawContent(g, world);
 			world.house(0).ifPresent(house -> {
 				house.doors().filter(door -> door.state == DoorState.OPEN).forEach(door -> {
@@ -77,34 +97,66 @@ class ArcadeWorldRenderer implements WorldRenderer {
 		g2.dispose();
 	}
 
+	private void updateMazeBuffer(ArcadeSpritesheet spriteSheet, TiledWorld world) {
+		if (mazeBuffer != null && bufferedWorld == world && bufferedFoodModCount == world.foodModCount()) {
+			return;
+		}
+		BitSet eaten = world.eatenFood();
+		BitSet newlyEaten = (BitSet) eaten.clone();
+		newlyEaten.andNot(hiddenFood);
+		BitSet restored = (BitSet) hiddenFood.clone();
+		restored.andNot(eaten);
+		Graphics2D g = null;
+		if (mazeBuffer == null || bufferedWorld != world || !restored.isEmpty()) {
+			// food has been restored or world has changed: start again with full maze
+			BufferedImage fullMaze = spriteSheet.imageFullMaze();
+			if (mazeBuffer == null) {
+				mazeBuffer = new BufferedImage(fullMaze.getWidth(), fullMaze.getHeight(), BufferedImage.TYPE_INT_RGB);
+			}
+			g = mazeBuffer.createGraphics();
+			g.drawImage(fullMaze, 0, 0, null);
+			hiddenFood.clear();
+			newlyEaten = eaten;
+		} else {
+			g = mazeBuffer.createGraphics();
+		}
+		g.setColor(Color.BLACK);
+		for (int i = newlyEaten.nextSetBit(0); i >= 0; i = newlyEaten.nextSetBit(i + 1)) {
+			Tile tile = world.tile(i);
+			if (world.hasEatenFood(tile)) {
+				g.fillRect(tile.x(), tile.y() - 3 * Tile.TS, Tile.TS, Tile.TS);
+			}
+		}
+		g.dispose();
+		hiddenFood.or(newlyEaten);
+		world.remainingFood(ArcadeFood.ENERGIZER, energizers);
+		bufferedWorld = world;
+		bufferedFoodModCount = world.foodModCount();
+	}
+
 	private void drawContent(Graphics2D g, TiledWorld world) {
-		// hide eaten food
-		Color eatenFoodColor = Color.BLACK;
-		world.tiles().filter(world::hasEatenFood).forEach(tile -> {
-			g.setColor(eatenFoodColor);
-			g.fillRect(tile.x(), tile.y(), Tile.TS, Tile.TS);
-		});
 		// simulate energizer blinking animation
 		energizerAnimation.update();
 		energizerAnimation.setEnabled(!world.isFrozen());
 		if (energizerAnimation.isEnabled() && energizerAnimation.currentFrameIndex() == 1) {
-			world.tiles().filter(tile -> world.hasFood(ArcadeFood.ENERGIZER, tile)).forEach(tile -> {
-				g.setColor(eatenFoodColor);
+			g.setColor(Color.BLACK);
+			for (int i = energizers.nextSetBit(0); i >= 0; i = energizers.nextSetBit(i + 1)) {
+				Tile tile = world.tile(i);
 				g.fillRect(tile.x(), tile.y(), Tile.TS, Tile.TS);
-			});
+			}
 		}
 		// draw bonus as image when active or as number when consumed
 		world.temporaryFood().ifPresent(bonus -> {
 			if (bonus.isActive()) {
+				ArcadeSpritesheet sprites = ArcadeTheme.THEME.scaledSpriteSheet(g);
+				V2f position = v(bonus.location().x(), bonus.location().y() - Tile.TS / 2);
 				if (bonus.isConsumed()) {
-					V2f position = v(bonus.location().x(), bonus.location().y() - Tile.TS / 2);
-					Image img = ArcadeTheme.THEME.asIimage("points-" + bonus.value());
-					g.drawImage(img, position.roundedX(), position.roundedY(), null);
+					BufferedImage img = sprites.imageNumber(bonus.value());
+					SpriteAtlas.drawUnscaled(g, img, position.roundedX(), position.roundedY());
 				} else {
 					ArcadeBonus arcadeBonus = (ArcadeBonus) bonus;
-					V2f position = v(bonus.location().x(), bonus.location().y() - Tile.TS / 2);
-					Image img = ArcadeTheme.THEME.asIimage("symbol-" + arcadeBonus.symbol.name());
-					g.drawImage(img, position.roundedX(), position.roundedY(), null);
+					BufferedImage img = sprites.imageBonusSymbol(arcadeBonus.symbol.ordinal());
+					SpriteAtlas.drawUnscaled(g, img, position.roundedX(), position.roundedY());
 				}
 			}
 		});
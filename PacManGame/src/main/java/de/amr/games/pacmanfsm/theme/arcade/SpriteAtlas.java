@@ -0,0 +1,181 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.theme.arcade;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import de.amr.easy.game.ui.sprites.Sprite;
+
+/**
+ * Sprite frames pre-rendered at some display scale into a single image compatible with the screen. Drawing a frame
+ * from the atlas in device space is a plain image copy without scaling.
+ * 
+ * @author Armin Reichert
+ */
+class SpriteAtlas {
+
+	private static final int TRANSLATE_AND_UNIFORM_SCALE = AffineTransform.TYPE_TRANSLATION
+			| AffineTransform.TYPE_UNIFORM_SCALE;
+
+	/**
+	 * @param g graphics context
+	 * @return the scale of the given graphics context if it is uniform and positive, else 1
+	 */
+	static float scale(Graphics2D g) {
+		AffineTransform t = g.getTransform();
+		if ((t.getType() & ~TRANSLATE_AND_UNIFORM_SCALE) == 0 && t.getScaleX() > 0) {
+			return (float) t.getScaleX();
+		}
+		return 1;
+	}
+
+	/**
+	 * Draws a sprite whose frames have been pre-rendered at the scale of the graphics context.
+	 * 
+	 * @param g      graphics context
+	 * @param sprite sprite with pre-scaled frames
+	 * @param x      x-coordinate in user space
+	 * @param y      y-coordinate in user space
+	 */
+	static void drawUnscaled(Graphics2D g, Sprite sprite, float x, float y) {
+		AffineTransform t = g.getTransform();
+		float scale = scale(g);
+		if (scale == 1) {
+			sprite.draw(g, x, y);
+			return;
+		}
+		Graphics2D g2 = (Graphics2D) g.create();
+		g2.setTransform(AffineTransform.getTranslateInstance(t.getTranslateX(), t.getTranslateY()));
+		sprite.draw(g2, Math.round(x * scale), Math.round(y * scale));
+		g2.dispose();
+	}
+
+	/**
+	 * Draws an image that has been pre-rendered at the scale of the graphics context.
+	 * 
+	 * @param g     graphics context
+	 * @param image pre-scaled image
+	 * @param x     x-coordinate in user space
+	 * @param y     y-coordinate in user space
+	 */
+	static void drawUnscaled(Graphics2D g, Image image, float x, float y) {
+		AffineTransform t = g.getTransform();
+		float scale = scale(g);
+		if (scale == 1) {
+			g.drawImage(image, Math.round(x), Math.round(y), null);
+			return;
+		}
+		Graphics2D g2 = (Graphics2D) g.create();
+		g2.setTransform(AffineTransform.getTranslateInstance(t.getTranslateX(), t.getTranslateY()));
+		g2.drawImage(image, Math.round(x * scale), Math.round(y * scale), null);
+		g2.dispose();
+	}
+
+	private static BufferedImage createCompatibleImage(int width, int height) {
+		if (GraphicsEnvironment.isHeadless()) {
+			return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		}
+		return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+				.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+	}
+
+	final float scale;
+	private final BufferedImage image;
+	private final Map<BufferedImage, BufferedImage> frames = new IdentityHashMap<>();
+
+	/**
+	 * Creates an atlas containing the given frames at the given scale.
+	 * 
+	 * @param scale  display scale
+	 * @param frameList sprite frames at scale 1, may contain duplicates
+	 */
+	SpriteAtlas(float scale, List<BufferedImage> frameList) {
+		this.scale = scale;
+		Set<BufferedImage> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+		List<BufferedImage> images = frameList.stream().filter(distinct::add).collect(Collectors.toList());
+		// place frames left to right in rows ("shelves")
+		int maxRowWidth = Math.round(256 * scale);
+		int n = images.size();
+		int[] xs = new int[n], ys = new int[n], ws = new int[n], hs = new int[n];
+		int x = 0, y = 0, rowHeight = 0, width = 0;
+		for (int i = 0; i < n; ++i) {
+			ws[i] = Math.round(images.get(i).getWidth() * scale);
+			hs[i] = Math.round(images.get(i).getHeight() * scale);
+			if (x > 0 && x + ws[i] > maxRowWidth) {
+				x = 0;
+				y += rowHeight;
+				rowHeight = 0;
+			}
+			xs[i] = x;
+			ys[i] = y;
+			x += ws[i];
+			rowHeight = Math.max(rowHeight, hs[i]);
+			width = Math.max(width, x);
+		}
+		image = createCompatibleImage(Math.max(1, width), Math.max(1, y + rowHeight));
+		Graphics2D g = image.createGraphics();
+		g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+		for (int i = 0; i < n; ++i) {
+			g.drawImage(images.get(i), xs[i], ys[i], ws[i], hs[i], null);
+			frames.put(images.get(i), image.getSubimage(xs[i], ys[i], ws[i], hs[i]));
+		}
+		g.dispose();
+	}
+
+	/**
+	 * @param frame sprite frame at scale 1
+	 * @return the pre-rendered frame
+	 */
+	BufferedImage frame(BufferedImage frame) {
+		BufferedImage scaledFrame = frames.get(frame);
+		if (scaledFrame == null) {
+			throw new IllegalArgumentException("Frame not contained in sprite atlas");
+		}
+		return scaledFrame;
+	}
+
+	/**
+	 * @param frames sprite frames at scale 1
+	 * @return the pre-rendered frames
+	 */
+	BufferedImage[] frames(BufferedImage[] frames) {
+		BufferedImage[] scaledFrames = new BufferedImage[frames.length];
+		for (int i = 0; i < frames.length; ++i) {
+			scaledFrames[i] = frame(frames[i]);
+		}
+		return scaledFrames;
+	}
+}
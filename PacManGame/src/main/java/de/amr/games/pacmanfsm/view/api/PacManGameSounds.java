@@ -55,6 +55,11 @@ public interface PacManGameSounds {
 
 	Stream<SoundClip> clips();
 
+	/**
+	 * Starts loading the sound clips in the background. Clips accessed before loading has completed are waited for.
+	 */
+	void loadClips();
+
 	void loadMusic();
 
 	boolean isMusicLoaded();
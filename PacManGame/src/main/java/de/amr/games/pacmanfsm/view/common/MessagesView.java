@@ -27,6 +27,7 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import de.amr.games.pacmanfsm.model.world.api.TiledWorld;
 import de.amr.games.pacmanfsm.theme.api.MessagesRenderer;
@@ -42,6 +43,7 @@ public class MessagesView {
 	public final List<Message> messages;
 	private final TiledWorld world;
 	private MessagesRenderer renderer;
+	private int modCount;
 
 	public MessagesView(Theme theme, TiledWorld world, int... rows) {
 		this.world = world;
@@ -64,6 +66,7 @@ public class MessagesView {
 	public void showMessage(int messageNumber, String text, Color color) {
 		messages.get(messageNumber - 1).text = text;
 		messages.get(messageNumber - 1).color = color;
+		++modCount;
 	}
 
 	public void clearMessages() {
@@ -78,6 +81,21 @@ public class MessagesView {
 	 */
 	public void clearMessage(int number) {
 		messages.get(number - 1).text = null;
+		++modCount;
+	}
+
+	/**
+	 * @return counter that changes whenever a message is shown or cleared
+	 */
+	public int modCount() {
+		return modCount;
+	}
+
+	/**
+	 * @return the rows where messages are displayed
+	 */
+	public IntStream rows() {
+		return messages.stream().mapToInt(message -> message.row);
 	}
 
 	public void draw(Graphics2D g) {
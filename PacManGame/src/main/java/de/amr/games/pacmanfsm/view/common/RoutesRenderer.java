@@ -126,6 +126,7 @@ public class RoutesRenderer {
 		Rendering.smoothOn(g);
 		g.setStroke(new BasicStroke(0.5f));
 		g.setColor(alpha(ghostColor, 200));
+		// the path may be reused by the steering, only use a copy
 		Tile[] tiles = path.toArray(Tile[]::new);
 		int from = 0;
 		int to = 1;
@@ -94,6 +94,7 @@ public class MusicLoadingView implements PacManGameView {
 		ghosts.forEach(ghost -> ghost.moveDir = Direction.random());
 		folks.pacMan.init();
 		folks.pacMan.wakeUp();
+		theme.sounds().loadClips();
 		theme.sounds().loadMusic();
 	}
 
@@ -26,16 +26,27 @@ package de.amr.games.pacmanfsm.view.play;
 import static de.amr.games.pacmanfsm.controller.creatures.ghost.GhostState.DEAD;
 import static de.amr.games.pacmanfsm.controller.creatures.ghost.GhostState.ENTERING_HOUSE;
 import static de.amr.games.pacmanfsm.controller.creatures.ghost.GhostState.FRIGHTENED;
-import static de.amr.games.pacmanfsm.controller.game.GameController.theGame;
 
+import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
 
 import de.amr.games.pacmanfsm.controller.creatures.Folks;
+import de.amr.games.pacmanfsm.controller.creatures.Guy;
 import de.amr.games.pacmanfsm.controller.creatures.ghost.Ghost;
 import de.amr.games.pacmanfsm.controller.creatures.pacman.PacMan;
 import de.amr.games.pacmanfsm.controller.creatures.pacman.PacManState;
 import de.amr.games.pacmanfsm.lib.Tile;
+import de.amr.games.pacmanfsm.model.game.PacManGame;
 import de.amr.games.pacmanfsm.model.world.api.TiledWorld;
+import de.amr.games.pacmanfsm.model.world.arcade.ArcadeFood;
 import de.amr.games.pacmanfsm.theme.api.GameRenderer;
 import de.amr.games.pacmanfsm.theme.api.PacManRenderer;
 import de.amr.games.pacmanfsm.theme.api.Theme;
@@ -45,6 +56,10 @@ import de.amr.games.pacmanfsm.view.common.MessagesView;
 
 /**
  * Displays the maze and the game play.
+ * <p>
+ * The scene is kept in a back buffer. Each frame only the regions that may have changed (the guys at their old and
+ * new positions, the bonus, energizers, doors, messages and changed score or counters) are repainted into the buffer,
+ * then the buffer is copied to the screen.
  * 
  * @author Armin Reichert
  */
@@ -52,7 +67,6 @@ public class PlayView implements PacManGameView {
 
 	public final TiledWorld world;
 	public final Folks folks;
-	public final SoundState soundState;
 	public final MessagesView messagesView;
 
 	protected Theme theme;
@@ -62,10 +76,25 @@ public class PlayView implements PacManGameView {
 	protected GameRenderer levelCounterRenderer;
 	protected PacManRenderer pacManRenderer;
 
+	// dirty region tracking
+	private BufferedImage backBuffer;
+	private boolean fullRepaint;
+	private boolean worldWasChanging;
+	private PacManGame lastGame;
+	private int lastLevel;
+	private int lastFoodCount;
+	private int lastHudHash;
+	private int lastMessagesModCount;
+	private Rectangle[] lastGuyBounds = new Rectangle[0];
+	private Rectangle lastBonusBounds;
+	private final List<Rectangle> fixedRegions = new ArrayList<>();
+	private final BitSet energizers = new BitSet();
+	private final List<Rectangle> dirty = new ArrayList<>(); // disjoint clusters of dirty regions
+	private final Path2D dirtyShape = new Path2D.Float(); // union of the clusters
+
 	public PlayView(Theme theme, Folks folks, TiledWorld world) {
 		this.folks = folks;
 		this.world = world;
-		soundState = new SoundState();
 		messagesView = new MessagesView(theme, world, 15, 21);
 		// this is a hack to reset the collapsing animation of Pac-Man. Need clean solution.
 		folks.pacMan.ai.addStateExitListener(PacManState.DEAD, state -> pacManRenderer.resetAnimations(folks.pacMan));
@@ -75,11 +104,11 @@ public class PlayView implements PacManGameView {
 	@Override
 	public void init() {
 		messagesView.clearMessages();
+		fullRepaint = true;
 	}
 
 	@Override
 	public void update() {
-		renderSound();
 	}
 
 	@Override
@@ -92,6 +121,7 @@ public class PlayView implements PacManGameView {
 		this.theme = theme;
 		messagesView.setTheme(theme);
 		updateRenderers();
+		fullRepaint = true;
 	}
 
 	private void updateRenderers() {
@@ -104,6 +134,39 @@ public class PlayView implements PacManGameView {
 
 	@Override
 	public void draw(Graphics2D g) {
+		if (folks.game() == null) {
+			drawScene(g);
+			return;
+		}
+		AffineTransform t = g.getTransform();
+		int width = (int) Math.ceil(world.width() * Tile.TS * t.getScaleX());
+		int height = (int) Math.ceil(world.height() * Tile.TS * t.getScaleY());
+		if (backBuffer == null || backBuffer.getWidth() != width || backBuffer.getHeight() != height) {
+			backBuffer = g.getDeviceConfiguration().createCompatibleImage(width, height);
+			fullRepaint = true;
+		}
+		collectDirtyRegions();
+		if (!dirty.isEmpty()) {
+			Graphics2D bg = backBuffer.createGraphics();
+			bg.setRenderingHints(g.getRenderingHints());
+			bg.scale(t.getScaleX(), t.getScaleY());
+			// a single clipped pass so sprite animations advance once per frame
+			dirtyShape.reset();
+			dirty.forEach(cluster -> dirtyShape.append(cluster, false));
+			bg.setClip(dirtyShape);
+			bg.setColor(Color.BLACK);
+			bg.fill(dirtyShape);
+			drawScene(bg);
+			bg.dispose();
+		}
+		// copy back buffer in device space to avoid scaling it
+		Graphics2D g2 = (Graphics2D) g.create();
+		g2.setTransform(AffineTransform.getTranslateInstance(t.getTranslateX(), t.getTranslateY()));
+		g2.drawImage(backBuffer, 0, 0, null);
+		g2.dispose();
+	}
+
+	protected void drawScene(Graphics2D g) {
 		drawWorld(g);
 		drawMessages(g);
 		drawFolks(g);
@@ -112,23 +175,131 @@ public class PlayView implements PacManGameView {
 		drawLevelCounter(g);
 	}
 
+	private void collectDirtyRegions() {
+		dirty.clear();
+		PacManGame game = folks.game();
+		boolean worldChanging = world.isChanging();
+		if (worldChanging || worldWasChanging || game != lastGame || game.level != lastLevel
+				|| game.remainingFoodCount() > lastFoodCount) {
+			fullRepaint = true;
+		}
+		worldWasChanging = worldChanging;
+		lastGame = game;
+		lastLevel = game.level;
+		lastFoodCount = game.remainingFoodCount();
+		if (fullRepaint) {
+			fullRepaint = false;
+			fixedRegions.clear();
+			world.houses().flatMap(house -> house.doors()).flatMap(door -> door.tiles()).forEach(this::addFixedTile);
+			world.remainingFood(ArcadeFood.ENERGIZER, energizers);
+			for (int i = energizers.nextSetBit(0); i >= 0; i = energizers.nextSetBit(i + 1)) {
+				addFixedTile(world.tile(i));
+			}
+			lastHudHash = hudHash(game);
+			lastMessagesModCount = messagesView.modCount();
+			lastGuyBounds = folks.guys().map(this::guyBounds).toArray(Rectangle[]::new);
+			lastBonusBounds = world.temporaryFood().map(bonus -> bonusBounds(bonus.location())).orElse(null);
+			dirty.add(new Rectangle(0, 0, world.width() * Tile.TS, world.height() * Tile.TS));
+			return;
+		}
+		// energizers and doors are animated by the world renderer
+		fixedRegions.forEach(this::addDirty);
+		// guys: old and new position, sprites are animated even if not moving
+		Guy[] guys = folks.guys().toArray(Guy[]::new);
+		if (lastGuyBounds.length != guys.length) {
+			lastGuyBounds = new Rectangle[guys.length];
+		}
+		for (int i = 0; i < guys.length; ++i) {
+			Rectangle bounds = guyBounds(guys[i]);
+			addDirty(bounds);
+			if (lastGuyBounds[i] != null && !lastGuyBounds[i].equals(bounds)) {
+				addDirty(lastGuyBounds[i]);
+			}
+			lastGuyBounds[i] = bounds;
+		}
+		// bonus symbol or points
+		Rectangle bonusBounds = world.temporaryFood().map(bonus -> bonusBounds(bonus.location())).orElse(null);
+		if (bonusBounds != null) {
+			addDirty(bonusBounds);
+		}
+		if (lastBonusBounds != null && !lastBonusBounds.equals(bonusBounds)) {
+			addDirty(lastBonusBounds);
+		}
+		lastBonusBounds = bonusBounds;
+		// score line and counters
+		int hudHash = hudHash(game);
+		if (hudHash != lastHudHash) {
+			addDirty(new Rectangle(0, 0, world.width() * Tile.TS, 3 * Tile.TS));
+			addDirty(new Rectangle(0, (world.height() - 2) * Tile.TS, world.width() * Tile.TS, 2 * Tile.TS));
+			lastHudHash = hudHash;
+		}
+		// messages
+		if (messagesView.modCount() != lastMessagesModCount) {
+			messagesView.rows()
+					.forEach(row -> addDirty(new Rectangle(0, (row - 1) * Tile.TS, world.width() * Tile.TS, 3 * Tile.TS)));
+			lastMessagesModCount = messagesView.modCount();
+		}
+	}
+
+	private void addFixedTile(Tile tile) {
+		fixedRegions.add(new Rectangle(tile.x(), tile.y(), Tile.TS, Tile.TS));
+	}
+
+	/**
+	 * Merges the region and all clusters overlapping it into one bounding rectangle. The clusters are disjoint, so their
+	 * union is just the path of all clusters and no area computation is needed.
+	 * 
+	 * @param r dirty region
+	 */
+	private void addDirty(Rectangle r) {
+		Rectangle cluster = new Rectangle(r);
+		boolean merged;
+		do {
+			merged = false;
+			for (int i = dirty.size() - 1; i >= 0; --i) {
+				if (cluster.intersects(dirty.get(i))) {
+					cluster.add(dirty.remove(i));
+					merged = true;
+				}
+			}
+		} while (merged);
+		dirty.add(cluster);
+	}
+
+	private Rectangle guyBounds(Guy guy) {
+		// sprites are 2 tiles wide and centered over the guy's tile-sized body
+		return new Rectangle(Math.round(guy.tf.x) - Tile.TS, Math.round(guy.tf.y) - Tile.TS, 3 * Tile.TS, 3 * Tile.TS);
+	}
+
+	private Rectangle bonusBounds(Tile location) {
+		return new Rectangle(location.x() - Tile.TS, location.y() - Tile.TS, 4 * Tile.TS, 2 * Tile.TS);
+	}
+
+	private int hudHash(PacManGame game) {
+		return Objects.hash(game.score, game.hiscore.points, game.hiscore.level, game.lives, game.levelCounter.size(),
+				game.remainingFoodCount());
+	}
+
 	protected void drawWorld(Graphics2D g) {
+		if (folks.game() != null) {
+			worldRenderer.setMazeFlashes(folks.game().numFlashes);
+		}
 		worldRenderer.render(g, world);
 	}
 
 	protected void drawPointsCounter(Graphics2D g) {
-		pointsCounterRenderer.render(g, theGame());
+		pointsCounterRenderer.render(g, folks.game());
 	}
 
 	protected void drawLivesCounter(Graphics2D g) {
 		g.translate(Tile.TS, (world.height() - 2) * Tile.TS);
-		livesCounterRenderer.render(g, theGame());
+		livesCounterRenderer.render(g, folks.game());
 		g.translate(-Tile.TS, -(world.height() - 2) * Tile.TS);
 	}
 
 	protected void drawLevelCounter(Graphics2D g) {
 		g.translate(world.width() * Tile.TS, (world.height() - 2) * Tile.TS);
-		levelCounterRenderer.render(g, theGame());
+		levelCounterRenderer.render(g, folks.game());
 		g.translate(-world.width() * Tile.TS, -(world.height() - 2) * Tile.TS);
 	}
 
@@ -151,48 +322,4 @@ public class PlayView implements PacManGameView {
 	protected void drawMessages(Graphics2D g) {
 		messagesView.draw(g);
 	}
-
-	private void renderSound() {
-		// Pac-Man
-		long starvingMillis = System.currentTimeMillis() - soundState.lastMealAt;
-		if (starvingMillis > 300) {
-			theme.sounds().clipCrunching().stop();
-		} else if (!theme.sounds().clipCrunching().isRunning()) {
-			theme.sounds().clipCrunching().loop();
-		}
-		if (!folks.pacMan.ai.is(PacManState.POWERFUL)) {
-			theme.sounds().clipWaza().stop();
-		} else if (!theme.sounds().clipWaza().isRunning()) {
-			theme.sounds().clipWaza().loop();
-		}
-		if (soundState.pacManDied) {
-			theme.sounds().clipPacManDies().play();
-			soundState.pacManDied = false;
-		}
-		if (soundState.bonusEaten) {
-			theme.sounds().clipEatFruit().play();
-			soundState.bonusEaten = false;
-		}
-		if (soundState.gotExtraLife) {
-			theme.sounds().clipExtraLife().play();
-			soundState.gotExtraLife = false;
-		}
-
-		// Ghosts
-		if (!soundState.chasingGhosts) {
-			theme.sounds().clipGhostChase().stop();
-		} else if (!theme.sounds().clipGhostChase().isRunning()) {
-			theme.sounds().clipGhostChase().setVolume(0.5f);
-			theme.sounds().clipGhostChase().loop();
-		}
-		if (!soundState.deadGhosts) {
-			theme.sounds().clipGhostDead().stop();
-		} else if (!theme.sounds().clipGhostDead().isRunning()) {
-			theme.sounds().clipGhostDead().loop();
-		}
-		if (soundState.ghostEaten) {
-			theme.sounds().clipEatGhost().play();
-			soundState.ghostEaten = false;
-		}
-	}
 }
\ No newline at end of file
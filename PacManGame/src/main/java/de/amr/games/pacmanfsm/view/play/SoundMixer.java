@@ -0,0 +1,255 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.view.play;
+
+import static de.amr.easy.game.Application.loginfo;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import de.amr.easy.game.assets.SoundClip;
+import de.amr.games.pacmanfsm.view.api.PacManGameSounds;
+
+/**
+ * Plays the game sounds on a dedicated audio thread.
+ * <p>
+ * The game loop only reports what happens (Pac-Man ate something, a ghost got killed, ghosts started chasing etc.).
+ * One-shot clips are turned into commands and put into a small queue that is processed by the audio thread. If the
+ * queue is full, such a command is dropped. The state of the looping clips and stop requests are only stored in fields
+ * which the audio thread reconciles after each command, so they can never get lost. The game loop never touches an
+ * audio line and audio latency does not depend on the frame time.
+ * <p>
+ * A mixer created without sounds is muted and ignores all reports, this is used when running headless.
+ * 
+ * @author Armin Reichert
+ */
+public class SoundMixer {
+
+	private static final int QUEUE_CAPACITY = 64;
+	private static final long CRUNCHING_NANOS = TimeUnit.MILLISECONDS.toNanos(300);
+	private static final int STOP_NONE = 0, STOP_CLIPS = 1, STOP_ALL = 2;
+	private static final Consumer<PacManGameSounds> RECONCILE = sounds -> {
+	};
+
+	private final Supplier<PacManGameSounds> fnSounds;
+	private final BlockingQueue<Consumer<PacManGameSounds>> commands = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+	private Thread audioThread;
+
+	// state as reported by the game loop
+	private volatile boolean chasingGhosts;
+	private volatile boolean deadGhosts;
+	private volatile boolean pacManPowerful;
+	private final AtomicInteger stopRequest = new AtomicInteger(STOP_NONE);
+
+	// state owned by the audio thread
+	private boolean chasingGhostsLooping;
+	private boolean deadGhostsLooping;
+	private boolean pacManPowerfulLooping;
+	private boolean crunching;
+	private long crunchingUntil;
+
+	/**
+	 * @param fnSounds supplies the sounds of the current theme or {@code null} for a muted mixer
+	 */
+	public SoundMixer(Supplier<PacManGameSounds> fnSounds) {
+		this.fnSounds = fnSounds;
+	}
+
+	public boolean isMuted() {
+		return fnSounds == null;
+	}
+
+	/**
+	 * Executes the given action on the audio thread. The action is dropped if the queue is full, so stopping sounds
+	 * must be done using {@link #stopClips()} or {@link #stopAll()}.
+	 * 
+	 * @param action action using the sounds of the current theme
+	 */
+	public void submit(Consumer<PacManGameSounds> action) {
+		if (isMuted()) {
+			return;
+		}
+		startAudioThread();
+		if (!commands.offer(action) && action != RECONCILE) {
+			loginfo("Sound command queue full, command dropped");
+		}
+	}
+
+	public void pacManAte() {
+		submit(this::startCrunching);
+	}
+
+	public void pacManDied() {
+		play(PacManGameSounds::clipPacManDies);
+	}
+
+	public void bonusEaten() {
+		play(PacManGameSounds::clipEatFruit);
+	}
+
+	public void ghostEaten() {
+		play(PacManGameSounds::clipEatGhost);
+	}
+
+	public void gotExtraLife() {
+		play(PacManGameSounds::clipExtraLife);
+	}
+
+	public void setChasingGhosts(boolean chasing) {
+		if (chasingGhosts != chasing) {
+			chasingGhosts = chasing;
+			wakeUp();
+		}
+	}
+
+	public void setDeadGhosts(boolean dead) {
+		if (deadGhosts != dead) {
+			deadGhosts = dead;
+			wakeUp();
+		}
+	}
+
+	public void setPacManPowerful(boolean powerful) {
+		if (pacManPowerful != powerful) {
+			pacManPowerful = powerful;
+			wakeUp();
+		}
+	}
+
+	/**
+	 * Stops all clips (not the music).
+	 */
+	public void stopClips() {
+		requestStop(STOP_CLIPS);
+	}
+
+	/**
+	 * Stops all clips and music.
+	 */
+	public void stopAll() {
+		requestStop(STOP_ALL);
+	}
+
+	private void requestStop(int stop) {
+		chasingGhosts = deadGhosts = pacManPowerful = false;
+		stopRequest.accumulateAndGet(stop, Math::max);
+		commands.clear();
+		wakeUp();
+	}
+
+	private void wakeUp() {
+		// if the queue is full, the audio thread is busy and reconciles anyway
+		submit(RECONCILE);
+	}
+
+	private void play(Function<PacManGameSounds, SoundClip> fnClip) {
+		submit(sounds -> fnClip.apply(sounds).play());
+	}
+
+	private void startCrunching(PacManGameSounds sounds) {
+		crunchingUntil = System.nanoTime() + CRUNCHING_NANOS;
+		if (!crunching) {
+			crunching = true;
+			sounds.clipCrunching().loop();
+		}
+	}
+
+	private synchronized void startAudioThread() {
+		if (audioThread == null) {
+			audioThread = new Thread(this::processCommands, "Pac-Man sound mixer");
+			audioThread.setDaemon(true);
+			audioThread.start();
+		}
+	}
+
+	private void processCommands() {
+		try {
+			while (true) {
+				Consumer<PacManGameSounds> command = crunching
+						? commands.poll(crunchingUntil - System.nanoTime(), TimeUnit.NANOSECONDS)
+						: commands.take();
+				try {
+					PacManGameSounds sounds = fnSounds.get();
+					int stop = stopRequest.getAndSet(STOP_NONE);
+					if (stop != STOP_NONE) {
+						stop(sounds, stop);
+					}
+					if (command != null) {
+						command.accept(sounds);
+					}
+					reconcileLoops(sounds);
+					if (crunching && System.nanoTime() >= crunchingUntil) {
+						crunching = false;
+						sounds.clipCrunching().stop();
+					}
+				} catch (RuntimeException x) {
+					loginfo("Sound command failed: %s", x.getMessage());
+				}
+			}
+		} catch (InterruptedException x) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void stop(PacManGameSounds sounds, int stop) {
+		crunching = chasingGhostsLooping = deadGhostsLooping = pacManPowerfulLooping = false;
+		if (stop == STOP_ALL) {
+			sounds.stopAll();
+		} else {
+			sounds.clips().forEach(SoundClip::stop);
+		}
+	}
+
+	private void reconcileLoops(PacManGameSounds sounds) {
+		boolean chasing = chasingGhosts;
+		if (chasingGhostsLooping != chasing) {
+			chasingGhostsLooping = chasing;
+			sounds.clipGhostChase().setVolume(0.5f);
+			loop(sounds.clipGhostChase(), chasing);
+		}
+		boolean dead = deadGhosts;
+		if (deadGhostsLooping != dead) {
+			deadGhostsLooping = dead;
+			loop(sounds.clipGhostDead(), dead);
+		}
+		boolean powerful = pacManPowerful;
+		if (pacManPowerfulLooping != powerful) {
+			pacManPowerfulLooping = powerful;
+			loop(sounds.clipWaza(), powerful);
+		}
+	}
+
+	private void loop(SoundClip clip, boolean on) {
+		if (on) {
+			clip.loop();
+		} else {
+			clip.stop();
+		}
+	}
+}
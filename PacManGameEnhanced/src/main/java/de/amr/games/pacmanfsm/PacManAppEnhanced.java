@@ -26,13 +26,13 @@ package de.amr.games.pacmanfsm;
 import de.amr.easy.game.config.AppSettings;
 import de.amr.easy.game.ui.f2dialog.F2Dialog;
 import de.amr.games.pacmanfsm.controller.game.ExtendedGameController;
-import de.amr.games.pacmanfsm.controller.game.GameController;
 import de.amr.games.pacmanfsm.theme.api.Themes;
 import de.amr.games.pacmanfsm.theme.arcade.ArcadeTheme;
 import de.amr.games.pacmanfsm.theme.blocks.BlocksTheme;
 import de.amr.games.pacmanfsm.theme.letters.LettersTheme;
 import de.amr.games.pacmanfsm.view.dashboard.fsm.FsmView;
 import de.amr.games.pacmanfsm.view.dashboard.level.GameLevelView;
+import de.amr.games.pacmanfsm.view.dashboard.profiler.ProfilerView;
 import de.amr.games.pacmanfsm.view.dashboard.states.GameStateView;
 import de.amr.games.pacmanfsm.view.dashboard.theme.ThemeSelectionView;
 import guru.nidi.graphviz.engine.Graphviz;
@@ -67,7 +67,7 @@ public class PacManAppEnhanced extends PacManApp {
 	public void init() {
 		Graphviz.useEngine(new GraphvizV8Engine());
 		setIcon("/images/pacman-icon.png");
-		setController(new ExtendedGameController(Themes.all()));
+		setController(new ExtendedGameController((PacManAppSettings) settings(), Themes.all()));
 		printSettings();
 	}
 
@@ -88,11 +88,17 @@ public class PacManAppEnhanced extends PacManApp {
 
 			GameStateView gameStateView = new GameStateView();
 			gameStateView.attachTo(gameController, gameController.folks);
-			f2.addCustomTab("Game State", gameStateView, GameController::isGameStarted);
+			f2.addCustomTab("Game State", gameStateView, gameController::isGameStarted);
 
 			GameLevelView gameLevelView = new GameLevelView();
+			gameLevelView.attachTo(gameController);
 			gameLevelView.init();
-			f2.addCustomTab("Game Level", gameLevelView, GameController::isGameStarted);
+			f2.addCustomTab("Game Level", gameLevelView, gameController::isGameStarted);
+
+			ProfilerView profilerView = new ProfilerView();
+			profilerView.attachTo(gameController.profiler);
+			profilerView.init();
+			f2.addCustomTab("Profiler", profilerView, () -> true);
 		});
 	}
 }
\ No newline at end of file
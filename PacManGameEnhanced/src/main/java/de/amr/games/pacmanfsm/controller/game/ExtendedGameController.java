@@ -42,6 +42,7 @@ import java.util.stream.Stream;
 
 import de.amr.easy.game.input.Keyboard;
 import de.amr.easy.game.input.Keyboard.Modifier;
+import de.amr.games.pacmanfsm.PacManApp.PacManAppSettings;
 import de.amr.games.pacmanfsm.controller.creatures.ghost.Ghost;
 import de.amr.games.pacmanfsm.controller.creatures.pacman.PacManState;
 import de.amr.games.pacmanfsm.controller.event.GhostKilledEvent;
@@ -67,8 +68,8 @@ public class ExtendedGameController extends GameController {
 	private boolean showingScores = true;
 	private WorldGraph graph;
 
-	public ExtendedGameController(List<Theme> themes) {
-		super(themes);
+	public ExtendedGameController(PacManAppSettings settings, List<Theme> themes) {
+		super(settings, themes);
 		Stream.of(this, bonusController, ghostCommand).forEach(fsm -> REGISTRY.register("Game", fsm));
 		addStateEntryListener(INTRO,
 				state -> currentView.machines().forEach(fsm -> REGISTRY.register(currentView.getClass().getSimpleName(), fsm)));
@@ -93,7 +94,7 @@ public class ExtendedGameController extends GameController {
 
 	@Override
 	protected PlayView createPlayView() {
-		return new ExtendedPlayView(appSettings(), themes.current(), folks, ghostCommand, world);
+		return new ExtendedPlayView(appSettings(), themes.current(), folks, ghostCommand, world, profiler);
 	}
 
 	@Override
@@ -175,6 +176,14 @@ public class ExtendedGameController extends GameController {
 			setShowingRoutes(!isShowingRoutes());
 		}
 
+		else if (Keyboard.keyPressedOnce("w")) {
+			if (this.<ExtendedPlayView>playView().isShowingProfiler()) {
+				this.<ExtendedPlayView>playView().turnProfilerOff();
+			} else {
+				this.<ExtendedPlayView>playView().turnProfilerOn();
+			}
+		}
+
 		else if (Keyboard.keyPressedOnce("x")) {
 			toggleGhostsHarmless();
 		}
@@ -286,9 +295,9 @@ public class ExtendedGameController extends GameController {
 		appSettings().demoMode = !appSettings().demoMode;
 		setDemoMode(appSettings().demoMode);
 		if (appSettings().demoMode) {
-			playView().messagesView.showMessage(1, "Demo Mode", Color.LIGHT_GRAY);
+			showMessage(1, "Demo Mode", Color.LIGHT_GRAY);
 		} else {
-			playView().messagesView.clearMessage(1);
+			clearMessage(1);
 		}
 		loginfo("Demo mode is %s", appSettings().demoMode ? "on" : "off");
 	}
@@ -299,7 +308,7 @@ public class ExtendedGameController extends GameController {
 	}
 
 	private void switchToNextLevel() {
-		loginfo("Switching to level %d", theGame().level + 1);
+		loginfo("Switching to level %d", game().level + 1);
 		enqueue(new LevelCompletedEvent());
 	}
 
@@ -309,12 +318,12 @@ public class ExtendedGameController extends GameController {
 		}
 		world.tiles().filter(location -> world.hasFood(ArcadeFood.PELLET, location)).forEach(tile -> {
 			world.removeFood(tile);
-			theGame().gainPelletPoints();
+			game().gainPelletPoints();
 			doorMan.onPacManFoundFood();
 			doorMan.update();
 		});
 		loginfo("All simple pellets have been eaten");
-		if (theGame().remainingFoodCount() == 0) {
+		if (game().remainingFoodCount() == 0) {
 			enqueue(new LevelCompletedEvent());
 		}
 	}
@@ -323,9 +332,9 @@ public class ExtendedGameController extends GameController {
 		if (getState() != PLAYING) {
 			return;
 		}
-		theGame().ghostsKilledByEnergizer = 0;
+		game().ghostsKilledByEnergizer = 0;
 		folks.ghostsInWorld().filter(ghost -> ghost.ai.is(CHASING, SCATTERING, FRIGHTENED)).forEach(ghost -> {
-			theGame().gainGhostPoints();
+			game().gainGhostPoints();
 			ghost.ai.process(new GhostKilledEvent(ghost));
 		});
 		loginfo("All ghosts have been killed");
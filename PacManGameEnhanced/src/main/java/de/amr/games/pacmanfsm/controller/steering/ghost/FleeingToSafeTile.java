@@ -87,7 +87,8 @@ public class FleeingToSafeTile extends FollowingPath {
 	}
 
 	private Tile computeSafestCorner() {
-		return permute(safeTiles.stream()).filter(tile -> tile != safeTile).sorted(byTileSafety()).findFirst().orElse(null);
+		return permute(safeTiles.stream()).filter(tile -> !tile.equals(safeTile)).sorted(byTileSafety()).findFirst()
+				.orElse(null);
 	}
 
 	private Comparator<Tile> byTileSafety() {
@@ -26,12 +26,10 @@ package de.amr.games.pacmanfsm.controller.steering.pacman;
 import static de.amr.games.pacmanfsm.controller.creatures.ghost.GhostState.CHASING;
 import static de.amr.games.pacmanfsm.controller.creatures.ghost.GhostState.FRIGHTENED;
 import static de.amr.games.pacmanfsm.controller.creatures.ghost.GhostState.SCATTERING;
-import static java.util.Comparator.comparingInt;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
 import java.util.stream.Stream;
 
 import de.amr.games.pacmanfsm.PacManApp.PacManAppSettings;
@@ -53,8 +51,6 @@ import de.amr.games.pacmanfsm.model.world.graph.WorldGraph.PathFinder;
  */
 public class SearchingForFoodAndAvoidingGhosts implements Steering {
 
-	private static final Random rnd = new Random();
-
 	static class Target {
 
 		Direction dir;
@@ -182,10 +178,6 @@ public class SearchingForFoodAndAvoidingGhosts implements Steering {
 		}
 	}
 
-	private Stream<Tile> foodTiles() {
-		return world.tiles().filter(world::hasFood);
-	}
-
 	private Optional<Tile> preferredFoodLocationFrom(Tile here) {
 		double nearestEnemyDist = distanceToNearestEnemy(here);
 		if (nearestEnemyDist == Double.MAX_VALUE) {
@@ -210,20 +202,12 @@ public class SearchingForFoodAndAvoidingGhosts implements Steering {
 	}
 
 	private Optional<Tile> energizerAtMostAway(Tile here, int distance) {
-		//@formatter:off
-		return foodTiles()
-			.filter(tile -> world.hasFood(ArcadeFood.ENERGIZER, tile))
-			.filter(energizer -> here.manhattanDistance(energizer) <= distance)
-			.findFirst();
-		//@formatter:on
+		return world.nearestFood(ArcadeFood.ENERGIZER, here)
+				.filter(energizer -> here.manhattanDistance(energizer) <= distance);
 	}
 
 	private Optional<Tile> nearestFoodFrom(Tile here) {
-		//@formatter:off
-		return foodTiles()
-			.sorted(comparingInt(here::manhattanDistance))
-			.findFirst();
-		//@formatter:on
+		return world.nearestFood(here);
 	}
 
 	private boolean isGhostFrightened(Ghost ghost) {
@@ -255,27 +239,22 @@ public class SearchingForFoodAndAvoidingGhosts implements Steering {
 	}
 
 	private Stream<Direction> aheadThenLeftOrRight() {
-		return rnd.nextBoolean() ? Stream.of(guy.moveDir, guy.moveDir.right(), guy.moveDir.left())
+		return world.random().nextBoolean() ? Stream.of(guy.moveDir, guy.moveDir.right(), guy.moveDir.left())
 				: Stream.of(guy.moveDir, guy.moveDir.left(), guy.moveDir.right());
 	}
 
 	private int shortestPathLength(Tile from, Tile to) {
-		return graph.findPath(from, to).size();
+		return graph.pathLength(from, to);
 	}
 
 	private Optional<Direction> directionTowards(Ghost enemy) {
-		Direction result = null;
-		double minDist = Integer.MAX_VALUE;
-		for (Direction dir : Direction.values()) {
-			if (guy.canMoveTo(dir)) {
-				List<Tile> path = graph.findPath(guy.tile(), enemy.tile());
-				int dist = path.size();
-				if (dist < minDist && path.size() >= 2) {
-					minDist = dist;
-					result = path.get(0).dirTo(path.get(1)).orElseThrow(IllegalStateException::new);
-				}
-			}
+		if (Direction.dirs().noneMatch(guy::canMoveTo)) {
+			return Optional.empty();
+		}
+		List<Tile> path = graph.findPath(guy.tile(), enemy.tile());
+		if (path.size() < 2) {
+			return Optional.empty();
 		}
-		return Optional.ofNullable(result);
+		return Optional.of(path.get(0).dirTo(path.get(1)).orElseThrow(IllegalStateException::new));
 	}
 }
\ No newline at end of file
@@ -30,7 +30,8 @@ import de.amr.statemachine.dot.DotPrinter;
 
 /**
  * A finite-state machine together with its textual Graphviz representation. As this text includes information depending
- * on the current state of the machine, it has to be updated at certain intervals.
+ * on the current state of the machine, it is marked outdated when the machine changes its state and regenerated when
+ * it is requested the next time.
  * 
  * @author Armin Reichert
  */
@@ -38,10 +39,12 @@ public class FsmData implements Comparable<FsmData> {
 
 	private final StateMachine<?, ?> fsm;
 	private String graphVizText;
+	private Object graphVizState;
+	private boolean outdated;
 
 	public FsmData(StateMachine<?, ?> fsm) {
 		this.fsm = fsm;
-		updateGraphVizText();
+		outdated = true;
 	}
 
 	@Override
@@ -51,7 +54,7 @@ public class FsmData implements Comparable<FsmData> {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(graphVizText);
+		return Objects.hash(getGraphVizText());
 	}
 
 	@Override
@@ -63,11 +66,28 @@ public class FsmData implements Comparable<FsmData> {
 		if (getClass() != obj.getClass())
 			return false;
 		FsmData other = (FsmData) obj;
-		return Objects.equals(graphVizText, other.graphVizText);
+		return Objects.equals(getGraphVizText(), other.getGraphVizText());
 	}
 
-	public void updateGraphVizText() {
+	/**
+	 * Regenerates the Graphviz text immediately.
+	 */
+	public synchronized void updateGraphVizText() {
+		graphVizState = fsm.getState();
 		graphVizText = DotPrinter.toDotFormat(fsm);
+		outdated = false;
+	}
+
+	/**
+	 * Marks the Graphviz text outdated if the machine has changed its state since the text was generated.
+	 * 
+	 * @return if the Graphviz text is outdated
+	 */
+	public synchronized boolean checkStateChange() {
+		if (!outdated && !Objects.equals(graphVizState, fsm.getState())) {
+			outdated = true;
+		}
+		return outdated;
 	}
 
 	@SuppressWarnings("unchecked")
@@ -75,7 +95,10 @@ public class FsmData implements Comparable<FsmData> {
 		return (StateMachine<Object, Object>) fsm;
 	}
 
-	public String getGraphVizText() {
+	public synchronized String getGraphVizText() {
+		if (outdated) {
+			updateGraphVizText();
+		}
 		return graphVizText;
 	}
 }
\ No newline at end of file
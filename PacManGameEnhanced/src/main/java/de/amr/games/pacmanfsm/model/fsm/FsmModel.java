@@ -34,7 +34,8 @@ import java.util.stream.Stream;
 
 /**
  * Maintains a map of data (state machine, Graphviz representation) that is kept in sync with the currently registered
- * set of state machines.
+ * set of state machines. On each update, only the Graphviz text of machines that have changed their state is marked
+ * outdated, it gets regenerated when requested.
  * 
  * @author Armin Reichert
  */
@@ -52,7 +53,7 @@ public class FsmModel {
 			REGISTRY.categories()
 					.forEach(category -> dataByCategory.put(category, REGISTRY.machines(category).map(FsmData::new).toList()));
 		} else {
-			data().forEach(FsmData::updateGraphVizText);
+			data().forEach(FsmData::checkStateChange);
 		}
 	}
 
@@ -0,0 +1,210 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.model.world.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import de.amr.games.pacmanfsm.lib.Direction;
+import de.amr.games.pacmanfsm.lib.Tile;
+import de.amr.games.pacmanfsm.model.world.api.TiledWorld;
+
+/**
+ * Precomputed all-pairs shortest path table for the accessible tiles of a world.
+ * <p>
+ * For each pair of accessible tiles the table stores the path distance and the next tile on a shortest path, so a path
+ * can be reconstructed in time proportional to its length. The table is computed by a breadth-first search from each
+ * accessible tile. Like the {@link WorldGraph}, it only connects adjacent accessible tiles (no portals). Distances and
+ * next hops are stored as {@code short} values indexed by compact tile numbers, so the table for the Arcade world with
+ * its few hundred accessible tiles needs only a few hundred kilobytes. The table size grows quadratically, so worlds with
+ * more than {@link #MAX_TILES} accessible tiles are rejected and must use a path finder instead.
+ * 
+ * @author Armin Reichert
+ */
+public class PathTable {
+
+	/** Maximum number of accessible tiles, the table then needs 64 MB. */
+	public static final int MAX_TILES = 4096;
+
+	private static final short NONE = -1;
+
+	private static final Map<TiledWorld, PathTable> TABLES = new WeakHashMap<>();
+
+	/**
+	 * Returns the path table of the given world. The table is computed only once per world.
+	 * 
+	 * @param world a world
+	 * @return the path table of this world
+	 * @throws IllegalArgumentException if the world has more than {@link #MAX_TILES} accessible tiles
+	 */
+	public static PathTable of(TiledWorld world) {
+		synchronized (TABLES) {
+			return TABLES.computeIfAbsent(world, PathTable::new);
+		}
+	}
+
+	/**
+	 * @param world a world
+	 * @return if a path table can be computed for the world
+	 */
+	public static boolean fits(TiledWorld world) {
+		return countAccessibleTiles(world) <= MAX_TILES;
+	}
+
+	private static int countAccessibleTiles(TiledWorld world) {
+		int count = 0;
+		for (int i = 0; i < world.numTiles(); ++i) {
+			if (world.isAccessible(world.tile(i))) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	// no reference to the world, else the weak keys of the table registry would never be cleared
+	private final int width;
+	private final int height;
+	private final int[] number; // tile index -> compact number or NONE
+	private final Tile[] tiles; // compact number -> tile
+	private final int size;
+	private final short[] distance;
+	private final short[] nextHop;
+
+	private PathTable(TiledWorld world) {
+		int accessibleTiles = countAccessibleTiles(world);
+		if (accessibleTiles > MAX_TILES) {
+			throw new IllegalArgumentException(String.format(
+					"World has %d accessible tiles, path table supports at most %d", accessibleTiles, MAX_TILES));
+		}
+		width = world.width();
+		height = world.height();
+		number = new int[world.numTiles()];
+		Arrays.fill(number, NONE);
+		int n = 0;
+		for (int i = 0; i < world.numTiles(); ++i) {
+			if (world.isAccessible(world.tile(i))) {
+				number[i] = n++;
+			}
+		}
+		size = n;
+		tiles = new Tile[size];
+		for (int i = 0; i < world.numTiles(); ++i) {
+			if (number[i] != NONE) {
+				tiles[number[i]] = world.tile(i);
+			}
+		}
+		int[][] adjacency = new int[size][];
+		for (int u = 0; u < size; ++u) {
+			adjacency[u] = neighbors(world, tiles[u]);
+		}
+		distance = new short[size * size];
+		nextHop = new short[size * size];
+		Arrays.fill(distance, NONE);
+		Arrays.fill(nextHop, NONE);
+		int[] queue = new int[size];
+		for (int source = 0; source < size; ++source) {
+			bfs(source, adjacency, queue);
+		}
+	}
+
+	private int[] neighbors(TiledWorld world, Tile tile) {
+		int[] result = new int[4];
+		int count = 0;
+		for (Direction dir : Direction.values()) {
+			Tile neighbor = tile.towards(dir);
+			int index = world.index(neighbor);
+			if (index != TiledWorld.NO_TILE && number[index] != NONE) {
+				result[count++] = number[index];
+			}
+		}
+		return Arrays.copyOf(result, count);
+	}
+
+	private void bfs(int source, int[][] adjacency, int[] queue) {
+		int row = source * size;
+		int head = 0;
+		int tail = 0;
+		distance[row + source] = 0;
+		nextHop[row + source] = (short) source;
+		queue[tail++] = source;
+		while (head < tail) {
+			int u = queue[head++];
+			for (int v : adjacency[u]) {
+				if (distance[row + v] == NONE) {
+					distance[row + v] = (short) (distance[row + u] + 1);
+					// first step from source: the neighbor itself or the first step towards its predecessor
+					nextHop[row + v] = u == source ? (short) v : nextHop[row + u];
+					queue[tail++] = v;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param tile some tile
+	 * @return if the tile is contained in this table
+	 */
+	public boolean contains(Tile tile) {
+		int index = index(tile);
+		return index != TiledWorld.NO_TILE && number[index] != NONE;
+	}
+
+	/**
+	 * @param source source tile, must be contained in this table
+	 * @param target target tile, must be contained in this table
+	 * @return path distance (number of steps) or -1 if the target is not reachable
+	 */
+	public int distance(Tile source, Tile target) {
+		return distance[number[index(source)] * size + number[index(target)]];
+	}
+
+	/**
+	 * @param source source tile, must be contained in this table
+	 * @param target target tile, must be contained in this table
+	 * @return shortest path from source to target including both tiles or an empty list if target is not reachable
+	 */
+	public List<Tile> path(Tile source, Tile target) {
+		int u = number[index(source)];
+		int v = number[index(target)];
+		if (distance[u * size + v] == NONE) {
+			return Collections.emptyList();
+		}
+		List<Tile> path = new ArrayList<>(distance[u * size + v] + 1);
+		path.add(source);
+		while (u != v) {
+			u = nextHop[u * size + v];
+			path.add(tiles[u]);
+		}
+		return path;
+	}
+
+	private int index(Tile tile) {
+		return 0 <= tile.col && tile.col < width && 0 <= tile.row && tile.row < height ? tile.row * width + tile.col
+				: TiledWorld.NO_TILE;
+	}
+}
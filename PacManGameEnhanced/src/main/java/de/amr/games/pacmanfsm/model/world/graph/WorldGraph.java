@@ -26,7 +26,9 @@ package de.amr.games.pacmanfsm.model.world.graph;
 import static de.amr.easy.game.Application.loginfo;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import de.amr.games.pacmanfsm.PacManApp.PacManAppSettings;
 import de.amr.games.pacmanfsm.lib.Tile;
@@ -43,6 +45,8 @@ import de.amr.graph.pathfinder.impl.BreadthFirstSearch;
 
 /**
  * Adds a graph structure to the world such that path finder algorithms can be used.
+ * <p>
+ * The results of the path finder are kept in a least-recently-used cache keyed by source and target vertex.
  * 
  * @author Armin Reichert
  */
@@ -52,9 +56,20 @@ public class WorldGraph extends GridGraph<Tile, Void> {
 		ASTAR, BEST_FIRST_SEARCH, BREADTH_FIRST_SEARCH
 	}
 
+	private static final int PATH_CACHE_SIZE = 256;
+
 	public final TiledWorld world;
 	private PathFinder pathFinder;
-	private int pathFinderCalls;
+	private PathTable pathTable;
+	private final Map<Long, List<Tile>> pathCache = new LinkedHashMap<>(PATH_CACHE_SIZE, 0.75f, true) {
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, List<Tile>> eldest) {
+			return size() > PATH_CACHE_SIZE;
+		}
+	};
+	private long cacheHits;
+	private long cacheMisses;
 
 	public WorldGraph(PacManAppSettings settings, TiledWorld world) {
 		super(world.width(), world.height(), Grid4Topology.get(), v -> null, (u, v) -> null, UndirectedEdge::new);
@@ -64,10 +79,55 @@ public class WorldGraph extends GridGraph<Tile, Void> {
 				.forEach(this::removeEdge);
 		setDefaultVertexLabel(this::tile);
 		pathFinder = getPathFinder(settings.pathFinder);
+		usePathTable(settings.pathTable);
 	}
 
 	public void setPathFinder(PathFinder pathFinder) {
-		this.pathFinder = pathFinder;
+		if (this.pathFinder != pathFinder) {
+			this.pathFinder = pathFinder;
+			clearPathCache();
+		}
+	}
+
+	/**
+	 * Removes all cached paths. Must be called when the graph structure changes.
+	 */
+	public void clearPathCache() {
+		pathCache.clear();
+	}
+
+	/**
+	 * @return number of path queries answered from the path cache
+	 */
+	public long cacheHits() {
+		return cacheHits;
+	}
+
+	/**
+	 * @return number of path queries for which the path finder had to run
+	 */
+	public long cacheMisses() {
+		return cacheMisses;
+	}
+
+	/**
+	 * If the path table is used, paths between accessible tiles are taken from the precomputed all-pairs shortest path
+	 * table of the world instead of running the path finder. These paths are always shortest paths, also if the
+	 * selected path finder would not find a shortest path. If the world is too large for a path table, the path finder
+	 * is used.
+	 * 
+	 * @param use if the path table should be used
+	 */
+	public void usePathTable(boolean use) {
+		if (use && !PathTable.fits(world)) {
+			loginfo("World too large for path table, using path finder");
+			use = false;
+		}
+		pathTable = use ? PathTable.of(world) : null;
+	}
+
+	public boolean isUsingPathTable() {
+		return pathTable != null;
 	}
 
 	private PathFinder getPathFinder(String spec) {
@@ -99,19 +159,45 @@ public class WorldGraph extends GridGraph<Tile, Void> {
 	}
 
 	public Tile tile(int vertex) {
-		return Tile.at(col(vertex), row(vertex));
+		return world.tile(vertex);
 	}
 
 	public List<Tile> findPath(Tile source, Tile target) {
-		List<Tile> tiles = Collections.emptyList();
-		if (world.includes(source) && world.includes(target)) {
-			Path path = createPathFinder(target).findPath(vertex(source), vertex(target));
-			pathFinderCalls += 1;
-			if (pathFinderCalls % 100 == 0) {
-				loginfo("%d'th pathfinding (%s) executed", pathFinderCalls, pathFinder);
+		if (pathTable != null && pathTable.contains(source) && pathTable.contains(target)) {
+			return pathTable.path(source, target);
+		}
+		if (!world.includes(source) || !world.includes(target)) {
+			return Collections.emptyList();
+		}
+		int u = vertex(source);
+		int v = vertex(target);
+		Long key = (long) u << 32 | v;
+		List<Tile> tiles = pathCache.get(key);
+		if (tiles != null) {
+			++cacheHits;
+		} else {
+			++cacheMisses;
+			if (cacheMisses % 1000 == 0) {
+				loginfo("%d pathfindings (%s) executed, %d path queries answered from cache", cacheMisses, pathFinder,
+						cacheHits);
 			}
+			Path path = createPathFinder(target).findPath(u, v);
 			tiles = path.vertexStream().map(this::tile).toList();
+			pathCache.put(key, tiles);
 		}
 		return tiles;
 	}
+
+	/**
+	 * @param source source tile
+	 * @param target target tile
+	 * @return number of tiles of the path from source to target as returned by {@link #findPath(Tile, Tile)}
+	 */
+	public int pathLength(Tile source, Tile target) {
+		if (pathTable != null && pathTable.contains(source) && pathTable.contains(target)) {
+			int distance = pathTable.distance(source, target);
+			return distance == -1 ? 0 : distance + 1;
+		}
+		return findPath(source, target).size();
+	}
 }
\ No newline at end of file
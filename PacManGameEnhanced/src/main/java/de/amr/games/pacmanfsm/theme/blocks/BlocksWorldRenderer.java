@@ -134,7 +134,7 @@ class BlocksWorldRenderer implements WorldRenderer {
 		g.fillRect(0, 0, world.width() * Tile.TS, world.height() * Tile.TS);
 		for (int row = 0; row < world.height(); ++row) {
 			for (int col = 0; col < world.width(); ++col) {
-				if (!world.isAccessible(Tile.at(col, row))) {
+				if (!world.isAccessible(world.tile(col, row))) {
 					drawWall(g, world, row, col);
 				}
 			}
@@ -170,7 +170,7 @@ public class LettersTheme extends ThemeParameterMap implements Theme {
 			g.setFont(font);
 			for (int row = 3; row < world.height() - 2; ++row) {
 				for (int col = 0; col < world.width(); ++col) {
-					Tile tile = Tile.at(col, row);
+					Tile tile = world.tile(col, row);
 					if (world.isAccessible(tile)) {
 						if (world.hasFood(ArcadeFood.ENERGIZER, tile) && Application.app().clock().getTotalTicks() % 60 < 30) {
 							g.setColor(Color.PINK);
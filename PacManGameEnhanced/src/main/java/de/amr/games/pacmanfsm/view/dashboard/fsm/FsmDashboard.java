@@ -141,9 +141,6 @@ public class FsmDashboard extends JFrame {
 
 	public void update() {
 		for (int i = 0; i < 4; ++i) {
-			if (views[i].getData() != null) {
-				views[i].getData().updateGraphVizText();
-			}
 			views[i].update();
 		}
 	}
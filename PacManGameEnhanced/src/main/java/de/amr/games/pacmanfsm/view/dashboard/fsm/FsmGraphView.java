@@ -23,10 +23,11 @@ SOFTWARE.
  */
 package de.amr.games.pacmanfsm.view.dashboard.fsm;
 
+import static de.amr.games.pacmanfsm.view.dashboard.fsm.GraphvizRenderingService.SERVICE;
+
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.event.ActionEvent;
-import java.awt.image.BufferedImage;
 
 import javax.swing.AbstractAction;
 import javax.swing.Action;
@@ -37,26 +38,20 @@ import javax.swing.JScrollPane;
 import javax.swing.KeyStroke;
 import javax.swing.SwingConstants;
 
-import de.amr.easy.game.Application;
 import de.amr.games.pacmanfsm.model.fsm.FsmData;
-import guru.nidi.graphviz.engine.Format;
-import guru.nidi.graphviz.engine.Graphviz;
 
 /**
- * Displays a graph stored in GraphViz format.
+ * Displays a graph stored in GraphViz format. The graph image is rendered in the background, until it is available the
+ * previous image stays visible.
  * 
  * @author Armin Reichert
  */
 public class FsmGraphView extends JPanel {
 
-	static final int GRAPHVIZ_MEMORY = 20_000_000;
-
 	static final double SCALE_MIN = 0.4;
 	static final double SCALE_MAX = 3.0;
 	static final double SCALE_STEP = 0.2;
 
-	private int renderingCount = 0;
-
 	public final Action actionZoomIn = new AbstractAction("Zoom In",
 			new ImageIcon(getClass().getResource("/zoom_in.png"))) {
 
@@ -80,6 +75,12 @@ public class FsmGraphView extends JPanel {
 	private FsmData data;
 	private JLabel graphDisplay;
 	private double scaling = 0.8;
+	// accessed by the calling thread and the event dispatch thread
+	private volatile String requestedText;
+	private volatile double requestedScaling;
+	// last graph that could not be rendered, only retried after the graph or the zoom changed
+	private volatile String failedText;
+	private volatile double failedScaling;
 
 	public FsmGraphView() {
 		setBackground(Color.WHITE);
@@ -101,17 +102,34 @@ public class FsmGraphView extends JPanel {
 	}
 
 	public void update() {
-		graphDisplay.setIcon(null);
-		if (data != null) {
-			try {
-				BufferedImage png = Graphviz.fromString(data.getGraphVizText()).totalMemory(GRAPHVIZ_MEMORY).scale(scaling)
-						.render(Format.PNG).toImage();
+		if (data == null) {
+			requestedText = null;
+			SERVICE.cancel(this);
+			graphDisplay.setIcon(null);
+			return;
+		}
+		String text = data.getGraphVizText();
+		double scale = scaling;
+		if (text.equals(requestedText) && scale == requestedScaling) {
+			return;
+		}
+		if (text.equals(failedText) && scale == failedScaling) {
+			return;
+		}
+		requestedText = text;
+		requestedScaling = scale;
+		SERVICE.request(this, text, scale, png -> {
+			if (text.equals(requestedText) && scale == requestedScaling) {
 				graphDisplay.setIcon(new ImageIcon(png));
-				++renderingCount;
-			} catch (Exception x) {
-				Application.loginfo("Graphviz rendering failed for image #%d. Reason: %s", renderingCount, x.getMessage());
 			}
-		}
+		}, () -> {
+			if (text.equals(requestedText) && scale == requestedScaling) {
+				failedText = text;
+				failedScaling = scale;
+				requestedText = null;
+				graphDisplay.setIcon(null);
+			}
+		});
 	}
 
 	public FsmData getData() {
@@ -43,6 +43,7 @@ public class FsmTextView extends JPanel {
 	static final String HINT_TEXT = "This area shows the Graphviz representation of the selected finite-state machine";
 
 	private FsmData data;
+	private String displayedText;
 	private JTextArea textArea;
 
 	public FsmTextView() {
@@ -58,6 +59,7 @@ public class FsmTextView extends JPanel {
 		textArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
 		textArea.setTabSize(4);
 		textArea.setText(HINT_TEXT);
+		displayedText = HINT_TEXT;
 
 		scrollPane.setViewportView(textArea);
 	}
@@ -68,11 +70,12 @@ public class FsmTextView extends JPanel {
 	}
 
 	public void update() {
-		if (data != null) {
-			textArea.setText(data.getGraphVizText());
+		String text = data != null ? data.getGraphVizText() : HINT_TEXT;
+		// the text instance only changes when the machine has changed its state
+		if (text != displayedText) {
+			textArea.setText(text);
 			textArea.setCaretPosition(0);
-		} else {
-			textArea.setText(HINT_TEXT);
+			displayedText = text;
 		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,169 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.view.dashboard.fsm;
+
+import static de.amr.easy.game.Application.loginfo;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+
+import guru.nidi.graphviz.engine.Format;
+import guru.nidi.graphviz.engine.Graphviz;
+
+/**
+ * Renders Graphviz text into images on a background thread such that neither the game loop nor the event dispatch
+ * thread is blocked by the Graphviz engine. Rendered images are cached by their Graphviz text and scaling, a new
+ * request of a client replaces its pending request.
+ * 
+ * @author Armin Reichert
+ */
+class GraphvizRenderingService {
+
+	static final GraphvizRenderingService SERVICE = new GraphvizRenderingService();
+
+	static final int GRAPHVIZ_MEMORY = 20_000_000;
+	static final int CACHE_SIZE = 64;
+
+	private record Key(String graphVizText, double scaling) {
+	}
+
+	private record Request(Key key, Consumer<BufferedImage> onRendered, Runnable onFailed) {
+	}
+
+	// all fields guarded by this
+	private final Map<Key, BufferedImage> cache = new LinkedHashMap<>(16, 0.75f, true) {
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, BufferedImage> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+	private final Map<Object, Request> pendingRequests = new LinkedHashMap<>();
+	private Thread renderingThread;
+	private int renderingCount;
+
+	private GraphvizRenderingService() {
+	}
+
+	/**
+	 * Requests an image of the given Graphviz text. The image is passed to the given consumer on the event dispatch
+	 * thread, either immediately if it is cached or after it has been rendered. If rendering fails, the given failure
+	 * handler is run on the event dispatch thread instead.
+	 * 
+	 * @param client       client of the service, a newer request of the same client replaces this one if still pending
+	 * @param graphVizText graph in Graphviz format
+	 * @param scaling      image scaling
+	 * @param onRendered   consumer of the rendered image
+	 * @param onFailed     called if the image could not be rendered
+	 */
+	public synchronized void request(Object client, String graphVizText, double scaling,
+			Consumer<BufferedImage> onRendered, Runnable onFailed) {
+		Key key = new Key(graphVizText, scaling);
+		BufferedImage image = cache.get(key);
+		if (image != null) {
+			pendingRequests.remove(client);
+			SwingUtilities.invokeLater(() -> onRendered.accept(image));
+			return;
+		}
+		pendingRequests.put(client, new Request(key, onRendered, onFailed));
+		startRenderingThread();
+		notifyAll();
+	}
+
+	/**
+	 * Cancels the pending request of the given client, if any.
+	 * 
+	 * @param client client of the service
+	 */
+	public synchronized void cancel(Object client) {
+		pendingRequests.remove(client);
+	}
+
+	private void startRenderingThread() {
+		if (renderingThread == null) {
+			renderingThread = new Thread(this::processRequests, "Graphviz rendering");
+			renderingThread.setDaemon(true);
+			renderingThread.start();
+		}
+	}
+
+	private void processRequests() {
+		try {
+			while (true) {
+				Key key;
+				BufferedImage image;
+				int number;
+				synchronized (this) {
+					while (pendingRequests.isEmpty()) {
+						wait();
+					}
+					key = pendingRequests.values().iterator().next().key;
+					image = cache.get(key);
+					number = image == null ? ++renderingCount : renderingCount;
+				}
+				if (image == null) {
+					image = render(key, number);
+				}
+				deliver(key, image);
+			}
+		} catch (InterruptedException x) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private BufferedImage render(Key key, int number) {
+		try {
+			return Graphviz.fromString(key.graphVizText).totalMemory(GRAPHVIZ_MEMORY).scale(key.scaling).render(Format.PNG)
+					.toImage();
+		} catch (Exception x) {
+			loginfo("Graphviz rendering failed for image #%d. Reason: %s", number, x.getMessage());
+			return null;
+		}
+	}
+
+	private synchronized void deliver(Key key, BufferedImage image) {
+		// all pending requests for the same graph are served by this rendering
+		List<Request> served = new ArrayList<>();
+		for (Iterator<Request> it = pendingRequests.values().iterator(); it.hasNext();) {
+			Request request = it.next();
+			if (request.key.equals(key)) {
+				served.add(request);
+				it.remove();
+			}
+		}
+		if (image != null) {
+			cache.put(key, image);
+			served.forEach(request -> SwingUtilities.invokeLater(() -> request.onRendered.accept(image)));
+		} else {
+			served.forEach(request -> SwingUtilities.invokeLater(request.onFailed));
+		}
+	}
+}
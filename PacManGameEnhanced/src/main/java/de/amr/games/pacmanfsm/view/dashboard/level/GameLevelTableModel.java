@@ -23,13 +23,13 @@ SOFTWARE.
  */
 package de.amr.games.pacmanfsm.view.dashboard.level;
 
-import static de.amr.games.pacmanfsm.controller.game.GameController.theGame;
 import static de.amr.games.pacmanfsm.view.dashboard.util.Formatting.integer;
 import static de.amr.games.pacmanfsm.view.dashboard.util.Formatting.percent;
 
 import javax.swing.table.AbstractTableModel;
 
 import de.amr.games.pacmanfsm.controller.game.GameController;
+import de.amr.games.pacmanfsm.model.game.PacManGame;
 
 /**
  * Model of the table displaying all level-dependent parameters.
@@ -63,9 +63,15 @@ public class GameLevelTableModel extends AbstractTableModel {
 		};
 		//@formatter:on
 
+	private final GameController gameController;
+
+	public GameLevelTableModel(GameController gameController) {
+		this.gameController = gameController;
+	}
+
 	@Override
 	public int getRowCount() {
-		return GameController.isGameStarted() ? LEVEL_PARAMS.length : 0;
+		return gameController.isGameStarted() ? LEVEL_PARAMS.length : 0;
 	}
 
 	@Override
@@ -84,51 +90,52 @@ public class GameLevelTableModel extends AbstractTableModel {
 			return LEVEL_PARAMS[row];
 		}
 		if (col == 1) {
-			return GameController.isGameStarted() ? levelValue(row) : null;
+			return gameController.isGameStarted() ? levelValue(row) : null;
 		}
 		throw new IllegalArgumentException("Illegal column index; " + col);
 	}
 
 	private String levelValue(int row) {
+		PacManGame game = gameController.game();
 		switch (row) {
 		case 0:
-			return integer(theGame().level);
+			return integer(game.level);
 		case 1:
-			return integer(theGame().foodCount);
+			return integer(game.foodCount);
 		case 2:
-			return integer(theGame().eatenFoodCount);
+			return integer(game.eatenFoodCount);
 		case 3:
-			return integer(theGame().remainingFoodCount());
+			return integer(game.remainingFoodCount());
 		case 4:
-			return integer(theGame().ghostsKilledByEnergizer);
+			return integer(game.ghostsKilledByEnergizer);
 		case 5:
-			return integer(theGame().ghostsKilledInLevel);
+			return integer(game.ghostsKilledInLevel);
 		case 6:
-			return theGame().bonusSymbol;
+			return game.bonusSymbol;
 		case 7:
-			return integer(theGame().bonusValue);
+			return integer(game.bonusValue);
 		case 8:
-			return percent(theGame().pacManSpeed);
+			return percent(game.pacManSpeed);
 		case 9:
-			return percent(theGame().ghostSpeed);
+			return percent(game.ghostSpeed);
 		case 10:
-			return percent(theGame().ghostTunnelSpeed);
+			return percent(game.ghostTunnelSpeed);
 		case 11:
-			return integer(theGame().elroy1DotsLeft);
+			return integer(game.elroy1DotsLeft);
 		case 12:
-			return percent(theGame().elroy1Speed);
+			return percent(game.elroy1Speed);
 		case 13:
-			return integer(theGame().elroy2DotsLeft);
+			return integer(game.elroy2DotsLeft);
 		case 14:
-			return percent(theGame().elroy2Speed);
+			return percent(game.elroy2Speed);
 		case 15:
-			return percent(theGame().pacManPowerSpeed);
+			return percent(game.pacManPowerSpeed);
 		case 16:
-			return percent(theGame().ghostFrightenedSpeed);
+			return percent(game.ghostFrightenedSpeed);
 		case 17:
-			return integer(theGame().pacManPowerSeconds);
+			return integer(game.pacManPowerSeconds);
 		case 18:
-			return integer(theGame().numFlashes);
+			return integer(game.numFlashes);
 		default:
 			return null;
 		}
@@ -37,6 +37,7 @@ import net.miginfocom.swing.MigLayout;
 public class GameLevelView extends JPanel implements Lifecycle {
 
 	private JTable table;
+	private GameController gameController;
 
 	public GameLevelView() {
 		setLayout(new BorderLayout(0, 0));
@@ -55,9 +56,13 @@ public class GameLevelView extends JPanel implements Lifecycle {
 		scrollPane.setViewportView(table);
 	}
 
+	public void attachTo(GameController gameController) {
+		this.gameController = gameController;
+	}
+
 	@Override
 	public void init() {
-		table.setModel(new GameLevelTableModel());
+		table.setModel(new GameLevelTableModel(gameController));
 		UniversalFormatter fmt = new UniversalFormatter();
 		fmt.fnBoldCondition = c -> c.row < 6;
 		table.getColumnModel().getColumns().asIterator().forEachRemaining(column -> column.setCellRenderer(fmt));
@@ -67,7 +72,7 @@ public class GameLevelView extends JPanel implements Lifecycle {
 
 	@Override
 	public void update() {
-		if (!GameController.isGameStarted()) {
+		if (!gameController.isGameStarted()) {
 			init();
 		} else {
 			GameLevelTableModel tableModel = (GameLevelTableModel) table.getModel();
@@ -0,0 +1,101 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.view.dashboard.profiler;
+
+import java.util.List;
+
+import javax.swing.table.AbstractTableModel;
+
+import de.amr.games.pacmanfsm.lib.TickProfiler;
+import de.amr.games.pacmanfsm.lib.TickProfiler.Phase;
+import de.amr.games.pacmanfsm.lib.TickProfiler.Stats;
+
+/**
+ * Model of the table displaying the tick profiler phases.
+ * 
+ * @author Armin Reichert
+ */
+public class ProfilerTableModel extends AbstractTableModel {
+
+	static final String[] COLUMNS = { "Phase", "Last (µs)", "Average (µs)", "p50 (µs)", "p95 (µs)", "p99 (µs)",
+			"p99 / Budget" };
+
+	private final TickProfiler profiler;
+	private List<Phase> phases;
+	private double budgetNanos = 1e9 / 60;
+
+	public ProfilerTableModel(TickProfiler profiler) {
+		this.profiler = profiler;
+		this.phases = profiler.phases();
+	}
+
+	public void update(int framerate) {
+		budgetNanos = 1e9 / framerate;
+		phases = profiler.phases();
+		fireTableDataChanged();
+	}
+
+	@Override
+	public int getRowCount() {
+		return phases.size();
+	}
+
+	@Override
+	public int getColumnCount() {
+		return COLUMNS.length;
+	}
+
+	@Override
+	public String getColumnName(int col) {
+		return COLUMNS[col];
+	}
+
+	@Override
+	public Object getValueAt(int row, int col) {
+		Phase phase = phases.get(row);
+		Stats stats = phase.stats();
+		switch (col) {
+		case 0:
+			return phase.name;
+		case 1:
+			return micros(stats.last);
+		case 2:
+			return micros(stats.average);
+		case 3:
+			return micros(stats.percentile(50));
+		case 4:
+			return micros(stats.percentile(95));
+		case 5:
+			return micros(stats.percentile(99));
+		case 6:
+			return String.format("%.1f%%", 100 * stats.percentile(99) / budgetNanos);
+		default:
+			throw new IllegalArgumentException("Illegal column index; " + col);
+		}
+	}
+
+	private static String micros(double nanos) {
+		return String.format("%.1f", nanos / 1e3);
+	}
+}
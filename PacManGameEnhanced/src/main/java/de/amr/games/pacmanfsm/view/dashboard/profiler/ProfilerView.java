@@ -0,0 +1,94 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.view.dashboard.profiler;
+
+import static de.amr.easy.game.Application.app;
+
+import java.awt.BorderLayout;
+
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+
+import de.amr.easy.game.controller.Lifecycle;
+import de.amr.games.pacmanfsm.lib.TickProfiler;
+import net.miginfocom.swing.MigLayout;
+
+/**
+ * Displays where the time of a tick is spent.
+ * 
+ * @author Armin Reichert
+ */
+public class ProfilerView extends JPanel implements Lifecycle {
+
+	private JTable table;
+	private JCheckBox cbEnabled;
+	private JButton btnReset;
+	private TickProfiler profiler;
+	private ProfilerTableModel tableModel;
+
+	public ProfilerView() {
+		setLayout(new BorderLayout(0, 0));
+
+		JPanel content = new JPanel();
+		add(content, BorderLayout.CENTER);
+		content.setLayout(new MigLayout("", "[][grow]", "[][grow]"));
+
+		cbEnabled = new JCheckBox("Profiling enabled");
+		cbEnabled.addActionListener(e -> profiler.setEnabled(cbEnabled.isSelected()));
+		content.add(cbEnabled, "cell 0 0");
+
+		btnReset = new JButton("Reset");
+		btnReset.addActionListener(e -> profiler.reset());
+		content.add(btnReset, "cell 1 0");
+
+		JScrollPane scrollPane = new JScrollPane();
+		content.add(scrollPane, "cell 0 1 2 1,grow");
+
+		table = new JTable();
+		table.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
+		table.setRowHeight(17);
+		table.setRowSelectionAllowed(false);
+		scrollPane.setViewportView(table);
+	}
+
+	public void attachTo(TickProfiler profiler) {
+		this.profiler = profiler;
+	}
+
+	@Override
+	public void init() {
+		tableModel = new ProfilerTableModel(profiler);
+		table.setModel(tableModel);
+		table.getColumnModel().getColumn(0).setMinWidth(120);
+	}
+
+	@Override
+	public void update() {
+		cbEnabled.setSelected(profiler.isEnabled());
+		tableModel.update(app().clock().getTargetFramerate());
+	}
+}
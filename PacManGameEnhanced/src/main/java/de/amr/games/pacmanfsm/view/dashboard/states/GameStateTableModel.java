@@ -111,7 +111,7 @@ class GameStateTableModel extends AbstractTableModel {
 	}
 
 	public void update() {
-		if (GameController.isGameStarted()) {
+		if (gameController.isGameStarted()) {
 			GhostAttackController ghostCommand = gameController.ghostCommand;
 			Folks folks = gameController.folks;
 			fillGhostRecord(records[ROW_BLINKY], ghostCommand, folks.blinky, folks.pacMan);
@@ -156,7 +156,7 @@ class GameStateTableModel extends AbstractTableModel {
 					: ghost.ai.state().getDuration();
 		}
 		r.ghostSanity = ghost.getMentalState();
-		r.pacManCollision = ghost.tile().equals(pacMan.tile());
+		r.pacManCollision = ghost.isOnSameTileAs(pacMan);
 	}
 
 	void fillBonusRecord(GameStateRecord r, GameController gameController, TiledWorld world) {
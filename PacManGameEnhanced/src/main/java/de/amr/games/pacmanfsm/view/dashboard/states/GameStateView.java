@@ -124,7 +124,7 @@ public class GameStateView extends JPanel implements Lifecycle {
 	@Override
 	public void update() {
 		if (gameController != null) {
-			if (GameController.isGameStarted()) {
+			if (gameController.isGameStarted()) {
 				GameStateTableModel tableModel = (GameStateTableModel) table.getModel();
 				if (tableModel.isDummy()) {
 					table.setModel(new GameStateTableModel(gameController));
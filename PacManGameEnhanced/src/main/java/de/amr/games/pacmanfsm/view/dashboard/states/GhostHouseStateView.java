@@ -168,7 +168,7 @@ public class GhostHouseStateView extends JPanel implements Lifecycle {
 
 	@Override
 	public void update() {
-		if (GameController.isGameStarted()) {
+		if (gameController.isGameStarted()) {
 			DoorMan doorMan = gameController.doorMan;
 			tfPinkyDots.setText(formatDots(doorMan, folks.pinky));
 			tfPinkyDots.setEnabled(!doorMan.isGlobalDotCounterEnabled());
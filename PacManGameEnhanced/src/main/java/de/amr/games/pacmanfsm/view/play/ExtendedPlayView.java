@@ -29,8 +29,9 @@ import java.awt.Graphics2D;
 import de.amr.easy.game.ui.widgets.FrameRateWidget;
 import de.amr.games.pacmanfsm.PacManApp.PacManAppSettings;
 import de.amr.games.pacmanfsm.controller.creatures.Folks;
-import de.amr.games.pacmanfsm.controller.game.GameController;
 import de.amr.games.pacmanfsm.controller.game.GhostAttackController;
+import de.amr.games.pacmanfsm.lib.TickProfiler;
+import de.amr.games.pacmanfsm.lib.TickProfiler.Phase;
 import de.amr.games.pacmanfsm.lib.Tile;
 import de.amr.games.pacmanfsm.model.world.api.TiledWorld;
 import de.amr.games.pacmanfsm.theme.api.Theme;
@@ -50,18 +51,25 @@ public class ExtendedPlayView extends PlayView {
 	protected final RoutesRenderer routesRenderer;
 	protected final StatesRenderer statesRenderer;
 	protected final FrameRateWidget frameRateView;
+	protected final ProfilerOverlay profilerOverlay;
 	protected final GhostAttackController ghostCommand;
+	protected final TickProfiler profiler;
+	protected final Phase drawPhase;
 
 	protected boolean showingFrameRate;
+	protected boolean showingProfiler;
 	protected boolean showingGrid;
 	protected boolean showingRoutes;
 	protected boolean showingStates;
 	protected boolean showingScores = true;
 
 	public ExtendedPlayView(PacManAppSettings settings, Theme theme, Folks folks, GhostAttackController ghostCommand,
-			TiledWorld world) {
+			TiledWorld world, TickProfiler profiler) {
 		super(theme, folks, world);
 		this.ghostCommand = ghostCommand;
+		this.profiler = profiler;
+		drawPhase = profiler.phase("Draw");
+		profilerOverlay = new ProfilerOverlay(profiler);
 		gridRenderer = new GridRenderer(world.width(), world.height());
 		routesRenderer = new RoutesRenderer(settings);
 		statesRenderer = new StatesRenderer(settings);
@@ -71,6 +79,7 @@ public class ExtendedPlayView extends PlayView {
 
 	@Override
 	public void draw(Graphics2D g) {
+		long start = drawPhase.start();
 		drawGrid(g);
 		drawWorld(g);
 		drawOneWayTiles(g);
@@ -82,6 +91,8 @@ public class ExtendedPlayView extends PlayView {
 		drawPointsCounter(g);
 		drawLivesCounter(g);
 		drawLevelCounter(g);
+		drawPhase.stop(start);
+		drawProfiler(g);
 	}
 
 	public boolean isShowingFrameRate() {
@@ -96,6 +107,20 @@ public class ExtendedPlayView extends PlayView {
 		showingFrameRate = false;
 	}
 
+	public boolean isShowingProfiler() {
+		return showingProfiler;
+	}
+
+	public void turnProfilerOn() {
+		showingProfiler = true;
+		profiler.setEnabled(true);
+	}
+
+	public void turnProfilerOff() {
+		showingProfiler = false;
+		profiler.setEnabled(false);
+	}
+
 	public boolean isShowingGrid() {
 		return showingGrid;
 	}
@@ -157,7 +182,7 @@ public class ExtendedPlayView extends PlayView {
 	@Override
 	protected void drawPointsCounter(Graphics2D g) {
 		if (showingScores) {
-			theme.gameScoreRenderer().render(g, GameController.theGame());
+			theme.gameScoreRenderer().render(g, folks.game());
 		}
 	}
 
@@ -180,6 +205,12 @@ public class ExtendedPlayView extends PlayView {
 		}
 	}
 
+	protected void drawProfiler(Graphics2D g) {
+		if (showingProfiler) {
+			profilerOverlay.draw(g, 0, 20 * Tile.TS);
+		}
+	}
+
 	protected void drawStates(Graphics2D g) {
 		if (showingStates) {
 			statesRenderer.renderStates(g, folks, ghostCommand);
@@ -0,0 +1,73 @@
+/*
+MIT License
+
+Copyright (c) 2019 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacmanfsm.view.play;
+
+import static de.amr.easy.game.Application.app;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+
+import de.amr.games.pacmanfsm.lib.TickProfiler;
+import de.amr.games.pacmanfsm.lib.TickProfiler.Phase;
+import de.amr.games.pacmanfsm.lib.TickProfiler.Stats;
+
+/**
+ * Displays the time spent in each phase of a tick (last value and rolling percentiles, in microseconds) together with
+ * the time budget given by the current clock frequency.
+ * 
+ * @author Armin Reichert
+ */
+public class ProfilerOverlay {
+
+	private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 6);
+	private static final int LINE_HEIGHT = 7;
+	private static final Color BACKGROUND = new Color(0, 0, 0, 180);
+
+	private final TickProfiler profiler;
+
+	public ProfilerOverlay(TickProfiler profiler) {
+		this.profiler = profiler;
+	}
+
+	public void draw(Graphics2D g, int x, int y) {
+		var phases = profiler.phases();
+		int fps = app().clock().getTargetFramerate();
+		g.setColor(BACKGROUND);
+		g.fillRect(x, y, 132, (phases.size() + 2) * LINE_HEIGHT + 2);
+		g.setFont(FONT);
+		g.setColor(Color.YELLOW);
+		int line = y + LINE_HEIGHT;
+		g.drawString(String.format("%-16s%7s%7s%7s", "us, budget", "last", "p50", "p99"), x + 2, line);
+		line += LINE_HEIGHT;
+		g.drawString(String.format("%-16s%7.0f", fps + " fps", 1e6 / fps), x + 2, line);
+		g.setColor(Color.WHITE);
+		for (Phase phase : phases) {
+			Stats stats = phase.stats();
+			line += LINE_HEIGHT;
+			g.drawString(String.format("%-16.16s%7.1f%7.1f%7.1f", phase.name, stats.last / 1e3, stats.percentile(50) / 1e3,
+					stats.percentile(99) / 1e3), x + 2, line);
+		}
+	}
+}
@@ -13,7 +13,8 @@ import de.amr.games.pacmanfsm.controller.creatures.Folks;
 import de.amr.games.pacmanfsm.controller.creatures.Guy;
 import de.amr.games.pacmanfsm.controller.creatures.ghost.Ghost;
 import de.amr.games.pacmanfsm.controller.creatures.pacman.PacMan;
-import de.amr.games.pacmanfsm.controller.game.GameController;
+import de.amr.games.pacmanfsm.model.game.Hiscore;
+import de.amr.games.pacmanfsm.model.game.PacManGame;
 import de.amr.games.pacmanfsm.model.world.arcade.ArcadeWorld;
 import de.amr.games.pacmanfsm.theme.api.Theme;
 import de.amr.games.pacmanfsm.theme.api.Themes;
@@ -37,6 +38,7 @@ public class TestController implements VisualController {
 
 	protected final PacManAppSettings settings;
 	protected final ArcadeWorld world;
+	protected final PacManGame game;
 	protected final Folks folks;
 	protected final PacMan pacMan;
 	protected final Ghost blinky;
@@ -51,9 +53,11 @@ public class TestController implements VisualController {
 		this.settings = settings;
 		world = new ArcadeWorld();
 		world.tiles().forEach(world::removeFood);
-		GameController.newGame(1, world.totalFoodCount());
+		game = new PacManGame(1, world.totalFoodCount(), PacManGame.PACMAN_LIVES, 0);
+		game.hiscore = new Hiscore();
+		game.levelCounter.add(game.bonusSymbol);
 		var house = world.house(0).orElseThrow();
-		folks = new Folks(settings, world, house);
+		folks = new Folks(settings, world, house, () -> game);
 		pacMan = folks.pacMan;
 		blinky = folks.blinky;
 		pinky = folks.pinky;
@@ -61,7 +65,7 @@ public class TestController implements VisualController {
 		clyde = folks.clyde;
 		themes = Themes.all();
 		currentThemeIndex = themes.indexOf(ArcadeTheme.THEME);
-		view = new ExtendedPlayView(settings, theme(), folks, null, world);
+		view = new ExtendedPlayView(settings, theme(), folks, null, world, new TickProfiler());
 		view.turnScoresOff();
 	}
 
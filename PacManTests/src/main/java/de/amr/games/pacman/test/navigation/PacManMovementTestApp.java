@@ -11,7 +11,6 @@ import de.amr.easy.game.input.Keyboard;
 import de.amr.games.pacman.test.TestController;
 import de.amr.games.pacmanfsm.PacManApp.PacManAppSettings;
 import de.amr.games.pacmanfsm.controller.event.FoodFoundEvent;
-import de.amr.games.pacmanfsm.controller.game.GameController;
 import de.amr.games.pacmanfsm.lib.Tile;
 
 public class PacManMovementTestApp extends Application {
@@ -51,10 +50,10 @@ class PacManMovementTestUI extends TestController {
 			if (event.getClass() == FoodFoundEvent.class) {
 				FoodFoundEvent foodFound = (FoodFoundEvent) event;
 				world.removeFood(foodFound.location);
-				GameController.theGame().eatenFoodCount++;
-				if (GameController.theGame().remainingFoodCount() == 0) {
+				game.eatenFoodCount++;
+				if (game.remainingFoodCount() == 0) {
 					world.restoreFood();
-					GameController.theGame().eatenFoodCount = 0;
+					game.eatenFoodCount = 0;
 				}
 			}
 		});
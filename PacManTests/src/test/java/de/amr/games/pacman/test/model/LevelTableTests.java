@@ -0,0 +1,83 @@
+package de.amr.games.pacman.test.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+import de.amr.games.pacmanfsm.model.game.LevelTable;
+import de.amr.games.pacmanfsm.model.game.PacManGame;
+
+public class LevelTableTests {
+
+	@Test
+	public void testArcadeTable() {
+		LevelTable table = LevelTable.ARCADE;
+		assertEquals(21, table.size());
+		assertEquals("CHERRIES", table.bonusSymbol(1));
+		assertEquals(100, table.bonusValue(1));
+		assertEquals(0.8f, table.pacManSpeed(1), 0);
+		assertEquals(6, table.pacManPowerSeconds(1));
+		assertEquals(1.0f, table.pacManSpeed(20), 0);
+		assertEquals(0.9f, table.pacManSpeed(21), 0);
+		assertEquals(0.9f, table.pacManSpeed(256), 0);
+		assertEquals("KEY", table.bonusSymbol(256));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testIllegalLevel() {
+		LevelTable.ARCADE.bonusValue(0);
+	}
+
+	@Test
+	public void testGameUsesTable() throws IOException {
+		Path file = Files.createTempFile("levels", ".csv");
+		try {
+			Files.writeString(file, """
+					# custom difficulty
+					APPLE, 700, 50, 40, 30, 10, 60, 5, 70, 55, 25, 10, 4
+					BELL, 3000, 60, 50, 30, 10, 60, 5, 70, 65, 25, 8, 4
+					""");
+			LevelTable table = LevelTable.load(file.toString());
+			assertEquals(2, table.size());
+			PacManGame game = new PacManGame(table, 3, 244, 3, 0);
+			assertEquals("BELL", game.bonusSymbol);
+			assertEquals(3000, game.bonusValue);
+			assertEquals(0.6f, game.pacManSpeed, 0);
+			assertEquals(8, game.pacManPowerSeconds);
+			assertEquals(0.6f, new PacManGame(game).pacManSpeed, 0);
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testMalformedTable() throws IOException {
+		Path file = Files.createTempFile("levels", ".csv");
+		try {
+			Files.writeString(file, "APPLE, 700, 50\n");
+			LevelTable.load(file.toString());
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testUnknownBonusSymbol() throws IOException {
+		Path file = Files.createTempFile("levels", ".csv");
+		try {
+			Files.writeString(file, "# typo\nAPLE, 700, 50, 40, 30, 10, 60, 5, 70, 55, 25, 10, 4\n");
+			LevelTable.load(file.toString());
+			fail("Unknown bonus symbol not detected");
+		} catch (IOException x) {
+			assertTrue(x.getMessage().contains("line 2"));
+		} finally {
+			Files.delete(file);
+		}
+	}
+}
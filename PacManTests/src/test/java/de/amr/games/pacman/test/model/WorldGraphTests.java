@@ -0,0 +1,83 @@
+package de.amr.games.pacman.test.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.amr.games.pacmanfsm.PacManApp.PacManAppSettings;
+import de.amr.games.pacmanfsm.lib.Direction;
+import de.amr.games.pacmanfsm.lib.Tile;
+import de.amr.games.pacmanfsm.model.world.arcade.ArcadeWorld;
+import de.amr.games.pacmanfsm.model.world.arcade.Maze;
+import de.amr.games.pacmanfsm.model.world.components.Bed;
+import de.amr.games.pacmanfsm.model.world.graph.PathTable;
+import de.amr.games.pacmanfsm.model.world.graph.WorldGraph;
+import de.amr.games.pacmanfsm.model.world.graph.WorldGraph.PathFinder;
+
+public class WorldGraphTests {
+
+	private PacManAppSettings settings = new PacManAppSettings();
+	private ArcadeWorld world;
+	private WorldGraph bfsGraph;
+	private WorldGraph tableGraph;
+
+	@Before
+	public void setup() {
+		world = new ArcadeWorld();
+		bfsGraph = new WorldGraph(settings, world);
+		bfsGraph.setPathFinder(PathFinder.BREADTH_FIRST_SEARCH);
+		tableGraph = new WorldGraph(settings, world);
+		tableGraph.usePathTable(true);
+	}
+
+	@Test
+	public void testPathTableFindsShortestPaths() {
+		List<Tile> capes = world.capes();
+		for (Tile source : capes) {
+			for (Tile target : capes) {
+				List<Tile> path = tableGraph.findPath(source, target);
+				assertEquals(bfsGraph.findPath(source, target).size(), path.size());
+				assertEquals(path.size(), tableGraph.pathLength(source, target));
+				assertSame(source, path.get(0));
+				assertSame(target, path.get(path.size() - 1));
+				for (int i = 1; i < path.size(); ++i) {
+					assertEquals(1, path.get(i - 1).manhattanDistance(path.get(i)));
+					assertTrue(world.isAccessible(path.get(i)));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testLargeWorldUsesPathFinder() {
+		byte[][] grid = new byte[100][100];
+		Maze maze = Maze.of(grid, Tile.at(1, 1), new Bed(1, 3, Direction.RIGHT), List.of(), List.of(), List.of(),
+				List.of());
+		ArcadeWorld largeWorld = new ArcadeWorld(maze);
+		assertFalse(PathTable.fits(largeWorld));
+		WorldGraph graph = new WorldGraph(settings, largeWorld);
+		graph.usePathTable(true);
+		assertFalse(graph.isUsingPathTable());
+		assertEquals(199, graph.findPath(Tile.at(0, 0), Tile.at(99, 99)).size());
+	}
+
+	@Test
+	public void testPathCache() {
+		Tile source = world.capes().get(0);
+		Tile target = world.capes().get(2);
+		List<Tile> path = bfsGraph.findPath(source, target);
+		assertEquals(0, bfsGraph.cacheHits());
+		assertEquals(1, bfsGraph.cacheMisses());
+		assertSame(path, bfsGraph.findPath(source, target));
+		assertEquals(1, bfsGraph.cacheHits());
+		bfsGraph.setPathFinder(PathFinder.ASTAR);
+		assertEquals(path.size(), bfsGraph.findPath(source, target).size());
+		assertEquals(2, bfsGraph.cacheMisses());
+	}
+}
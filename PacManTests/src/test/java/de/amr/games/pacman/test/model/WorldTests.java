@@ -9,6 +9,10 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -21,7 +25,10 @@ import de.amr.games.pacmanfsm.PacManApp.PacManAppSettings;
 import de.amr.games.pacmanfsm.controller.creatures.pacman.PacMan;
 import de.amr.games.pacmanfsm.lib.Direction;
 import de.amr.games.pacmanfsm.lib.Tile;
+import de.amr.games.pacmanfsm.model.world.api.TiledWorld;
 import de.amr.games.pacmanfsm.model.world.arcade.ArcadeWorld;
+import de.amr.games.pacmanfsm.model.world.arcade.Maze;
+import de.amr.games.pacmanfsm.model.world.components.Bed;
 import de.amr.games.pacmanfsm.model.world.components.House;
 import de.amr.games.pacmanfsm.model.world.components.Portal;
 import de.amr.games.pacmanfsm.model.world.components.TiledRectangle;
@@ -100,6 +107,17 @@ public class WorldTests {
 		assertEquals(4, pacMan.tile().row);
 	}
 
+	@Test
+	public void testTilesInterned() {
+		assertSame(Tile.at(13, 15), Tile.at(13, 15));
+		assertSame(Tile.at(-10, 4), Tile.at(-10, 4));
+		assertEquals(Tile.at(1000, -1000), Tile.at(1000, -1000));
+		assertEquals(Tile.at(1000, -1000).hashCode(), Tile.at(1000, -1000).hashCode());
+		assertSame(Tile.at(5, 5), Tile.at(4, 5).towards(Direction.RIGHT));
+		assertEquals(1000, Tile.at(1000, -1000).col);
+		assertEquals(-1000, Tile.at(1000, -1000).row);
+	}
+
 	@Test
 	public void testTilesIterator() {
 		TiledRectangle block = new TiledRectangle(1, 1, 2, 5);
@@ -108,6 +126,55 @@ public class WorldTests {
 				Tile.at(1, 4), Tile.at(2, 4), Tile.at(1, 5), Tile.at(2, 5)), tiles);
 	}
 
+	@Test
+	public void testNeighborTable() {
+		for (int i = 0; i < world.numTiles(); ++i) {
+			Tile tile = world.tile(i);
+			assertEquals(i, world.index(tile));
+			for (Direction dir : Direction.values()) {
+				int neighbor = world.neighborIndex(i, dir);
+				if (neighbor == TiledWorld.NO_TILE) {
+					assertFalse(world.includes(world.neighbor(tile, dir)));
+				} else {
+					assertSame(world.tile(neighbor), world.neighbor(tile, dir));
+				}
+			}
+		}
+		assertEquals(TiledWorld.NO_TILE, world.index(Tile.at(-1, 0)));
+		assertEquals(world.index(Tile.at(27, 17)), world.neighborIndex(world.index(Tile.at(0, 17)), Direction.LEFT));
+		assertEquals(world.index(Tile.at(0, 17)), world.neighborIndex(world.index(Tile.at(27, 17)), Direction.RIGHT));
+	}
+
+	@Test
+	public void testNearestFood() {
+		world.tiles().filter(tile -> (tile.col * 7 + tile.row * 3) % 5 != 0).forEach(world::removeFood);
+		world.removeFood(Tile.at(1, 6));
+		Stream.concat(world.tiles(), Stream.of(Tile.at(-3, 17), Tile.at(40, 40))).forEach(here -> {
+			assertEquals(world.tiles().filter(world::hasFood)
+					.sorted(Comparator.comparingInt(here::manhattanDistance)).findFirst(), world.nearestFood(here));
+			assertEquals(world.tiles().filter(tile -> world.hasFood(ENERGIZER, tile))
+					.sorted(Comparator.comparingInt(here::manhattanDistance)).findFirst(), world.nearestFood(ENERGIZER, here));
+		});
+		world.tiles().forEach(world::removeFood);
+		assertFalse(world.nearestFood(Tile.at(13, 26)).isPresent());
+		world.restoreFood();
+		assertEquals(Optional.of(Tile.at(1, 6)), world.nearestFood(ENERGIZER, Tile.at(0, 0)));
+	}
+
+	@Test
+	public void testFoodModCount() {
+		int count = world.foodModCount();
+		world.removeFood(Tile.at(0, 0)); // no food there
+		assertEquals(count, world.foodModCount());
+		world.removeFood(Tile.at(1, 6));
+		assertNotEquals(count, world.foodModCount());
+		count = world.foodModCount();
+		world.removeFood(Tile.at(1, 6));
+		assertEquals(count, world.foodModCount());
+		world.restoreFood();
+		assertNotEquals(count, world.foodModCount());
+	}
+
 	@Test
 	public void testPortal() {
 		Portal portal = world.portals().findAny().get();
@@ -162,4 +229,66 @@ public class WorldTests {
 		assertEquals(world.tileToDir(other, Direction.RIGHT, 1), either);
 		assertEquals(world.tileToDir(either, Direction.LEFT, 1), other);
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testMazeFileRoundTrip() throws IOException {
+		Path file = Files.createTempFile("arcade", ".maze");
+		try {
+			ArcadeWorld.ARCADE_MAZE.save(file);
+			ArcadeWorld loaded = new ArcadeWorld(Maze.load(file));
+			assertEquals(world.width(), loaded.width());
+			assertEquals(world.height(), loaded.height());
+			assertEquals(world.totalFoodCount(), loaded.totalFoodCount());
+			world.tiles().forEach(tile -> {
+				assertEquals(world.isAccessible(tile), loaded.isAccessible(tile));
+				assertEquals(world.isIntersection(tile), loaded.isIntersection(tile));
+				assertEquals(world.isTunnel(tile), loaded.isTunnel(tile));
+				assertEquals(world.foodAt(tile), loaded.foodAt(tile));
+			});
+			assertEquals(world.pacManBed().tiles().collect(Collectors.toList()),
+					loaded.pacManBed().tiles().collect(Collectors.toList()));
+			assertEquals(4, loaded.house(0).get().beds().count());
+			assertTrue(loaded.house(0).get().hasDoorAt(Tile.at(13, 15)));
+			assertEquals(4, loaded.oneWayTiles().count());
+			assertTrue(loaded.isPortal(Tile.at(27, 17)));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testLargeMazeFile() throws IOException {
+		int width = 1000, height = 1000;
+		byte[][] grid = new byte[height][width];
+		for (int row = 0; row < height; ++row) {
+			for (int col = 0; col < width; ++col) {
+				boolean border = row == 0 || col == 0 || row == height - 1 || col == width - 1;
+				grid[row][col] = (byte) (border || row % 2 == 0 && col % 2 == 0 ? Maze.WALL : (row * 7 + col) % 4);
+			}
+		}
+		Maze maze = Maze.of(grid, Tile.at(1, 1), new Bed(1, 3, Direction.RIGHT), List.of(), List.of(), List.of(),
+				List.of());
+		Path file = Files.createTempFile("large", ".maze");
+		try {
+			maze.save(file);
+			Maze loaded = Maze.load(file);
+			assertEquals(maze.accessible(), loaded.accessible());
+			assertEquals(maze.food(), loaded.food());
+			assertEquals(maze.energizers(), loaded.energizers());
+			assertEquals(Tile.at(1, 1), loaded.bonusLocation());
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testNoMazeFile() throws IOException {
+		Path file = Files.createTempFile("broken", ".maze");
+		try {
+			Files.write(file, new byte[] { 'P', 'M', 'Z', '1', 0, 28 });
+			Maze.load(file);
+		} finally {
+			Files.delete(file);
+		}
+	}
+}
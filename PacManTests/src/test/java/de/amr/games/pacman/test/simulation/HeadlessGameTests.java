@@ -0,0 +1,181 @@
+package de.amr.games.pacman.test.simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+import de.amr.games.pacmanfsm.PacManApp.PacManAppSettings;
+import de.amr.games.pacmanfsm.controller.creatures.Folks;
+import de.amr.games.pacmanfsm.controller.creatures.OccupancyGrid;
+import de.amr.games.pacmanfsm.controller.creatures.ghost.GhostState;
+import de.amr.games.pacmanfsm.controller.game.GameSnapshot;
+import de.amr.games.pacmanfsm.model.world.api.TiledWorld;
+import de.amr.games.pacmanfsm.simulation.BatchSimulation;
+import de.amr.games.pacmanfsm.simulation.BatchSimulation.BatchResult;
+import de.amr.games.pacmanfsm.simulation.HeadlessGame;
+
+public class HeadlessGameTests {
+
+	private static final int TICKS = 5_000;
+
+	private long[] fingerprints(long seed) {
+		HeadlessGame game = new HeadlessGame(new PacManAppSettings(), seed);
+		game.start();
+		long[] fingerprints = new long[TICKS];
+		for (int i = 0; i < TICKS && !game.isGameOver(); ++i) {
+			game.tick();
+			fingerprints[i] = game.fingerprint();
+		}
+		return fingerprints;
+	}
+
+	@Test
+	public void testSameSeedSameGame() {
+		long[] first = fingerprints(42);
+		long[] second = fingerprints(42);
+		for (int i = 0; i < TICKS; ++i) {
+			assertEquals("Games differ at tick " + i, first[i], second[i]);
+		}
+	}
+
+	@Test
+	public void testDifferentSeedDifferentGame() {
+		long[] first = fingerprints(1);
+		long[] second = fingerprints(2);
+		assertNotEquals(first[TICKS - 1], second[TICKS - 1]);
+	}
+
+	@Test
+	public void testBatchResultsIndependentOfThreads() {
+		PacManAppSettings settings = new PacManAppSettings();
+		BatchResult sequential = new BatchSimulation(settings, 1).run(7, 4, TICKS);
+		BatchResult parallel = new BatchSimulation(settings, 4).run(7, 4, TICKS);
+		assertEquals(sequential.games, parallel.games);
+	}
+
+	@Test
+	public void testRestoredSnapshotContinuesIdentically() {
+		HeadlessGame game = new HeadlessGame(new PacManAppSettings(), 42);
+		game.start();
+		game.run(1_000);
+		long tick = game.ticks();
+		GameSnapshot snapshot = game.controller.snapshot();
+		long[] expected = new long[TICKS];
+		for (int i = 0; i < TICKS && !game.isGameOver(); ++i) {
+			game.tick();
+			expected[i] = game.fingerprint();
+		}
+		for (int pass = 0; pass < 2; ++pass) {
+			game.restore(snapshot, tick);
+			for (int i = 0; i < TICKS && !game.isGameOver(); ++i) {
+				game.tick();
+				assertEquals("Restored game differs at tick " + game.ticks(), expected[i], game.fingerprint());
+			}
+		}
+	}
+
+	@Test
+	public void testReplayReproducesRecordedGame() throws IOException {
+		Path file = Files.createTempFile("pacman", ".rec");
+		try {
+			PacManAppSettings settings = new PacManAppSettings();
+			settings.record = file.toString();
+			HeadlessGame recorded = new HeadlessGame(settings, 42);
+			recorded.start();
+			recorded.run(1_000_000);
+			assertTrue(recorded.isGameOver());
+			assertTrue(Files.size(file) > 0);
+
+			settings = new PacManAppSettings();
+			settings.replay = file.toString();
+			HeadlessGame replayed = new HeadlessGame(settings, 4711);
+			replayed.start();
+			replayed.run(1_000_000);
+			assertEquals(recorded.ticks(), replayed.ticks());
+			assertEquals(recorded.fingerprint(), replayed.fingerprint());
+			assertEquals(replayed.controller.replay().score(), replayed.score());
+			assertEquals(replayed.controller.replay().level(), replayed.level());
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void testReplayUsesRecordedSettings() throws IOException {
+		Path file = Files.createTempFile("pacman", ".rec");
+		Path levels = Files.createTempFile("levels", ".csv");
+		try {
+			PacManAppSettings settings = new PacManAppSettings();
+			settings.record = file.toString();
+			settings.ghosts = 6;
+			HeadlessGame recorded = new HeadlessGame(settings, 42);
+			recorded.start();
+			recorded.run(1_000_000);
+			assertTrue(recorded.isGameOver());
+
+			settings = new PacManAppSettings();
+			settings.replay = file.toString();
+			HeadlessGame replayed = new HeadlessGame(settings, 4711);
+			replayed.start();
+			assertEquals(6, replayed.controller.folks.numGhosts());
+			replayed.run(1_000_000);
+			assertEquals(recorded.fingerprint(), replayed.fingerprint());
+
+			Files.writeString(levels, "BELL, 3000, 60, 50, 30, 10, 60, 5, 70, 65, 25, 8, 4\n");
+			settings = new PacManAppSettings();
+			settings.replay = file.toString();
+			settings.levels = levels.toString();
+			try {
+				new HeadlessGame(settings, 4711);
+				fail("Replay with different level table not refused");
+			} catch (IllegalStateException x) {
+				// expected
+			}
+		} finally {
+			Files.deleteIfExists(file);
+			Files.deleteIfExists(levels);
+		}
+	}
+
+	@Test
+	public void testManyGhosts() {
+		PacManAppSettings settings = new PacManAppSettings();
+		settings.ghosts = 12;
+		HeadlessGame game = new HeadlessGame(settings, 42);
+		game.start();
+		Folks folks = game.controller.folks;
+		assertEquals(12, folks.numGhosts());
+		assertEquals(13, folks.guys().count());
+		boolean extraGhostLeftHouse = false;
+		for (int i = 0; i < TICKS && !game.isGameOver(); ++i) {
+			game.tick();
+			extraGhostLeftHouse |= !folks.ghost(4).ai.is(GhostState.LOCKED);
+		}
+		assertTrue(extraGhostLeftHouse);
+		assertEquals(12, game.controller.snapshot().ghosts().size());
+	}
+
+	@Test
+	public void testOccupancyGridFollowsGuys() {
+		HeadlessGame game = new HeadlessGame(new PacManAppSettings(), 42);
+		game.start();
+		Folks folks = game.controller.folks;
+		OccupancyGrid grid = folks.occupancy;
+		for (int i = 0; i < TICKS && !game.isGameOver(); ++i) {
+			game.tick();
+			folks.guys().forEach(guy -> {
+				assertEquals(guy.tileIndex(), grid.tileOf(guy));
+				if (guy.tileIndex() != TiledWorld.NO_TILE) {
+					assertTrue(grid.anyAt(guy.tile(), other -> other == guy));
+				}
+			});
+		}
+	}
+}
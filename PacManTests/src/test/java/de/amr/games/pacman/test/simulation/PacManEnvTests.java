@@ -0,0 +1,80 @@
+package de.amr.games.pacman.test.simulation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import de.amr.games.pacmanfsm.PacManApp.PacManAppSettings;
+import de.amr.games.pacmanfsm.simulation.PacManEnv;
+import de.amr.games.pacmanfsm.simulation.PacManVectorEnv;
+
+public class PacManEnvTests {
+
+	private static final int STEPS = 2_000;
+
+	private int countOnes(float[] observation, int channel, int planeSize) {
+		int count = 0;
+		for (int i = channel * planeSize; i < (channel + 1) * planeSize; ++i) {
+			if (observation[i] == 1) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	@Test
+	public void testObservationAfterReset() {
+		PacManEnv env = new PacManEnv(new PacManAppSettings());
+		env.reset(42);
+		float[] observation = new float[env.observationSize()];
+		env.observe(observation, 0);
+		int planeSize = env.observationSize() / PacManEnv.CHANNELS;
+		assertEquals(1, countOnes(observation, PacManEnv.CHANNEL_PACMAN, planeSize));
+		assertEquals(4, countOnes(observation, PacManEnv.CHANNEL_ENERGIZER, planeSize));
+		assertEquals(env.game().controller.world.totalFoodCount() - 4,
+				countOnes(observation, PacManEnv.CHANNEL_PELLET, planeSize));
+	}
+
+	@Test
+	public void testFrameSkipEqualsRepeatedActions() {
+		PacManEnv skipping = new PacManEnv(new PacManAppSettings(), 4);
+		PacManEnv single = new PacManEnv(new PacManAppSettings());
+		skipping.reset(42);
+		single.reset(42);
+		float skippingReward = 0;
+		float singleReward = 0;
+		for (int step = 0; step < STEPS / 4; ++step) {
+			int action = (step / 10) % PacManEnv.ACTIONS;
+			skippingReward += skipping.step(action);
+			for (int i = 0; i < 4; ++i) {
+				singleReward += single.step(action);
+			}
+		}
+		assertEquals(singleReward, skippingReward, 0);
+		assertEquals(single.game().fingerprint(), skipping.game().fingerprint());
+	}
+
+	private float[] play(int threads) {
+		try (PacManVectorEnv vectorEnv = new PacManVectorEnv(new PacManAppSettings(), 4, threads, 7)) {
+			vectorEnv.reset();
+			int[] actions = new int[vectorEnv.size()];
+			float[] totalRewards = new float[vectorEnv.size()];
+			for (int step = 0; step < STEPS; ++step) {
+				for (int i = 0; i < actions.length; ++i) {
+					actions[i] = (step / 50 + i) % PacManEnv.ACTIONS;
+				}
+				vectorEnv.step(actions);
+				for (int i = 0; i < actions.length; ++i) {
+					totalRewards[i] += vectorEnv.rewards[i];
+				}
+			}
+			return totalRewards;
+		}
+	}
+
+	@Test
+	public void testVectorEnvIndependentOfThreads() {
+		assertArrayEquals(play(1), play(4), 0);
+	}
+}